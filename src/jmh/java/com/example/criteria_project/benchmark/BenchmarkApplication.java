@@ -0,0 +1,94 @@
+package com.example.criteria_project.benchmark;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.example.criteria_project.CriteriaProjectApplication;
+import com.example.criteria_project.filter.search.SearchNormalizationListener;
+
+/**
+ * Sobe a aplicação (sem servidor web) sobre um H2 em arquivo com {@code rows} produtos sintéticos.
+ * <p>
+ * Cada quantidade de linhas tem seu próprio arquivo em {@code target/jmh-db}; a carga só é refeita
+ * quando a contagem não bate, então rodadas seguintes com o mesmo tamanho reaproveitam o banco.
+ */
+final class BenchmarkApplication {
+
+    private static final String[] CATEGORIAS = {"Papelaria", "Informática", "Móveis", "Eletrônicos", "Cozinha"};
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(int rows) {
+        Path dbDir = Path.of(System.getProperty("benchmark.db-dir", "target/jmh-db")).toAbsolutePath();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CriteriaProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:file:" + dbDir.resolve("produtos-" + rows),
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.sql.init.mode=never",
+                        "spring.h2.console.enabled=false",
+                        "criteria.trigram.rebuild-on-startup=false",
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class), rows);
+        return context;
+    }
+
+    /**
+     * Gera as linhas direto no H2 com {@code SYSTEM_RANGE}, bem mais rápido que inserir pelo JPA.
+     * As colunas sombra já saem normalizadas na mesma instrução.
+     */
+    private static void seed(JdbcTemplate jdbc, int rows) {
+        jdbc.execute("CREATE ALIAS IF NOT EXISTS UNACCENT DETERMINISTIC FOR "
+                + "\"com.example.criteria_project.filter.H2Functions.removeAccents\"");
+        jdbc.execute("CREATE ALIAS IF NOT EXISTS JSONB_EXTRACT_PATH_TEXT DETERMINISTIC FOR "
+                + "\"com.example.criteria_project.filter.H2Functions.jsonbExtractPathText\"");
+        Long existing = jdbc.queryForObject("SELECT COUNT(*) FROM produto", Long.class);
+        if (existing != null && existing == rows) {
+            return;
+        }
+        jdbc.execute("TRUNCATE TABLE produto");
+        jdbc.execute("TRUNCATE TABLE text_trigram");
+
+        jdbc.execute("INSERT INTO produto (nome, nome_busca, categoria, categoria_busca, preco, data_cadastro, estoque) "
+                + "SELECT 'Produto ' || X, 'produto ' || X, "
+                + categoria(false) + ", " + categoria(true) + ", "
+                + "CAST(MOD(X * 7919, 100000) AS DECIMAL(10, 2)) / 100, "
+                + "DATEADD(DAY, MOD(X, 1825), DATE '2021-01-01'), "
+                + "MOD(X * 31, 1000) "
+                + "FROM SYSTEM_RANGE(1, " + rows + ")");
+    }
+
+    private static String categoria(boolean normalized) {
+        StringBuilder sql = new StringBuilder("CASE MOD(X, " + CATEGORIAS.length + ")");
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            String value = normalized ? SearchNormalizationListener.normalize(CATEGORIAS[i]) : CATEGORIAS[i];
+            sql.append(" WHEN ").append(i).append(" THEN '").append(value).append('\'');
+        }
+        return sql.append(" END").toString();
+    }
+
+    /**
+     * Interpreta uma query string ({@code a=1&b=2}) como o Spring MVC faria, decodificando os valores.
+     */
+    static MultiValueMap<String, String> params(String query) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                params.add(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+}
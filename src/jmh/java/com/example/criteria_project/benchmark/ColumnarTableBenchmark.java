@@ -0,0 +1,100 @@
+package com.example.criteria_project.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.filter.memory.ColumnarTable;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.filter.search.SearchNormalizationListener;
+import com.example.criteria_project.model.Produto;
+
+/**
+ * Latência de uma página (20 linhas, com total) na réplica colunar, do filtro até as entidades montadas.
+ * Sem escritas entre as chamadas, a permutação de cada ordenação é montada uma vez e reaproveitada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarTableBenchmark {
+
+    private static final String[] CATEGORIAS = {"Papelaria", "Informática", "Móveis", "Eletrônicos", "Cozinha"};
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({
+            "categoria=informatica",
+            "estoque=gte:100&estoque=lte:500&preco=lte:50",
+            "nome=*mecanico",
+            "categoria=Papelaria!Moveis!Cozinha&dataCadastro=gte:2023-01-01"
+    })
+    public String query;
+
+    @Param({"", "preco:desc"})
+    public String sort;
+
+    private ConfigurableApplicationContext context;
+    private ColumnarTable<Produto> table;
+    private FilterPlan plan;
+    private Sort order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Integer.getInteger("benchmark.compile-rows", 1000));
+        plan = CriteriaCreator.compile(BenchmarkApplication.params(query), Produto.class);
+        order = sort.isEmpty() ? Sort.unsorted() : Sort.by(Sort.Direction.fromString(sort.split(":")[1]),
+                sort.split(":")[0]);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Produto> produtos = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Produto produto = new Produto();
+            produto.setId((long) i);
+            produto.setNome((i % 7 == 0 ? "Teclado Mecânico " : "Produto ") + i);
+            produto.setCategoria(CATEGORIAS[random.nextInt(CATEGORIAS.length)]);
+            produto.setPreco(BigDecimal.valueOf(random.nextInt(100_000), 2));
+            produto.setDataCadastro(LocalDate.of(2021, 1, 1).plusDays(random.nextInt(1825)));
+            produto.setEstoque(random.nextInt(1000));
+            produto.setNomeBusca(SearchNormalizationListener.normalize(produto.getNome()));
+            produto.setCategoriaBusca(SearchNormalizationListener.normalize(produto.getCategoria()));
+            produtos.add(produto);
+        }
+        table = ColumnarTable.of(Produto.class);
+        table.upsertAll(produtos);
+        table.compact();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ColumnarTable.Rows<Produto> page() {
+        return table.query(plan, order, 40, 20);
+    }
+}
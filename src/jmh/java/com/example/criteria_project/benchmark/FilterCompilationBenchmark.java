@@ -0,0 +1,95 @@
+package com.example.criteria_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.model.Produto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Custo de CPU do lado da aplicação, sem ida ao banco: interpretação dos parâmetros
+ * (com e sem cache de planos) e montagem do predicado em um {@link CriteriaBuilder} real.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterCompilationBenchmark {
+
+    @Param({
+            "categoria=informatica",
+            "estoque=gte:100&estoque=lte:500&preco=lte:50",
+            "nome!categoria=mesa&dataCadastro=gte:2023-01-01",
+            "categoria=Papelaria!Moveis!Cozinha"
+    })
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private MultiValueMap<String, String> params;
+    private Specification<Produto> spec;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Integer.getInteger("benchmark.compile-rows", 1000));
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        params = BenchmarkApplication.params(query);
+        spec = CriteriaCreator.byFilterMap(params, Produto.class, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Specification<Produto> byFilterMapCached() {
+        return CriteriaCreator.byFilterMap(params, Produto.class, null, null);
+    }
+
+    /**
+     * Um parâmetro extra que muda a cada chamada força a interpretação completa (falha no cache de planos).
+     */
+    @Benchmark
+    public Specification<Produto> byFilterMapUncached() {
+        MultiValueMap<String, String> fresh = new LinkedMultiValueMap<>(params);
+        fresh.add("estoque", "ne:" + (-1 - sequence++));
+        return CriteriaCreator.byFilterMap(fresh, Produto.class, null, null);
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Produto> criteriaQuery = cb.createQuery(Produto.class);
+        Root<Produto> root = criteriaQuery.from(Produto.class);
+        return spec.toPredicate(root, criteriaQuery, cb);
+    }
+}
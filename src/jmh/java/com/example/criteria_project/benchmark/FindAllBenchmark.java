@@ -0,0 +1,76 @@
+package com.example.criteria_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.model.Produto;
+import com.example.criteria_project.repository.ProdutoRepository;
+
+/**
+ * Caminho completo do {@code GET /produtos}: interpretação dos filtros, consulta de dados e contagem
+ * ({@code findAll(spec, pageable)}) sobre um H2 em arquivo com {@code rows} linhas.
+ * <p>
+ * Tamanhos maiores podem ser passados na linha de comando, por exemplo {@code -p rows=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FindAllBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({
+            "",
+            "categoria=informatica",
+            "estoque=gte:100&estoque=lte:500&preco=lte:50",
+            "nome=*produto%2012"
+    })
+    public String query;
+
+    @Param({"0", "50"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private ProdutoRepository repository;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        repository = context.getBean(ProdutoRepository.class);
+        pageable = PageRequest.of(page, 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Produto> findAll() {
+        return repository.findAll(CriteriaCreator.byFilterMap(BenchmarkApplication.params(query), Produto.class,
+                null, null), pageable);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.criteria_project.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.model.Produto;
+
+/**
+ * Vazão do filtro compilado para {@code Predicate} sobre objetos em memória (resultado em objetos por segundo).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InMemoryFilterBenchmark {
+
+    private static final int OBJECTS = 100_000;
+    private static final String[] CATEGORIAS = {"Papelaria", "Informática", "Móveis", "Eletrônicos", "Cozinha"};
+
+    @Param({
+            "categoria=informatica",
+            "estoque=gte:100&estoque=lte:500&preco=lte:50",
+            "nome=*mecanico",
+            "categoria=Papelaria!Moveis!Cozinha&dataCadastro=gte:2023-01-01"
+    })
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private List<Produto> produtos;
+    private Predicate<Produto> predicate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Integer.getInteger("benchmark.compile-rows", 1000));
+        predicate = CriteriaCreator.inMemory(BenchmarkApplication.params(query), Produto.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        produtos = new ArrayList<>(OBJECTS);
+        for (int i = 0; i < OBJECTS; i++) {
+            Produto produto = new Produto();
+            produto.setId((long) i);
+            produto.setNome((i % 7 == 0 ? "Teclado Mecânico " : "Produto ") + i);
+            produto.setCategoria(CATEGORIAS[random.nextInt(CATEGORIAS.length)]);
+            produto.setPreco(BigDecimal.valueOf(random.nextInt(100_000), 2));
+            produto.setDataCadastro(LocalDate.of(2021, 1, 1).plusDays(random.nextInt(1825)));
+            produto.setEstoque(random.nextInt(1000));
+            produtos.add(produto);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OBJECTS)
+    public long filter() {
+        long matches = 0;
+        for (Produto produto : produtos) {
+            if (predicate.test(produto)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
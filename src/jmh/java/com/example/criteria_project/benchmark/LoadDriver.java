@@ -0,0 +1,204 @@
+package com.example.criteria_project.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Gerador de carga HTTP para o {@code GET /produtos} de uma instância já em execução.
+ * <p>
+ * Cada thread sorteia URLs de uma mistura ponderada e dispara requisições em sequência (carga fechada)
+ * durante o tempo pedido. Ao final, imprime vazão e latências p50/p90/p99/máx por URL e no total.
+ * <p>
+ * Todas as threads são um único cliente para o limite por cliente da aplicação (mesmo IP): com
+ * {@code criteria.guard.max-concurrent-per-client} abaixo de {@code --threads}, parte da carga volta como
+ * {@code 429}, contada na coluna própria e fora das latências, com um aviso no fim do relatório.
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec@load -Dload.args="--threads=32 --duration=60s --mix=mix.txt"
+ * </pre>
+ * O arquivo de mistura tem uma URL por linha, precedida do peso: {@code 5 /produtos?categoria=moveis}.
+ */
+public final class LoadDriver {
+
+    private static final List<WeightedUrl> DEFAULT_MIX = List.of(
+            new WeightedUrl(30, "/produtos?categoria=papelaria"),
+            new WeightedUrl(15, "/produtos?categoria=informatica&sort=preco,desc"),
+            new WeightedUrl(15, "/produtos?nome=caderno&count=none"),
+            new WeightedUrl(10, "/produtos?nome=*mecanico"),
+            new WeightedUrl(10, "/produtos?estoque=lte:10&preco=gte:100"),
+            new WeightedUrl(10, "/produtos?dataCadastro=gte:2025-01-01&page=5"),
+            new WeightedUrl(5, "/produtos?nome!categoria=mesa&count=estimated"),
+            new WeightedUrl(5, "/produtos?cursor=&size=50"));
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "5s"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "30s"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        List<WeightedUrl> mix = options.containsKey("mix") ? readMix(Path.of(options.get("mix"))) : DEFAULT_MIX;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(threads))
+                .build();
+
+        System.out.printf("Aquecendo por %ss...%n", warmup.toSeconds());
+        run(client, baseUrl, mix, threads, warmup, seed);
+        System.out.printf("Medindo por %ss com %d threads contra %s%n", duration.toSeconds(), threads, baseUrl);
+        long start = System.nanoTime();
+        List<Sample> samples = run(client, baseUrl, mix, threads, duration, seed + 1);
+        // Requisições em andamento no fim do prazo ainda contam, então a vazão usa o tempo real decorrido
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        report(samples, mix, elapsed);
+        System.exit(0);
+    }
+
+    private static List<Sample> run(HttpClient client, String baseUrl, List<WeightedUrl> mix, int threads,
+                                    Duration duration, long seed) throws Exception {
+        int totalWeight = mix.stream().mapToInt(WeightedUrl::weight).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        List<Future<List<Sample>>> futures = new ArrayList<>();
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = seeds.split();
+            futures.add(workers.submit(() -> {
+                List<Sample> samples = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    int index = pick(mix, totalWeight, random);
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + mix.get(index).url()))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    }
+                    samples.add(new Sample(index, System.nanoTime() - start, status));
+                }
+                return samples;
+            }));
+        }
+
+        List<Sample> all = new ArrayList<>();
+        for (Future<List<Sample>> future : futures) {
+            all.addAll(future.get());
+        }
+        workers.shutdown();
+        return all;
+    }
+
+    private static void report(List<Sample> samples, List<WeightedUrl> mix, Duration elapsed) {
+        System.out.printf("%n%-55s %8s %7s %7s %9s %9s %9s %9s%n", "URL", "req", "erros", "429", "p50 ms", "p90 ms",
+                "p99 ms", "máx ms");
+        for (int i = 0; i < mix.size(); i++) {
+            int index = i;
+            printLine(mix.get(i).url(), samples.stream().filter(sample -> sample.urlIndex() == index).toList());
+        }
+        printLine("TOTAL", samples);
+        System.out.printf("%nVazão: %.1f req/s%n", samples.size() / (elapsed.toNanos() / 1e9));
+        long shed = samples.stream().filter(sample -> sample.status() == TOO_MANY_REQUESTS).count();
+        if (shed > 0) {
+            System.out.printf("Aviso: %d respostas 429; suba a aplicação com criteria.guard.max-concurrent-per-client"
+                    + " de pelo menos o número de threads%n", shed);
+        }
+    }
+
+    private static void printLine(String label, List<Sample> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        // Um 429 volta sem executar a consulta: entraria nas latências como uma requisição rapidíssima
+        Predicate<Sample> shed = sample -> sample.status() == TOO_MANY_REQUESTS;
+        long[] latencies = samples.stream().filter(shed.negate()).mapToLong(Sample::nanos).sorted().toArray();
+        long errors = samples.stream()
+                .filter(shed.negate())
+                .filter(sample -> sample.status() < 200 || sample.status() >= 300)
+                .count();
+        String name = label.length() > 55 ? label.substring(0, 52) + "..." : label;
+        if (latencies.length == 0) {
+            System.out.printf("%-55s %8d %7d %7d%n", name, samples.size(), errors, samples.size());
+            return;
+        }
+        System.out.printf("%-55s %8d %7d %7d %9.2f %9.2f %9.2f %9.2f%n", name, samples.size(), errors,
+                samples.size() - latencies.length, percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static int pick(List<WeightedUrl> mix, int totalWeight, SplittableRandom random) {
+        int target = random.nextInt(totalWeight);
+        for (int i = 0; i < mix.size(); i++) {
+            target -= mix.get(i).weight();
+            if (target < 0) {
+                return i;
+            }
+        }
+        return mix.size() - 1;
+    }
+
+    private static List<WeightedUrl> readMix(Path file) throws IOException {
+        List<WeightedUrl> mix = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+", 2);
+            mix.add(new WeightedUrl(Integer.parseInt(parts[0]), parts[1]));
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo de mistura vazio: " + file);
+        }
+        return mix;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .forEach(arg -> options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1)));
+        return options;
+    }
+
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private record WeightedUrl(int weight, String url) {
+    }
+
+    private record Sample(int urlIndex, long nanos, int status) {
+    }
+}
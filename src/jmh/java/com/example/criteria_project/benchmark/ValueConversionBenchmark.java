@@ -0,0 +1,87 @@
+package com.example.criteria_project.benchmark;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.criteria_project.filter.H2Functions;
+import com.example.criteria_project.filter.metadata.ValueConverter;
+import com.example.criteria_project.filter.metadata.ValueConverters;
+import com.example.criteria_project.filter.search.TextFolding;
+
+/**
+ * Conversão dos valores da query string e remoção de acentos, executadas por valor de filtro
+ * (e, no caso do {@code UNACCENT}, por linha varrida no H2).
+ * <p>
+ * Os métodos {@code *Nfd} repetem a implementação anterior ({@code NFD}, {@code Pattern.compile} e
+ * {@code replaceAll} a cada chamada) como referência para o {@link TextFolding}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueConversionBenchmark {
+
+    @Param({"caderno 10 materias", "Teclado Mecânico RGB", "Lápis de Cor 24 Cores – Edição Especial"})
+    public String text;
+
+    private final ValueConverter decimalConverter = ValueConverters.forType(BigDecimal.class);
+    private final ValueConverter integerConverter = ValueConverters.forType(Integer.class);
+    private final ValueConverter dateConverter = ValueConverters.forType(LocalDate.class);
+
+    @Benchmark
+    public String removeAccents() {
+        return H2Functions.removeAccents(text);
+    }
+
+    @Benchmark
+    public String removeAccentsNfd() {
+        return nfd(text);
+    }
+
+    @Benchmark
+    public String fold() {
+        return TextFolding.fold(text);
+    }
+
+    @Benchmark
+    public String foldNfd() {
+        return nfd(text.toLowerCase());
+    }
+
+    @Benchmark
+    public Object parseDecimal() throws Exception {
+        return decimalConverter.convert("1234.56");
+    }
+
+    @Benchmark
+    public Object parseInteger() throws Exception {
+        return integerConverter.convert("150");
+    }
+
+    @Benchmark
+    public Object parseDate() throws Exception {
+        return dateConverter.convert("2025-06-01");
+    }
+
+    private static String nfd(String value) {
+        String normalizer = Normalizer.normalize(value, Normalizer.Form.NFD);
+        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+        return pattern.matcher(normalizer).replaceAll("");
+    }
+}
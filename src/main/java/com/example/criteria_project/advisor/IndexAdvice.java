@@ -0,0 +1,33 @@
+package com.example.criteria_project.advisor;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Uma forma de consulta observada e o índice recomendado para ela.
+ *
+ * @param shape          forma da consulta ({@link IndexShape#toString()})
+ * @param count          execuções no banco (acertos de cache e da réplica não contam)
+ * @param avgMillis      tempo médio de cada execução
+ * @param maxMillis      pior tempo observado
+ * @param columns        colunas do índice recomendado: igualdades e um intervalo, ou igualdades e ordenação
+ * @param ddl            {@code CREATE INDEX} da recomendação, ou {@code null} se não houver
+ * @param coveredBy      índice existente que já começa pelas mesmas colunas
+ * @param indexBefore    índice usado hoje pelo banco ({@code tableScan} quando varre a tabela)
+ * @param scannedBefore  linhas lidas hoje ({@code scanCount} do {@code EXPLAIN ANALYZE})
+ * @param estimatedAfter linhas que o índice recomendado leria, estimadas por contagens
+ * @param scannedAfter   linhas lidas depois de criar o índice ({@code EXPLAIN ANALYZE} de novo)
+ * @param created        o índice foi criado por {@link IndexAdvisor#createIndexes()}
+ * @param note           por que a forma não foi analisada ou não tem recomendação
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IndexAdvice(String shape, long count, double avgMillis, double maxMillis, List<String> columns,
+                          String ddl, String coveredBy, String indexBefore, Long scannedBefore, Long estimatedAfter,
+                          Long scannedAfter, boolean created, String note) {
+
+    static IndexAdvice skipped(String shape, long count, double avgMillis, double maxMillis, String note) {
+        return new IndexAdvice(shape, count, avgMillis, maxMillis, null, null, null, null, null, null, null, false,
+                note);
+    }
+}
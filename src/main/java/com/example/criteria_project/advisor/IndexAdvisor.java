@@ -0,0 +1,335 @@
+package com.example.criteria_project.advisor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.example.criteria_project.advisor.IndexShape.Condition;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.metadata.PhysicalNames;
+import com.example.criteria_project.filter.plan.FilterPlan;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Observa as formas de filtro e ordenação que chegam ao banco e recomenda índices compostos para elas.
+ * <p>
+ * Cada execução de {@link #observing} soma uma ocorrência e o tempo da consulta à sua {@link IndexShape}, e guarda
+ * os valores da última para reproduzi-la. No relatório ({@link #report()}), as formas com pelo menos
+ * {@code criteria.index-advisor.min-observations} execuções recebem:
+ * <ul>
+ *     <li>as colunas recomendadas: as igualdades e depois um intervalo, que posicionam o índice; sem intervalo, as
+ *     colunas da ordenação, que sai pronta do índice. O otimizador do H2 escolhe índices pelo filtro e não pela
+ *     ordenação, então um intervalo vem antes dela;</li>
+ *     <li>o índice que o banco usa hoje e quantas linhas lê ({@code EXPLAIN ANALYZE} do H2, só com as condições
+ *     que um índice atende);</li>
+ *     <li>quantas linhas o índice recomendado leria, estimado por {@code COUNT}s das mesmas condições.</li>
+ * </ul>
+ * Com {@code criteria.index-advisor.create-indexes} (ligado no perfil {@code dev}), {@link #createIndexes()} cria
+ * os índices recomendados e mede de novo. Índices criados assim não entram no custo do
+ * {@code QueryCostModel}, que só conhece os de {@code @Table(indexes)}: recomendações aprovadas devem ir para a
+ * entidade.
+ */
+@Slf4j
+@Component
+public class IndexAdvisor {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final Pattern INDEX = Pattern.compile("/\\*\\s+(?:\\w+\\.)?([\\w.]+)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int maxShapes;
+    private final int minObservations;
+    private final boolean createIndexes;
+    private final Map<IndexShape, Stats> shapes = new ConcurrentHashMap<>();
+
+    public IndexAdvisor(JdbcTemplate jdbcTemplate,
+                        @Value("${criteria.index-advisor.enabled:true}") boolean enabled,
+                        @Value("${criteria.index-advisor.max-shapes:200}") int maxShapes,
+                        @Value("${criteria.index-advisor.min-observations:5}") int minObservations,
+                        @Value("${criteria.index-advisor.create-indexes:false}") boolean createIndexes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.maxShapes = maxShapes;
+        this.minObservations = minObservations;
+        this.createIndexes = createIndexes;
+    }
+
+    /**
+     * Envolve a execução de uma consulta no banco, registrando forma e tempo a cada chamada.
+     */
+    public <R> Supplier<R> observing(FilterPlan plan, Pageable pageable, Supplier<R> loader) {
+        if (!enabled || plan.isAlwaysEmpty()) {
+            return loader;
+        }
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return loader.get();
+            } finally {
+                record(plan, pageable, System.nanoTime() - start);
+            }
+        };
+    }
+
+    void record(FilterPlan plan, Pageable pageable, long nanos) {
+        IndexShape.Observed observed = IndexShape.observe(plan, pageable);
+        Stats stats = shapes.get(observed.shape());
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(observed.shape(), shape -> new Stats());
+        }
+        stats.count.increment();
+        stats.nanos.add(nanos);
+        stats.max.accumulateAndGet(nanos, Math::max);
+        stats.sample = new Sample(observed.conditions(), pageable);
+    }
+
+    /**
+     * Formas observadas, da que mais tempo consumiu no total para a que menos consumiu.
+     */
+    public List<IndexAdvice> report() {
+        return analyzeAll(false);
+    }
+
+    /**
+     * Cria os índices recomendados que nenhum índice existente cobre e devolve o relatório medido depois.
+     *
+     * @throws IllegalStateException sem {@code criteria.index-advisor.create-indexes}
+     */
+    public synchronized List<IndexAdvice> createIndexes() {
+        if (!createIndexes) {
+            throw new IllegalStateException(
+                    "Criação de índices desligada; use o perfil dev ou criteria.index-advisor.create-indexes=true");
+        }
+        return analyzeAll(true);
+    }
+
+    private List<IndexAdvice> analyzeAll(boolean create) {
+        List<Map.Entry<IndexShape, Stats>> entries = new ArrayList<>(shapes.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<IndexShape, Stats> entry) -> entry.getValue().nanos.sum())
+                .reversed());
+        List<IndexAdvice> advice = new ArrayList<>();
+        for (Map.Entry<IndexShape, Stats> entry : entries) {
+            advice.add(analyze(entry.getKey(), entry.getValue(), create));
+        }
+        return advice;
+    }
+
+    private IndexAdvice analyze(IndexShape shape, Stats stats, boolean create) {
+        long count = stats.count.sum();
+        double avgMillis = stats.nanos.sum() / 1e6 / Math.max(1, count);
+        double maxMillis = stats.max.get() / 1e6;
+        if (count < minObservations) {
+            return IndexAdvice.skipped(shape.toString(), count, avgMillis, maxMillis,
+                    "Menos de " + minObservations + " execuções");
+        }
+
+        Class<?> entityClass = shape.entityClass();
+        Map<String, String> columns = new LinkedHashMap<>();
+        shape.equality().forEach(attribute -> columns.putIfAbsent(PhysicalNames.column(entityClass, attribute), ""));
+        String rangeAttribute = shape.range().isEmpty() ? null : shape.range().get(0);
+        if (rangeAttribute != null) {
+            columns.putIfAbsent(PhysicalNames.column(entityClass, rangeAttribute), "");
+        } else {
+            for (Sort.Order order : shape.sort()) {
+                columns.putIfAbsent(PhysicalNames.column(entityClass, order.getProperty()),
+                        order.isDescending() ? " DESC" : "");
+            }
+        }
+        String table = PhysicalNames.table(entityClass);
+        String idColumn = PhysicalNames.column(entityClass,
+                EntityMetadataRegistry.forEntity(entityClass).idAttribute().path());
+        if (columns.isEmpty() || columns.keySet().equals(Set.of(idColumn))) {
+            return IndexAdvice.skipped(shape.toString(), count, avgMillis, maxMillis,
+                    "Nenhuma condição atendível por índice além da chave primária");
+        }
+
+        List<String> names = List.copyOf(columns.keySet());
+        String indexName = "idx_advice_" + table + "_" + String.join("_", names);
+        List<String> definition = new ArrayList<>();
+        columns.forEach((column, direction) -> definition.add(column + direction));
+        String ddl = "CREATE INDEX IF NOT EXISTS " + indexName + " ON " + table + " (" + String.join(", ", definition)
+                + ")";
+
+        Sample sample = stats.sample;
+        String coveredBy = coveringIndex(table, names);
+        Plan before = explain(entityClass, table, sample);
+        Long estimatedAfter = null;
+        String note = null;
+        try {
+            estimatedAfter = estimate(entityClass, table, shape, rangeAttribute, sample);
+        } catch (DataAccessException e) {
+            note = "Não foi possível reproduzir a consulta: " + e.getMostSpecificCause().getMessage();
+        }
+
+        boolean created = false;
+        Long scannedAfter = null;
+        if (coveredBy != null) {
+            ddl = null;
+            note = "Já atendida pelo índice " + coveredBy;
+        } else if (create && note == null) {
+            jdbcTemplate.execute(ddl);
+            log.info("Índice recomendado criado para a forma {}: {}", shape, ddl);
+            created = true;
+            scannedAfter = explain(entityClass, table, sample).scanned();
+        }
+        return new IndexAdvice(shape.toString(), count, avgMillis, maxMillis, names, ddl, coveredBy, before.index(),
+                before.scanned(), estimatedAfter, scannedAfter, created, note);
+    }
+
+    /**
+     * Linhas que o índice recomendado leria: as que atendem às condições que o posicionam e, quando a ordenação
+     * sai do índice e a consulta é paginada, só até completar a página, na proporção das que passam pelas demais
+     * condições. O H2 só usa a ordem do índice quando o {@code ORDER BY} começa pelas suas colunas, e o das
+     * consultas geradas não repete as igualdades: com elas à frente da ordenação, o índice posiciona, mas a
+     * página não para antes de ler todas as linhas que as atendem.
+     */
+    private long estimate(Class<?> entityClass, String table, IndexShape shape, String rangeAttribute, Sample sample) {
+        boolean sortedByIndex = rangeAttribute == null && shape.equality().isEmpty() && !shape.sort().isEmpty();
+        Predicate<Condition> seek = condition -> condition.equality() || condition.attribute().equals(rangeAttribute);
+        long seekRows = count(entityClass, table, sample, seek);
+        if (!sortedByIndex || sample.pageable().isUnpaged()) {
+            return seekRows;
+        }
+        long matching = count(entityClass, table, sample, condition -> true);
+        if (matching == 0) {
+            return seekRows;
+        }
+        long needed = sample.pageable().getOffset() + sample.pageable().getPageSize();
+        return Math.min(seekRows, (needed * seekRows + matching - 1) / matching);
+    }
+
+    private long count(Class<?> entityClass, String table, Sample sample, Predicate<Condition> include) {
+        List<Object> args = new ArrayList<>();
+        String where = where(entityClass, sample, include, args);
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + where, Long.class, args.toArray());
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * {@code EXPLAIN ANALYZE} da consulta com as condições atendíveis por índice, a ordenação e a página da amostra.
+     */
+    private Plan explain(Class<?> entityClass, String table, Sample sample) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("EXPLAIN ANALYZE SELECT * FROM ").append(table)
+                .append(where(entityClass, sample, condition -> true, args));
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sample.pageable().getSort()) {
+            if (order.getProperty().contains(".")) {
+                break;
+            }
+            orders.add(PhysicalNames.column(entityClass, order.getProperty()) + (order.isDescending() ? " DESC" : ""));
+        }
+        if (!orders.isEmpty()) {
+            sql.append(" ORDER BY ").append(String.join(", ", orders));
+        }
+        if (sample.pageable().isPaged()) {
+            sql.append(" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+            args.add(sample.pageable().getOffset());
+            args.add(sample.pageable().getPageSize());
+        }
+        try {
+            String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+            if (plan == null) {
+                return Plan.UNKNOWN;
+            }
+            Matcher scan = SCAN_COUNT.matcher(plan);
+            Matcher index = INDEX.matcher(plan.substring(plan.indexOf("FROM")));
+            String indexName = index.find() ? index.group(1) : null;
+            if (indexName != null && indexName.endsWith(".tableScan")) {
+                indexName = "tableScan";
+            }
+            return new Plan(indexName == null ? null : indexName.toLowerCase(),
+                    scan.find() ? Long.valueOf(scan.group(1)) : null);
+        } catch (DataAccessException e) {
+            // EXPLAIN ANALYZE com scanCount é do H2; em outros bancos o relatório fica só com a estimativa
+            log.debug("EXPLAIN ANALYZE indisponível: {}", e.getMessage());
+            return Plan.UNKNOWN;
+        }
+    }
+
+    private static String where(Class<?> entityClass, Sample sample, Predicate<Condition> include, List<Object> args) {
+        List<String> predicates = new ArrayList<>();
+        for (Condition condition : sample.conditions()) {
+            if (!include.test(condition)) {
+                continue;
+            }
+            String column = PhysicalNames.column(entityClass, condition.attribute());
+            switch (condition.operator()) {
+                case "in" -> predicates.add(column + " IN (" + String.join(", ",
+                        Collections.nCopies(condition.values().size(), "?")) + ")");
+                case "like" -> predicates.add(column + " LIKE ?");
+                default -> predicates.add(column + " " + condition.operator() + " ?");
+            }
+            for (Object value : condition.values()) {
+                args.add(value instanceof Enum<?> constant ? constant.ordinal() : value);
+            }
+        }
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    /**
+     * Índice existente cujas primeiras colunas são as recomendadas ({@code INFORMATION_SCHEMA} do H2).
+     */
+    private String coveringIndex(String table, List<String> columns) {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try {
+            jdbcTemplate.query("SELECT index_name, column_name FROM information_schema.index_columns "
+                            + "WHERE UPPER(table_name) = ? ORDER BY index_name, ordinal_position",
+                    (RowCallbackHandler) row -> indexes.computeIfAbsent(row.getString(1).toLowerCase(), name -> new ArrayList<>())
+                            .add(row.getString(2).toLowerCase()),
+                    table.toUpperCase());
+        } catch (DataAccessException e) {
+            return null;
+        }
+        for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+            List<String> indexColumns = index.getValue();
+            if (indexColumns.size() >= columns.size() && indexColumns.subList(0, columns.size()).equals(columns)) {
+                return index.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static final class Stats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private volatile Sample sample;
+    }
+
+    /**
+     * Valores e página da última execução de uma forma.
+     */
+    private record Sample(List<Condition> conditions, Pageable pageable) {
+    }
+
+    private record Plan(String index, Long scanned) {
+
+        static final Plan UNKNOWN = new Plan(null, null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.criteria_project.advisor;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code GET /actuator/indexadvisor}: relatório do {@link IndexAdvisor}. {@code POST} cria os índices
+ * recomendados quando {@code criteria.index-advisor.create-indexes} está ligado (perfil {@code dev}).
+ */
+@Component
+@Endpoint(id = "indexadvisor")
+@RequiredArgsConstructor
+public class IndexAdvisorEndpoint {
+
+    private final IndexAdvisor indexAdvisor;
+
+    @ReadOperation
+    public List<IndexAdvice> report() {
+        return indexAdvisor.report();
+    }
+
+    @WriteOperation
+    public List<IndexAdvice> createIndexes() {
+        try {
+            return indexAdvisor.createIndexes();
+        } catch (IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
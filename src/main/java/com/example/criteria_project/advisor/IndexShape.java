@@ -0,0 +1,190 @@
+package com.example.criteria_project.advisor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.plan.AndNode;
+import com.example.criteria_project.filter.plan.ColumnLikeNode;
+import com.example.criteria_project.filter.plan.ContainsNode;
+import com.example.criteria_project.filter.plan.EqualsNode;
+import com.example.criteria_project.filter.plan.FilterNode;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.filter.plan.JsonContainsNode;
+import com.example.criteria_project.filter.plan.OrNode;
+import com.example.criteria_project.filter.plan.RangeNode;
+import com.example.criteria_project.filter.plan.TextInNode;
+import com.example.criteria_project.filter.plan.TrigramNode;
+
+/**
+ * O que um índice composto pode atender em uma consulta: atributos comparados por igualdade, atributos com
+ * intervalo (inclusive prefixo {@code valor%}) e a ordenação, sem os valores.
+ * <p>
+ * Só entram condições do "E" de nível mais alto sobre colunas da própria entidade; "OU", "contém", {@code IN}
+ * sobre {@code unaccent(lower(...))}, JSON e caminhos por join ficam em {@code residual}, porque um índice B-tree
+ * não os atende. O desempate pelo id no fim da ordenação é omitido: no H2 todo índice já termina pela chave
+ * primária.
+ *
+ * @param equality atributos com {@code =} ou {@code IN}, em ordem alfabética
+ * @param range    atributos com {@code >}, {@code <} ou prefixo, em ordem alfabética
+ * @param sort     ordenação, na ordem pedida
+ * @param residual condições que o índice não atende ({@code nome=contains}), só para o relatório
+ */
+public record IndexShape(Class<?> entityClass, List<String> equality, List<String> range, List<Sort.Order> sort,
+                         List<String> residual) {
+
+    public IndexShape {
+        equality = List.copyOf(equality);
+        range = List.copyOf(range);
+        sort = List.copyOf(sort);
+        residual = List.copyOf(residual);
+    }
+
+    /**
+     * Forma da consulta e as condições com valores, para reproduzi-la no {@code EXPLAIN}.
+     */
+    static Observed observe(FilterPlan plan, Pageable pageable) {
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(plan.getEntityClass());
+        List<Condition> conditions = new ArrayList<>();
+        List<String> residual = new ArrayList<>();
+        FilterNode root = plan.getRoot();
+        for (FilterNode node : root instanceof AndNode and ? and.children() : List.of(root)) {
+            collect(node, metadata, conditions, residual);
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        String id = metadata.idAttribute().path();
+        List<Sort.Order> requested = pageable.getSort().toList();
+        for (int i = 0; i < requested.size(); i++) {
+            Sort.Order order = requested.get(i);
+            if (i == requested.size() - 1 && order.getProperty().equals(id)) {
+                break;
+            }
+            if (order.getProperty().contains(".")) {
+                // Ordenação por join: o índice da entidade não atende daqui em diante
+                residual.add("sort=" + order.getProperty());
+                break;
+            }
+            orders.add(order);
+        }
+
+        TreeSet<String> equality = new TreeSet<>();
+        TreeSet<String> range = new TreeSet<>();
+        for (Condition condition : conditions) {
+            (condition.equality() ? equality : range).add(condition.attribute());
+        }
+        range.removeAll(equality);
+        IndexShape shape = new IndexShape(plan.getEntityClass(), List.copyOf(equality), List.copyOf(range), orders,
+                residual);
+        return new Observed(shape, conditions);
+    }
+
+    private static void collect(FilterNode node, EntityMetadata metadata, List<Condition> conditions,
+                                List<String> residual) {
+        if (node instanceof EqualsNode equals && local(equals.path(), metadata)) {
+            conditions.add(new Condition(equals.path().get(0), equals.values().size() == 1 ? "=" : "in",
+                    equals.values()));
+        } else if (node instanceof ColumnLikeNode like && local(like.path(), metadata)
+                && like.patterns().size() == 1 && !like.patterns().get(0).startsWith("%")) {
+            conditions.add(new Condition(like.path().get(0), "like", List.of(like.patterns().get(0))));
+        } else if (node instanceof RangeNode range && local(range.path(), metadata) && range.patterns().isEmpty()) {
+            String attribute = range.path().get(0);
+            if (!range.equalTo().isEmpty()) {
+                conditions.add(new Condition(attribute, range.equalTo().size() == 1 ? "=" : "in", range.equalTo()));
+            }
+            if (range.min() != null) {
+                conditions.add(new Condition(attribute, range.minInclusive() ? ">=" : ">", List.of(range.min())));
+            }
+            if (range.max() != null) {
+                conditions.add(new Condition(attribute, range.maxInclusive() ? "<=" : "<", List.of(range.max())));
+            }
+            if (!range.notEqualTo().isEmpty()) {
+                residual.add(attribute + "=ne");
+            }
+        } else {
+            residual.add(describe(node));
+        }
+    }
+
+    /**
+     * Coluna da própria tabela (sem join nem {@code EXISTS}).
+     */
+    private static boolean local(List<String> path, EntityMetadata metadata) {
+        return path.size() == 1 && metadata.getAttributes().values().stream()
+                .noneMatch(attribute -> attribute.collection() && path.equals(attribute.segments()));
+    }
+
+    private static String describe(FilterNode node) {
+        if (node instanceof EqualsNode equals) {
+            return String.join(".", equals.path()) + "=eq";
+        }
+        if (node instanceof TextInNode textIn) {
+            return String.join(".", textIn.path()) + "=in";
+        }
+        if (node instanceof ContainsNode contains) {
+            return String.join(".", contains.path()) + "=contains";
+        }
+        if (node instanceof ColumnLikeNode like) {
+            return String.join(".", like.path()) + "=like";
+        }
+        if (node instanceof RangeNode range) {
+            return String.join(".", range.path()) + "=range";
+        }
+        if (node instanceof JsonContainsNode json) {
+            return "dto." + String.join(".", json.jsonPath()) + "=json";
+        }
+        if (node instanceof TrigramNode trigram) {
+            return trigram.fieldName() + "=trigram";
+        }
+        if (node instanceof OrNode) {
+            return "or";
+        }
+        return node.getClass().getSimpleName();
+    }
+
+    /**
+     * Mesmo formato de {@code QueryShape}: {@code categoriaBusca=eq&preco=range sort=preco,desc}.
+     */
+    @Override
+    public String toString() {
+        StringJoiner filters = new StringJoiner("&");
+        equality.forEach(attribute -> filters.add(attribute + "=eq"));
+        range.forEach(attribute -> filters.add(attribute + "=range"));
+        StringJoiner text = new StringJoiner(" ");
+        text.add(filters.length() == 0 ? "none" : filters.toString());
+        if (!sort.isEmpty()) {
+            StringJoiner orders = new StringJoiner(";");
+            sort.forEach(order -> orders.add(order.getProperty() + "," + order.getDirection().name().toLowerCase()));
+            text.add("sort=" + orders);
+        }
+        if (!residual.isEmpty()) {
+            text.add("residual=" + String.join("&", residual));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Condição atendível por índice, com os valores de uma consulta observada.
+     *
+     * @param operator {@code =}, {@code in}, {@code like}, {@code >}, {@code >=}, {@code <} ou {@code <=}
+     */
+    record Condition(String attribute, String operator, List<Object> values) {
+
+        Condition {
+            values = List.copyOf(values);
+        }
+
+        boolean equality() {
+            return operator.equals("=") || operator.equals("in");
+        }
+    }
+
+    record Observed(IndexShape shape, List<Condition> conditions) {
+    }
+}
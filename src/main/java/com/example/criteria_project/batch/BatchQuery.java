@@ -0,0 +1,64 @@
+package com.example.criteria_project.batch;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Uma consulta do lote: o identificador escolhido pelo cliente e a query string que iria no {@code GET /produtos}
+ * ({@code categoria=papelaria&sort=preco,desc&size=5}).
+ */
+public record BatchQuery(String id, String query) {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 2000;
+
+    /**
+     * Parâmetros decodificados como o Spring MVC faria. Mapas com o mesmo conteúdo são iguais,
+     * o que permite reconhecer consultas repetidas no lote.
+     */
+    public MultiValueMap<String, String> params() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        if (query == null || query.isBlank()) {
+            return params;
+        }
+        String text = query.startsWith("?") ? query.substring(1) : query;
+        for (String pair : text.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.add(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /**
+     * {@code page}/{@code size} com os mesmos padrões do {@code GET} (página 0, 20 itens, no máximo 2000).
+     * A ordenação é lida depois, dos parâmetros {@code sort}.
+     */
+    public static Pageable pageable(MultiValueMap<String, String> params) {
+        int page = Math.max(0, number(params, "page", 0));
+        int size = Math.min(MAX_PAGE_SIZE, number(params, "size", DEFAULT_PAGE_SIZE));
+        return PageRequest.of(page, size < 1 ? DEFAULT_PAGE_SIZE : size);
+    }
+
+    private static int number(MultiValueMap<String, String> params, String name, int defaultValue) {
+        String value = params.getFirst(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parâmetro '" + name + "' inválido: " + value);
+        }
+    }
+}
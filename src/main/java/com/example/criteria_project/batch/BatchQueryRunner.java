@@ -0,0 +1,142 @@
+package com.example.criteria_project.batch;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+
+import com.example.criteria_project.execution.QueryDeadline;
+import com.example.criteria_project.execution.QueryTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executa um lote de consultas em paralelo, dentro do orçamento de conexões do {@link QueryTaskExecutor}.
+ * <p>
+ * Consultas com os mesmos parâmetros (em qualquer ordem) rodam uma única vez e o resultado é repetido para
+ * cada id. Um erro em uma consulta não derruba as outras: ele vira o {@link BatchResult} daquele id.
+ * <p>
+ * O prazo {@code criteria.batch.timeout} também vale para as instruções ({@link QueryDeadline}): ao fim dele o
+ * banco interrompe as consultas que ainda rodam e as que esperavam uma permissão nem começam, então conexões e
+ * permissões não seguem presas depois do 504.
+ */
+@Slf4j
+@Component
+public class BatchQueryRunner {
+
+    private final QueryTaskExecutor executor;
+    private final int maxQueries;
+    private final Duration timeout;
+
+    public BatchQueryRunner(QueryTaskExecutor executor,
+                            @Value("${criteria.batch.max-queries:50}") int maxQueries,
+                            @Value("${criteria.batch.timeout:30s}") Duration timeout) {
+        this.executor = executor;
+        this.maxQueries = maxQueries;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @param query executa uma consulta a partir dos seus parâmetros e devolve o corpo da resposta
+     * @return resultados por id, na ordem do lote
+     */
+    public Map<String, BatchResult> run(List<BatchQuery> queries,
+                                        Function<MultiValueMap<String, String>, Object> query) {
+        validate(queries);
+
+        Map<MultiValueMap<String, String>, CompletableFuture<BatchResult>> distinct = new HashMap<>();
+        Map<String, CompletableFuture<BatchResult>> byId = new LinkedHashMap<>();
+        QueryDeadline deadline = new QueryDeadline(timeout);
+        for (BatchQuery batchQuery : queries) {
+            MultiValueMap<String, String> params;
+            try {
+                params = batchQuery.params();
+            } catch (IllegalArgumentException e) {
+                byId.put(batchQuery.id(), CompletableFuture.completedFuture(badRequest(e)));
+                continue;
+            }
+            byId.put(batchQuery.id(), distinct.computeIfAbsent(params,
+                    key -> executor.submit(() -> deadline.run(() -> execute(query, key, deadline)))));
+        }
+
+        try {
+            CompletableFuture.allOf(byId.values().toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Lote com {} consultas passou de {} ms", queries.size(), timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Não acontece: cada tarefa já converte os próprios erros em BatchResult
+        }
+
+        Map<String, BatchResult> results = new LinkedHashMap<>();
+        byId.forEach((id, future) -> results.put(id, future.isDone() && !future.isCompletedExceptionally()
+                ? future.join()
+                : timedOut()));
+        return results;
+    }
+
+    private void validate(List<BatchQuery> queries) {
+        if (queries == null || queries.isEmpty()) {
+            throw new IllegalArgumentException("O lote precisa de ao menos uma consulta");
+        }
+        if (queries.size() > maxQueries) {
+            throw new IllegalArgumentException("O lote aceita no máximo " + maxQueries + " consultas");
+        }
+        Set<String> ids = new HashSet<>();
+        for (BatchQuery query : queries) {
+            if (query == null || query.id() == null || query.id().isBlank()) {
+                throw new IllegalArgumentException("Toda consulta do lote precisa de um 'id'");
+            }
+            if (!ids.add(query.id())) {
+                throw new IllegalArgumentException("Id repetido no lote: " + query.id());
+            }
+        }
+    }
+
+    private BatchResult execute(Function<MultiValueMap<String, String>, Object> query,
+                                MultiValueMap<String, String> params, QueryDeadline deadline) {
+        if (deadline.isExpired()) {
+            // Esperou uma permissão além do prazo do lote
+            return timedOut();
+        }
+        try {
+            return new BatchResult(HttpStatus.OK.value(), query.apply(params));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        } catch (RuntimeException e) {
+            if (deadline.isExpired()) {
+                return timedOut();
+            }
+            log.error("Falha em consulta do lote {}", params, e);
+            return problem(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno ao executar a consulta");
+        }
+    }
+
+    private BatchResult timedOut() {
+        return problem(HttpStatus.GATEWAY_TIMEOUT, "Consulta não terminou em " + timeout.toMillis() + " ms");
+    }
+
+    private static BatchResult badRequest(IllegalArgumentException e) {
+        return problem(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    private static BatchResult problem(HttpStatus status, String detail) {
+        return new BatchResult(status.value(), ProblemDetail.forStatusAndDetail(status, detail));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.criteria_project.batch;
+
+/**
+ * Resultado de uma consulta do lote: o status HTTP que ela teria sozinha e o corpo correspondente
+ * (a página, ou um {@code ProblemDetail} em caso de erro).
+ */
+public record BatchResult(int status, Object body) {
+}
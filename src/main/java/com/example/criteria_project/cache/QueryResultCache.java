@@ -0,0 +1,167 @@
+package com.example.criteria_project.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.filter.plan.PlanMatcher;
+import com.example.criteria_project.pagination.PageResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache das páginas de resultado, indexado pelo filtro normalizado + paginação/ordenação.
+ * <p>
+ * O tamanho é limitado pelo número total de linhas guardadas ({@code criteria.cache.max-rows}), não pelo número
+ * de páginas, e cada entrada expira após {@code criteria.cache.ttl}. Escritas feitas pelo Hibernate invalidam só
+ * as entradas cujo filtro pode atender à linha alterada (estado anterior ou novo), via {@link PlanMatcher}.
+ * As entradas são agrupadas por entidade, cada uma com a sua geração: uma escrita só varre as páginas da entidade
+ * alterada e só impede de guardar as cargas dessa mesma entidade.
+ * Estatísticas de acerto, falha e despejo ficam no Micrometer como {@code criteria.results}.
+ */
+@Component
+public class QueryResultCache {
+
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+    private final Counter invalidations;
+    private final Map<Class<?>, Segment> segments = new ConcurrentHashMap<>();
+
+    public QueryResultCache(MeterRegistry registry,
+                            @Value("${criteria.cache.enabled:true}") boolean enabled,
+                            @Value("${criteria.cache.ttl:30s}") Duration ttl,
+                            @Value("${criteria.cache.max-rows:10000}") long maxRows) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxRows)
+                .weigher((Key key, Entry entry) -> entry.rows() + 1)
+                .evictionListener((Key key, Entry entry, RemovalCause cause) -> {
+                    if (key != null) {
+                        segment(key.entityClass()).entries().remove(key, entry);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("criteria.results.invalidations")
+                .description("Entradas removidas do cache de resultados por escritas")
+                .register(registry);
+        CaffeineCacheMetrics.monitor(registry, cache, "criteria.results");
+    }
+
+    /**
+     * Devolve a página em cache ou executa {@code loader} e guarda o resultado.
+     *
+     * @param variant o que mais muda o formato da resposta além do filtro e da paginação (ex.: modo de contagem)
+     */
+    public <R> R get(FilterPlan plan, Pageable pageable, String variant, Supplier<R> loader) {
+        return get(plan, List.of(plan), pageable, variant, loader);
+    }
+
+    /**
+     * Como {@link #get(FilterPlan, Pageable, String, Supplier)}, para resultados calculados também sobre outros
+     * filtros (facetas que ignoram o filtro do próprio campo): a entrada cai quando uma escrita afeta qualquer um
+     * de {@code dependencies}.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R get(FilterPlan plan, List<FilterPlan> dependencies, Pageable pageable, String variant,
+                     Supplier<R> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(plan.getEntityClass(), plan.getFilters(), pageable, variant);
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (R) cached.result();
+        }
+
+        Segment segment = segment(plan.getEntityClass());
+        long before = segment.generation().get();
+        R result = loader.get();
+        if (segment.generation().get() == before) {
+            Entry entry = new Entry(List.copyOf(dependencies), result, rowsOf(result));
+            segment.entries().put(key, entry);
+            cache.put(key, entry);
+            // Uma invalidação entre a verificação e o put pode ter varrido a entidade antes da entrada existir
+            if (segment.generation().get() != before) {
+                segment.entries().remove(key, entry);
+                cache.asMap().remove(key, entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove as entradas de {@code entityClass} cujo filtro pode atender a algum dos estados informados.
+     * Um estado {@code null} significa "desconhecido" e invalida todas as entradas da entidade.
+     */
+    public void invalidate(Class<?> entityClass, List<Function<List<String>, Object>> states) {
+        Segment segment = segment(entityClass);
+        segment.generation().incrementAndGet();
+        segment.entries().forEach((key, entry) -> {
+            boolean affected = entry.plans().stream().anyMatch(plan -> plan.crossesCollection()
+                    || states.stream().anyMatch(state -> state == null || PlanMatcher.mightMatch(plan.getRoot(), state)));
+            if (affected && segment.entries().remove(key, entry) && cache.asMap().remove(key, entry)) {
+                invalidations.increment();
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        segments.values().forEach(segment -> {
+            segment.generation().incrementAndGet();
+            // Entrada a entrada, como em invalidate: um clear() apagaria também as guardadas depois do incremento
+            segment.entries().forEach((key, entry) -> {
+                segment.entries().remove(key, entry);
+                cache.asMap().remove(key, entry);
+            });
+        });
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private Segment segment(Class<?> entityClass) {
+        return segments.computeIfAbsent(entityClass, key -> new Segment(new AtomicLong(), new ConcurrentHashMap<>()));
+    }
+
+    private static int rowsOf(Object result) {
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof PageResult<?> page) {
+            return page.numberOfElements();
+        }
+        return 1;
+    }
+
+    private record Key(Class<?> entityClass, Map<String, List<String>> filters, Pageable pageable, String variant) {
+    }
+
+    private record Entry(List<FilterPlan> plans, Object result, int rows) {
+    }
+
+    /**
+     * Entradas em cache de uma entidade e a geração dela, incrementada a cada invalidação: cargas que atravessam
+     * uma escrita na entidade não são guardadas.
+     */
+    private record Segment(AtomicLong generation, Map<Key, Entry> entries) {
+    }
+}
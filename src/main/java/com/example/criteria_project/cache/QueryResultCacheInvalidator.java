@@ -0,0 +1,123 @@
+package com.example.criteria_project.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Invalida o {@link QueryResultCache} depois do commit de inserções, alterações e exclusões feitas pelo Hibernate.
+ * <p>
+ * Rodar após o commit evita que uma leitura concorrente recoloque no cache o estado anterior à escrita.
+ * Escritas fora do Hibernate (SQL direto, {@code data.sql}) não passam por aqui e dependem do TTL.
+ */
+@Component
+public class QueryResultCacheInvalidator implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final QueryResultCache cache;
+
+    public QueryResultCacheInvalidator(EntityManagerFactory entityManagerFactory, QueryResultCache cache) {
+        this.cache = cache;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        cache.invalidate(event.getEntity().getClass(), List.of(stateOf(event.getEntity())));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        List<Function<List<String>, Object>> states = new ArrayList<>();
+        states.add(stateOf(event.getEntity()));
+        Object[] oldState = event.getOldState();
+        states.add(oldState == null ? null : stateOf(event.getPersister(), oldState, event.getId()));
+        cache.invalidate(event.getEntity().getClass(), states);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object[] deletedState = event.getDeletedState();
+        cache.invalidate(event.getEntity().getClass(), List.of(deletedState == null
+                ? stateOf(event.getEntity())
+                : stateOf(event.getPersister(), deletedState, event.getId())));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private static Function<List<String>, Object> stateOf(Object entity) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        return path -> read(wrapper, String.join(".", path));
+    }
+
+    /**
+     * Estado vindo do Hibernate (valores na ordem de {@code getPropertyNames()}); caminhos aninhados
+     * seguem a partir do valor do primeiro segmento.
+     */
+    private static Function<List<String>, Object> stateOf(EntityPersister persister, Object[] state, Object id) {
+        Map<String, Object> values = new HashMap<>();
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            values.put(names[i], state[i]);
+        }
+        String idName = persister.getIdentifierPropertyName();
+        return path -> {
+            if (path.get(0).equals(idName)) {
+                return id;
+            }
+            Object value = values.get(path.get(0));
+            if (value == null || path.size() == 1) {
+                return value;
+            }
+            return read(PropertyAccessorFactory.forBeanPropertyAccess(value),
+                    String.join(".", path.subList(1, path.size())));
+        };
+    }
+
+    private static Object read(BeanWrapper wrapper, String path) {
+        try {
+            return wrapper.getPropertyValue(path);
+        } catch (BeansException e) {
+            return null;
+        }
+    }
+}
@@ -1,18 +1,47 @@
 package com.example.criteria_project.controller;
 
+import com.example.criteria_project.advisor.IndexAdvisor;
+import com.example.criteria_project.batch.BatchQuery;
+import com.example.criteria_project.batch.BatchQueryRunner;
+import com.example.criteria_project.batch.BatchResult;
+import com.example.criteria_project.cache.QueryResultCache;
+import com.example.criteria_project.export.EntityExporter;
+import com.example.criteria_project.facet.FacetQueryExecutor;
+import com.example.criteria_project.facet.FacetResults;
+import com.example.criteria_project.facet.FacetSpec;
+import com.example.criteria_project.export.ExportFormat;
 import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.filter.SortHelper;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.guard.QueryCostGuard;
+import com.example.criteria_project.metrics.QueryMetrics;
 import com.example.criteria_project.model.Produto;
+import com.example.criteria_project.pagination.CountMode;
+import com.example.criteria_project.pagination.KeysetPage;
+import com.example.criteria_project.pagination.KeysetPagination;
+import com.example.criteria_project.pagination.PageResult;
+import com.example.criteria_project.pagination.PagedQueryExecutor;
+import com.example.criteria_project.projection.FieldProjection;
+import com.example.criteria_project.replica.ColumnarReplica;
 import com.example.criteria_project.repository.ProdutoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/produtos")
@@ -20,16 +49,132 @@ import org.springframework.web.bind.annotation.RestController;
 public class ProdutoController {
 
     private final ProdutoRepository produtoRepository;
+    private final PagedQueryExecutor pagedQueryExecutor;
+    private final EntityExporter entityExporter;
+    private final QueryMetrics queryMetrics;
+    private final QueryResultCache queryResultCache;
+    private final ColumnarReplica columnarReplica;
+    private final BatchQueryRunner batchQueryRunner;
+    private final FacetQueryExecutor facetQueryExecutor;
+    private final QueryCostGuard queryCostGuard;
+    private final IndexAdvisor indexAdvisor;
 
     @GetMapping
-    public ResponseEntity<Page<Produto>> buscarProdutos(
+    public ResponseEntity<?> buscarProdutos(@RequestParam MultiValueMap<String, String> params, Pageable requested) {
+        HttpHeaders headers = new HttpHeaders();
+        Object body = buscar(params, requested, headers);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    /**
+     * Várias consultas de {@code GET /produtos} em uma só requisição, executadas em paralelo.
+     * Cada item traz um {@code id} e a query string; a resposta traz status e corpo por id.
+     */
+    @PostMapping("/batch")
+    public Map<String, BatchResult> buscarEmLote(@RequestBody List<BatchQuery> consultas) {
+        return batchQueryRunner.run(consultas, params -> buscar(params, BatchQuery.pageable(params), new HttpHeaders()));
+    }
+
+    /**
+     * Facetas dos produtos que atendem aos filtros ({@code ?facets=categoria,preco,estoque:10}): contagens por
+     * valor, estatísticas e histogramas. Cada faceta ignora o filtro do próprio campo.
+     */
+    @GetMapping("/facets")
+    public FacetResults buscarFacetas(@RequestParam MultiValueMap<String, String> params) {
+        FilterPlan plan = queryMetrics.compile(params, Produto.class);
+        List<FacetSpec> facets = FacetSpec.parseAll(params.get("facets"), Produto.class);
+        queryCostGuard.check(plan, facets.size() + 1);
+        return facetQueryExecutor.facets(params, plan, facets);
+    }
+
+    /**
+     * @param headers recebe {@code X-Query-Cost} e, quando a consulta foi reduzida, {@code X-Query-Downgraded}
+     */
+    private Object buscar(MultiValueMap<String, String> params, Pageable requested, HttpHeaders headers) {
+        String cursor = params.getFirst("cursor");
+        String count = params.getFirst("count");
+        String fields = params.getFirst("fields");
+
+        FilterPlan plan = queryMetrics.compile(params, Produto.class);
+        Specification<Produto> spec = queryMetrics.instrument(CriteriaCreator.byPlan(plan, null, null), plan);
+        // Vários campos (a,asc;b,desc) e desempate pelo id: páginas estáveis mesmo com valores repetidos
+        Pageable sorted = SortHelper.resolve(requested, params.get("sort"), Produto.class);
+        FieldProjection projection = FieldProjection.parse(fields, Produto.class);
+
+        // Custo estimado antes de qualquer SQL: acima do limite, reduz contagem/página ou recusa com 400
+        QueryCostGuard.Admission admission = queryCostGuard.admit(plan, sorted,
+                cursor != null ? CountMode.NONE : CountMode.parse(count));
+        Pageable pageable = admission.pageable();
+        headers.set("X-Query-Cost", String.valueOf(admission.cost()));
+        if (admission.downgraded()) {
+            headers.set("X-Query-Downgraded", admission.downgrade());
+        }
+
+        // Modo cursor (opt-in): ?cursor= inicia, as próximas páginas usam o nextCursor da resposta
+        if (cursor != null) {
+            if (plan.isAlwaysEmpty()) {
+                return new KeysetPage<>(List.of(), pageable.getPageSize(), false, null);
+            }
+            KeysetPage<Produto> page = indexAdvisor.observing(plan, pageable,
+                    () -> KeysetPagination.fetch(produtoRepository, spec, Produto.class, cursor, pageable)).get();
+            // O cursor precisa das entidades para montar o próximo token; a projeção é aplicada em memória
+            return projection == null ? page : page.map(projection::toMap);
+        }
+
+        CountMode countMode = admission.countMode();
+        String variant = projection == null ? countMode.name() : countMode.name() + ":" + projection.key();
+        if (countMode != CountMode.EXACT) {
+            // Réplica colunar (opcional): responde sem banco quando a entidade está replicada e o filtro é suportado
+            Optional<PageResult<Produto>> replicada = columnarReplica.fetch(plan, pageable, countMode);
+            if (replicada.isPresent()) {
+                return projection == null ? replicada.get() : replicada.get().map(projection::toMap);
+            }
+            if (projection != null) {
+                return queryResultCache.get(plan, pageable, variant, indexAdvisor.observing(plan, pageable,
+                        () -> pagedQueryExecutor.fetchFields(spec, plan, projection, pageable, countMode)));
+            }
+            return queryResultCache.get(plan, pageable, variant, indexAdvisor.observing(plan, pageable,
+                    () -> pagedQueryExecutor.fetch(produtoRepository, spec, plan, pageable, countMode)));
+        }
+
+        // Filtro contraditório: nenhuma linha pode atender, não há por que consultar o banco
+        if (plan.isAlwaysEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Optional<Page<Produto>> replicada = columnarReplica.findAll(plan, pageable);
+        if (replicada.isPresent()) {
+            return projection == null ? replicada.get() : replicada.get().map(projection::toMap);
+        }
+
+        // Projeção: só as colunas pedidas, sem entidades gerenciadas
+        if (projection != null) {
+            return queryResultCache.get(plan, pageable, variant, indexAdvisor.observing(plan, pageable,
+                    () -> pagedQueryExecutor.findAllFields(spec, plan, projection, pageable)));
+        }
+
+        // Só execuções no banco contam para o consultor de índices (acertos de cache e réplica não)
+        return queryResultCache.get(plan, pageable, variant, indexAdvisor.observing(plan, pageable,
+                () -> pagedQueryExecutor.findAll(produtoRepository, spec, pageable)));
+    }
+
+    /**
+     * Exporta todos os produtos que atendem aos filtros, sem paginação, em NDJSON (padrão) ou CSV.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarProdutos(
             @RequestParam MultiValueMap<String, String> params,
-            Pageable pageable) {
+            @RequestParam(required = false) String format) {
 
-        Specification<Produto> spec = CriteriaCreator.byFilterMap(params, Produto.class, null, null);
+        FilterPlan plan = queryMetrics.compile(params, Produto.class);
+        ExportFormat exportFormat = ExportFormat.parse(format);
 
-        Page<Produto> resultados = produtoRepository.findAll(spec, pageable);
+        StreamingResponseBody body = out -> entityExporter.export(plan, Produto.class, exportFormat, out);
 
-        return ResponseEntity.ok(resultados);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=produtos." + exportFormat.name().toLowerCase())
+                .body(body);
     }
-}
\ No newline at end of file
+}
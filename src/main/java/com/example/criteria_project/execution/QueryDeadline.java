@@ -0,0 +1,71 @@
+package com.example.criteria_project.execution;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prazo compartilhado pelas consultas de uma tarefa, aplicado pelo próprio driver.
+ * <p>
+ * Enquanto {@link #run} executa, cada instrução da thread recebe como {@link Statement#setQueryTimeout} o que
+ * resta do prazo (o DataSource instrumentado chama {@link #beforeExecute}/{@link #afterExecute}), e o banco a
+ * interrompe quando ele acaba; esgotado o prazo, a instrução falha sem chegar ao banco. O limite volta a zero
+ * depois de cada execução: no H2 ele vale para a sessão inteira e ficaria na conexão devolvida ao pool.
+ * Fora de {@link #run} nada muda.
+ */
+@Slf4j
+public final class QueryDeadline {
+
+    private static final ThreadLocal<QueryDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    public QueryDeadline(Duration timeout) {
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public <T> T run(Supplier<T> task) {
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * @throws SQLTimeoutException se o prazo da tarefa da thread atual já acabou
+     */
+    public static void beforeExecute(Statement statement) throws SQLException {
+        QueryDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return;
+        }
+        long remaining = deadline.deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            throw new SQLTimeoutException("Prazo da consulta esgotado");
+        }
+        // O JDBC só aceita segundos inteiros: arredonda para cima para não cortar antes do prazo
+        statement.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L)));
+    }
+
+    public static void afterExecute(Statement statement) {
+        if (CURRENT.get() == null) {
+            return;
+        }
+        try {
+            statement.setQueryTimeout(0);
+        } catch (SQLException e) {
+            log.warn("Não foi possível limpar o limite de tempo da instrução: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.criteria_project.execution;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executa consultas em paralelo sem passar de um orçamento de conexões.
+ * <p>
+ * Cada tarefa ocupa uma permissão de {@code criteria.query.max-concurrency} enquanto roda, então várias
+ * requisições em lote juntas nunca usam mais conexões do pool do que isso. Em Java 21+ as tarefas rodam em
+ * virtual threads (o bloqueio no JDBC não prende uma thread do sistema); em versões anteriores, num pool fixo
+ * do mesmo tamanho do orçamento.
+ * <p>
+ * {@link #fork} é para uma consulta auxiliar da requisição atual (a contagem ao lado da página). Chamado de
+ * dentro de uma tarefa, ele roda ali mesmo: uma tarefa esperando outra na fila poderia esgotar o orçamento.
+ */
+@Slf4j
+@Component
+public class QueryTaskExecutor implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> IN_TASK = new ThreadLocal<>();
+
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    public QueryTaskExecutor(@Value("${criteria.query.max-concurrency:4}") int maxConcurrency) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        ExecutorService virtual = virtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(maxConcurrency, platformThreads());
+        log.info("Consultas paralelas: até {} simultâneas em {}", maxConcurrency,
+                virtualThreads ? "virtual threads" : "pool de threads");
+    }
+
+    /**
+     * Agenda a tarefa; ela só começa a consultar quando houver uma permissão livre.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> run(task), executor);
+    }
+
+    /**
+     * Como {@link #submit}, levando os atributos da requisição (usados nas métricas por forma de consulta).
+     * Dentro de outra tarefa, executa de forma síncrona.
+     */
+    public <T> CompletableFuture<T> fork(Supplier<T> task) {
+        if (Boolean.TRUE.equals(IN_TASK.get())) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return CompletableFuture.supplyAsync(() -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                return run(task);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }, executor);
+    }
+
+    private <T> T run(Supplier<T> task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        IN_TASK.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            IN_TASK.remove();
+            permits.release();
+        }
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()} por reflexão, já que o projeto compila para Java 17.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class))
+                    .invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (Throwable e) {
+            log.warn("Virtual threads indisponíveis, usando pool de threads", e);
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "criteria-query-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
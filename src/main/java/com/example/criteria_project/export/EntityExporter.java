@@ -0,0 +1,201 @@
+package com.example.criteria_project.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Exporta o resultado inteiro de uma Specification direto para um OutputStream.
+ * <p>
+ * As linhas são lidas com um cursor {@code FORWARD_ONLY} do Hibernate e um fetch size limitado,
+ * e o contexto de persistência é limpo periodicamente, então o heap fica estável mesmo com milhões de linhas.
+ */
+@Component
+public class EntityExporter {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int clearInterval;
+
+    public EntityExporter(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                          ObjectMapper objectMapper,
+                          @Value("${criteria.export.fetch-size:500}") int fetchSize,
+                          @Value("${criteria.export.clear-interval:1000}") int clearInterval) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.clearInterval = clearInterval;
+    }
+
+    /**
+     * Exporta as linhas que atendem ao plano. Um plano contraditório não consulta o banco:
+     * o CSV sai só com o cabeçalho e o NDJSON vazio.
+     */
+    public <T> void export(FilterPlan plan, Class<T> entityClass, ExportFormat format, OutputStream out) {
+        if (!plan.isAlwaysEmpty()) {
+            export(CriteriaCreator.<T>byPlan(plan, null, null), entityClass, format, out);
+            return;
+        }
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                csvWriter(entityClass, writer);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> void export(Specification<T> spec, Class<T> entityClass, ExportFormat format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            RowWriter rowWriter = format == ExportFormat.CSV ? csvWriter(entityClass, writer) : this::writeJson;
+
+            try (ScrollableResults<T> rows = scroll(spec, entityClass)) {
+                int count = 0;
+                while (rows.next()) {
+                    rowWriter.write(rows.get(), writer);
+                    if (++count % clearInterval == 0) {
+                        writer.flush();
+                        entityManager.clear();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ScrollableResults<T> scroll(Specification<T> spec, Class<T> entityClass) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+
+        return entityManager.createQuery(query)
+                .unwrap(Query.class)
+                .setReadOnly(true)
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private void writeJson(Object row, Writer writer) throws IOException {
+        try {
+            writer.write(objectMapper.writeValueAsString(row));
+        } catch (JsonProcessingException e) {
+            throw new IOException(e);
+        }
+        writer.write('\n');
+    }
+
+    private RowWriter csvWriter(Class<?> entityClass, Writer writer) {
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(entityClass);
+        List<String> columns = new ArrayList<>();
+        columns.add(metadata.idAttribute().path());
+        for (AttributeMetadata attribute : metadata.getAttributes().values()) {
+            if (!columns.contains(attribute.path())) {
+                columns.add(attribute.path());
+            }
+        }
+
+        try {
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return (row, out) -> {
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(csvValue(readProperty(wrapper, columns.get(i))));
+            }
+            out.write('\n');
+        };
+    }
+
+    private static Object readProperty(BeanWrapper wrapper, String path) {
+        try {
+            return wrapper.getPropertyValue(path);
+        } catch (BeansException e) {
+            // Associação nula no meio do caminho
+            return null;
+        }
+    }
+
+    /**
+     * Mapas, coleções e arrays (como o {@code dto}) saem em JSON, para poderem ser lidos de volta.
+     */
+    private String csvValue(Object value) throws IOException {
+        if (value == null) {
+            return "";
+        }
+        String text;
+        if (value instanceof Map<?, ?> || value instanceof Collection<?> || value.getClass().isArray()) {
+            try {
+                text = objectMapper.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                throw new IOException(e);
+            }
+        } else {
+            text = value.toString();
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Object row, Writer writer) throws IOException;
+    }
+}
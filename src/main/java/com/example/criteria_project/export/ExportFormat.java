@@ -0,0 +1,32 @@
+package com.example.criteria_project.export;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos aceitos pelo endpoint de exportação ({@code ?format=}).
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + value + ". Use ndjson ou csv");
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.criteria_project.facet;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.example.criteria_project.cache.QueryResultCache;
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.metadata.ValueKind;
+import com.example.criteria_project.filter.plan.FilterPaths;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.metrics.QueryMetrics;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Calcula facetas sobre o mesmo filtro de {@code GET /produtos}, com o mínimo de instruções SQL.
+ * <p>
+ * Cada faceta ignora o filtro do próprio campo (seleção múltipla: marcar uma categoria não some com as outras).
+ * As facetas são agrupadas pelo filtro que efetivamente usam; por grupo, o total e todas as {@code stats} saem
+ * de um único {@code SELECT count(*), min(..), max(..), avg(..)}, e cada {@code terms} ou histograma é um
+ * {@code GROUP BY}. Sem filtros nos campos facetados, tudo roda sobre o mesmo filtro.
+ * <p>
+ * O resultado fica no {@link QueryResultCache} pela combinação de filtro e facetas, e cai quando uma escrita
+ * pode afetar qualquer um dos filtros usados.
+ */
+@Component
+public class FacetQueryExecutor {
+
+    private final EntityManager entityManager;
+    private final QueryMetrics queryMetrics;
+    private final QueryResultCache queryResultCache;
+    private final int maxBuckets;
+
+    public FacetQueryExecutor(EntityManager entityManager, QueryMetrics queryMetrics,
+                              QueryResultCache queryResultCache,
+                              @Value("${criteria.facets.max-buckets:100}") int maxBuckets) {
+        this.entityManager = entityManager;
+        this.queryMetrics = queryMetrics;
+        this.queryResultCache = queryResultCache;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * @param params parâmetros da requisição, de onde sai o filtro sem o campo de cada faceta
+     * @param plan   plano compilado de {@code params}
+     */
+    public FacetResults facets(MultiValueMap<String, String> params, FilterPlan plan, List<FacetSpec> specs) {
+        Map<Map<String, List<String>>, Group> groups = new LinkedHashMap<>();
+        Group base = new Group(plan, new ArrayList<>());
+        groups.put(plan.getFilters(), base);
+        for (FacetSpec spec : specs) {
+            FilterPlan own = excluding(params, plan, spec.attribute());
+            groups.computeIfAbsent(own.getFilters(), filters -> new Group(own, new ArrayList<>())).specs().add(spec);
+        }
+
+        List<FilterPlan> plans = groups.values().stream().map(Group::plan).toList();
+        String variant = "facets:" + String.join(",", specs.stream().map(FacetSpec::key).toList());
+        return queryResultCache.get(plan, plans, Pageable.unpaged(), variant, () -> {
+            Map<String, FacetResult> results = new HashMap<>();
+            long total = 0;
+            for (Group group : groups.values()) {
+                List<FacetSpec> stats = group.specs().stream().filter(spec -> spec.type() == FacetType.STATS).toList();
+                if (group == base || !stats.isEmpty()) {
+                    long count = aggregate(group.plan(), stats, results);
+                    if (group == base) {
+                        total = count;
+                    }
+                }
+                for (FacetSpec spec : group.specs()) {
+                    if (spec.type() != FacetType.STATS) {
+                        results.put(spec.key(), grouped(group.plan(), spec));
+                    }
+                }
+            }
+            Map<String, FacetResult> ordered = new LinkedHashMap<>();
+            for (FacetSpec spec : specs) {
+                ordered.put(spec.key(), results.get(spec.key()));
+            }
+            return new FacetResults(total, ordered);
+        });
+    }
+
+    /**
+     * Plano sem os filtros "E" do campo da faceta. Grupos "OU" ({@code a!b=...}) ficam: tirar só uma parte
+     * mudaria o significado dos demais campos.
+     */
+    private static FilterPlan excluding(MultiValueMap<String, String> params, FilterPlan plan,
+                                        AttributeMetadata attribute) {
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(plan.getEntityClass());
+        MultiValueMap<String, String> remaining = new LinkedMultiValueMap<>();
+        boolean removed = false;
+        for (Map.Entry<String, List<String>> entry : params.entrySet()) {
+            String key = entry.getKey();
+            if (plan.getFilters().containsKey(key) && !key.contains("!") && !key.startsWith("dto.")
+                    && metadata.attribute(key).path().equals(attribute.path())) {
+                removed = true;
+            } else {
+                remaining.put(key, entry.getValue());
+            }
+        }
+        return removed ? CriteriaCreator.compile(remaining, plan.getEntityClass()) : plan;
+    }
+
+    /**
+     * Total do filtro e as facetas {@code stats} em uma instrução; devolve o total.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private long aggregate(FilterPlan plan, List<FacetSpec> stats, Map<String, FacetResult> results) {
+        if (plan.isAlwaysEmpty()) {
+            for (FacetSpec spec : stats) {
+                results.put(spec.key(), FacetResult.stats(0, null, null, null));
+            }
+            return 0;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = where(plan, query, cb);
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(cb.count(root));
+        for (FacetSpec spec : stats) {
+            Path path = FilterPaths.navigate(root, spec.attribute().segments());
+            selections.add(cb.count(path));
+            selections.add(cb.least(path));
+            selections.add(cb.greatest(path));
+            selections.add(spec.attribute().kind() == ValueKind.NUMERIC ? cb.avg(path) : cb.nullLiteral(Double.class));
+        }
+        query.multiselect(selections);
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+
+        for (int i = 0; i < stats.size(); i++) {
+            int column = 1 + i * 4;
+            Number avg = (Number) row.get(column + 3);
+            results.put(stats.get(i).key(), FacetResult.stats(((Number) row.get(column)).longValue(),
+                    row.get(column + 1), row.get(column + 2), avg == null ? null : avg.doubleValue()));
+        }
+        return ((Number) row.get(0)).longValue();
+    }
+
+    /**
+     * Um {@code GROUP BY} para {@code terms} (mais frequentes primeiro) ou histograma (por faixa). Valores nulos
+     * não entram em nenhuma faixa.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private FacetResult grouped(FilterPlan plan, FacetSpec spec) {
+        if (plan.isAlwaysEmpty()) {
+            return result(spec, List.of(), false);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = where(plan, query, cb);
+        Path path = FilterPaths.navigate(root, spec.attribute().segments());
+        query.where(cb.and(query.getRestriction() == null ? cb.conjunction() : query.getRestriction(),
+                cb.isNotNull(path)));
+
+        List<Expression<?>> keys = keys(cb, path, spec);
+        Expression<Long> count = cb.count(root);
+        List<Selection<?>> selections = new ArrayList<>(keys);
+        selections.add(count);
+        query.multiselect(selections);
+        query.groupBy(keys);
+        List<Order> orders = new ArrayList<>();
+        if (spec.type() == FacetType.TERMS) {
+            orders.add(cb.desc(count));
+        }
+        keys.forEach(key -> orders.add(cb.asc(key)));
+        query.orderBy(orders);
+
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(maxBuckets + 1).getResultList();
+        boolean truncated = rows.size() > maxBuckets;
+        if (truncated && spec.type() == FacetType.HISTOGRAM) {
+            throw new IllegalArgumentException("Histograma '" + spec.key() + "' teria mais de " + maxBuckets
+                    + " faixas; use um intervalo maior");
+        }
+        List<FacetResult.Bucket> buckets = new ArrayList<>();
+        for (Tuple row : rows.subList(0, Math.min(rows.size(), maxBuckets))) {
+            buckets.add(new FacetResult.Bucket(bucketValue(spec, row), ((Number) row.get(keys.size())).longValue()));
+        }
+        return result(spec, buckets, truncated);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Expression<?>> keys(CriteriaBuilder cb, Path path, FacetSpec spec) {
+        if (spec.type() == FacetType.TERMS || spec.unit() == ChronoUnit.DAYS) {
+            return List.of(path);
+        }
+        if (spec.step() != null) {
+            // Início da faixa = floor(valor / intervalo); a multiplicação volta a ser feita em Java
+            return List.of(cb.floor(cb.quot(path, spec.step())));
+        }
+        Expression<Integer> year = cb.function("year", Integer.class, path);
+        return spec.unit() == ChronoUnit.YEARS
+                ? List.of(year)
+                : List.of(year, cb.function("month", Integer.class, path));
+    }
+
+    private static Object bucketValue(FacetSpec spec, Tuple row) {
+        if (spec.type() == FacetType.TERMS) {
+            return row.get(0);
+        }
+        if (spec.step() != null) {
+            return spec.step().multiply(BigDecimal.valueOf(((Number) row.get(0)).longValue()));
+        }
+        if (spec.unit() == ChronoUnit.DAYS) {
+            return ((LocalDate) row.get(0)).toString();
+        }
+        int year = ((Number) row.get(0)).intValue();
+        return spec.unit() == ChronoUnit.YEARS
+                ? String.valueOf(year)
+                : String.format("%04d-%02d", year, ((Number) row.get(1)).intValue());
+    }
+
+    private static FacetResult result(FacetSpec spec, List<FacetResult.Bucket> buckets, boolean truncated) {
+        return spec.type() == FacetType.TERMS
+                ? FacetResult.terms(buckets, truncated)
+                : FacetResult.histogram(spec.interval(), buckets);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Root<T> where(FilterPlan plan, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Root<T> root = (Root<T>) query.from(plan.getEntityClass());
+        Specification<T> spec = queryMetrics.instrument(CriteriaCreator.byPlan(plan, null, null), plan);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return root;
+    }
+
+    private record Group(FilterPlan plan, List<FacetSpec> specs) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.criteria_project.facet;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de uma faceta. Só os campos do tipo aparecem no JSON: {@code buckets} e {@code truncated} em
+ * {@code terms}, {@code interval} e {@code buckets} em {@code histogram}, {@code count/min/max/avg} em {@code stats}.
+ *
+ * @param truncated havia mais valores distintos que {@code criteria.facets.max-buckets}; só os mais frequentes vieram
+ * @param count     quantidade de valores não nulos
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FacetResult(String type, String interval, List<Bucket> buckets, Boolean truncated, Long count,
+                          Object min, Object max, Double avg) {
+
+    public static FacetResult terms(List<Bucket> buckets, boolean truncated) {
+        return new FacetResult(name(FacetType.TERMS), null, buckets, truncated, null, null, null, null);
+    }
+
+    public static FacetResult histogram(String interval, List<Bucket> buckets) {
+        return new FacetResult(name(FacetType.HISTOGRAM), interval, buckets, null, null, null, null, null);
+    }
+
+    public static FacetResult stats(long count, Object min, Object max, Double avg) {
+        return new FacetResult(name(FacetType.STATS), null, null, null, count, min, max, avg);
+    }
+
+    private static String name(FacetType type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Um valor (ou o início de uma faixa) e quantas linhas caem nele.
+     */
+    public record Bucket(Object value, long count) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.criteria_project.facet;
+
+import java.util.Map;
+
+/**
+ * Resposta de {@code GET /produtos/facets}.
+ *
+ * @param total  linhas que atendem a todos os filtros
+ * @param facets resultado de cada faceta, na ordem pedida, pela chave usada em {@code facets}
+ */
+public record FacetResults(long total, Map<String, FacetResult> facets) {
+}
@@ -0,0 +1,115 @@
+package com.example.criteria_project.facet;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.metadata.ValueKind;
+
+/**
+ * Uma faceta pedida em {@code ?facets=categoria,preco,estoque:10,dataCadastro:month}.
+ * <p>
+ * O modo vem depois de {@code :}. Sem ele, números viram {@link FacetType#STATS}, datas um histograma por mês e os
+ * demais campos {@link FacetType#TERMS}. Um número ({@code estoque:10}) pede histograma com esse intervalo; em
+ * datas, a unidade é {@code year}, {@code month} ou {@code day}. {@code terms} e {@code stats} também podem ser
+ * pedidos explicitamente.
+ *
+ * @param key       texto da faceta como pedido, usado como chave na resposta
+ * @param step      intervalo do histograma numérico, ou {@code null}
+ * @param unit      unidade do histograma de datas, ou {@code null}
+ */
+public record FacetSpec(String key, AttributeMetadata attribute, FacetType type, BigDecimal step, ChronoUnit unit) {
+
+    /**
+     * Interpreta os valores de {@code facets} (separados por vírgula, parâmetro repetível). Facetas repetidas valem
+     * uma vez; campos inexistentes, dentro de coleções ou com modo incompatível são rejeitados.
+     */
+    public static List<FacetSpec> parseAll(List<String> values, Class<?> entityClass) {
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(entityClass);
+        Map<String, FacetSpec> specs = new LinkedHashMap<>();
+        if (values != null) {
+            for (String value : values) {
+                for (String token : value.split(",")) {
+                    if (!token.isBlank()) {
+                        specs.computeIfAbsent(token.trim(), key -> parse(key, metadata));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(specs.values());
+    }
+
+    private static FacetSpec parse(String key, EntityMetadata metadata) {
+        int separator = key.indexOf(':');
+        String field = separator < 0 ? key : key.substring(0, separator);
+        String mode = separator < 0 ? null : key.substring(separator + 1).trim().toLowerCase(Locale.ROOT);
+        AttributeMetadata attribute = metadata.attribute(field.trim());
+        if (attribute.collection()) {
+            throw new IllegalArgumentException(
+                    "Campo '" + attribute.path() + "' atravessa uma coleção e não pode virar faceta");
+        }
+        ValueKind kind = attribute.kind();
+
+        if (mode == null) {
+            return switch (kind) {
+                case NUMERIC -> new FacetSpec(key, attribute, FacetType.STATS, null, null);
+                case DATE -> new FacetSpec(key, attribute, FacetType.HISTOGRAM, null, ChronoUnit.MONTHS);
+                default -> new FacetSpec(key, attribute, FacetType.TERMS, null, null);
+            };
+        }
+        if (mode.equals("terms")) {
+            return new FacetSpec(key, attribute, FacetType.TERMS, null, null);
+        }
+        if (mode.equals("stats") && (kind == ValueKind.NUMERIC || kind == ValueKind.DATE)) {
+            return new FacetSpec(key, attribute, FacetType.STATS, null, null);
+        }
+        if (kind == ValueKind.DATE) {
+            ChronoUnit unit = switch (mode) {
+                case "year" -> ChronoUnit.YEARS;
+                case "month" -> ChronoUnit.MONTHS;
+                case "day" -> ChronoUnit.DAYS;
+                default -> throw new IllegalArgumentException("Faceta '" + key
+                        + "' inválida. Datas aceitam year, month, day, terms ou stats");
+            };
+            return new FacetSpec(key, attribute, FacetType.HISTOGRAM, null, unit);
+        }
+        if (kind == ValueKind.NUMERIC) {
+            BigDecimal step;
+            try {
+                step = new BigDecimal(mode);
+            } catch (NumberFormatException e) {
+                step = null;
+            }
+            if (step == null || step.signum() <= 0) {
+                throw new IllegalArgumentException("Faceta '" + key
+                        + "' inválida. Números aceitam um intervalo positivo, terms ou stats");
+            }
+            return new FacetSpec(key, attribute, FacetType.HISTOGRAM, step, null);
+        }
+        throw new IllegalArgumentException("Faceta '" + key + "' inválida. Campos de texto aceitam apenas terms");
+    }
+
+    /**
+     * Intervalo do histograma como aparece na resposta ({@code "10"}, {@code "month"}), ou {@code null}.
+     */
+    public String interval() {
+        if (step != null) {
+            return step.toPlainString();
+        }
+        if (unit == null) {
+            return null;
+        }
+        return switch (unit) {
+            case YEARS -> "year";
+            case MONTHS -> "month";
+            default -> "day";
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.criteria_project.facet;
+
+/**
+ * Tipo de agregação de uma faceta ({@code ?facets=campo:modo}).
+ */
+public enum FacetType {
+    /** Contagem por valor distinto ({@code GROUP BY campo}), das mais frequentes para as menos. */
+    TERMS,
+    /** Quantidade de valores, mínimo, máximo e (em números) média. */
+    STATS,
+    /** Contagem por faixa: intervalo numérico fixo ou unidade de data ({@code year}, {@code month}, {@code day}). */
+    HISTOGRAM
+}
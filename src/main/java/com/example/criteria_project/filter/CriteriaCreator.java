@@ -1,88 +1,47 @@
 package com.example.criteria_project.filter;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.text.Normalizer;
-import java.text.SimpleDateFormat;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.regex.Pattern;
 
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.MultiValueMap;
 
+import com.example.criteria_project.filter.memory.InMemoryFilter;
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.metadata.FilterOperator;
+import com.example.criteria_project.filter.metadata.ValueKind;
+import com.example.criteria_project.filter.plan.*;
+import com.example.criteria_project.filter.search.SearchNormalizationListener;
+import com.example.criteria_project.filter.search.TextFolding;
+
 import jakarta.persistence.criteria.*;
 
 public class CriteriaCreator {
-    public static <T> Specification<T> byFilterMap(MultiValueMap<String, String> params, Class<T> clazz, String sortBy,
-                                                   String sortDirection) {
 
-        Map<String, List<Object>> filterMap = new HashMap<>();
-        for (Map.Entry<String, List<String>> entry : params.entrySet()) {
-            List<Object> values = new ArrayList<>(entry.getValue());
-            filterMap.put(entry.getKey(), values);
-        }
+    private static final Set<String> RESERVED_PARAMS = Set.of("page", "size", "sort", "sortBy", "sortDirection",
+            "cursor", "count", "format", "fields", "facets");
 
-        filterMap.remove("page");
-        filterMap.remove("size");
-        filterMap.remove("sort");
-        filterMap.remove("sortBy");
-        filterMap.remove("sortDirection");
+    private static final FilterPlanCache PLAN_CACHE = new FilterPlanCache(FilterPlanCache.DEFAULT_CAPACITY);
 
-        return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
-            Predicate finalPredicate = cb.conjunction();
-            List<Predicate> orPredicates = new ArrayList<>();
-
-            for (Map.Entry<String, List<Object>> entry : filterMap.entrySet()) {
-                String key = entry.getKey();
-                List<Object> values = entry.getValue();
-
-                if (values != null && !values.isEmpty()) {
-                    if (key.contains("!")) {
-                        String[] orKeys = key.split("!");
-                        List<Predicate> currentOrPredicates = new ArrayList<>();
-
-                        for (String orKey : orKeys) {
-                            orKey = orKey.trim();
-
-                            boolean isJsonField = orKey.startsWith("dto.");
-
-                            Predicate predicate;
-
-                            try {
-                                if (isJsonField) {
-                                    String jsonPath = orKey.substring(4);
-                                    predicate = createJsonbPredicate(root, cb, jsonPath, values.get(0));
-                                } else {
-                                    Path<?> path = navigatePath(root, orKey);
-
-                                    List<Object> convertedValues = new ArrayList<>();
-                                    for (Object value : values) {
-                                        convertedValues.add(convertValueToFieldType(path, value));
-                                    }
-
-                                    predicate = createPredicateForEntry(root, cb, orKey, convertedValues);
-                                }
-                                currentOrPredicates.add(predicate);
-                            } catch (Exception e) {
-                                String errorMsg = String.format("Erro no campo '%s': %s", orKey, e.getMessage());
-                            }
-                        }
+    public static <T> Specification<T> byFilterMap(MultiValueMap<String, String> params, Class<T> clazz, String sortBy,
+                                                   String sortDirection) {
 
-                        if (!currentOrPredicates.isEmpty()) {
-                            orPredicates.add(cb.or(currentOrPredicates.toArray(new Predicate[0])));
-                        }
-                    } else {
-                        Predicate predicate = createPredicateForEntry(root, cb, key, values);
-                        finalPredicate = cb.and(finalPredicate, predicate);
-                    }
-                }
-            }
+        return byPlan(compile(params, clazz), sortBy, sortDirection);
+    }
 
-            if (!orPredicates.isEmpty()) {
-                finalPredicate = cb.and(finalPredicate, cb.or(orPredicates.toArray(new Predicate[0])));
+    /**
+     * Monta a Specification a partir de um plano já compilado, para quem precisa inspecioná-lo antes
+     * (por exemplo, para não consultar o banco quando {@link FilterPlan#isAlwaysEmpty()}).
+     */
+    public static <T> Specification<T> byPlan(FilterPlan plan, String sortBy, String sortDirection) {
+        List<List<String>> fetchPaths = EntityMetadataRegistry.forEntity(plan.getEntityClass()).fetchPaths();
+        return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+            // Só na consulta que devolve entidades; contagens e projeções não carregam associações
+            if (!fetchPaths.isEmpty() && query != null && query.getResultType() == root.getJavaType()) {
+                FilterPaths.fetch(root, fetchPaths);
             }
+            Predicate finalPredicate = plan.toPredicate(root, query, cb);
 
             if (sortBy != null && !sortBy.isEmpty()) {
                 SortHelper.addSort(root, query, cb, sortBy, sortDirection);
@@ -92,438 +51,321 @@ public class CriteriaCreator {
         };
     }
 
-    private static <T> Predicate createPredicateForEntry(Root<T> root, CriteriaBuilder cb, String key,
-                                                         List<Object> values) {
-        if (key.startsWith("dto.")) {
-            String jsonPath = key.substring(4);
-            List<Predicate> jsonPredicates = new ArrayList<>();
-            for (Object value : values) {
-                jsonPredicates.add(createJsonbPredicate(root, cb, jsonPath, value));
-            }
-            return cb.and(jsonPredicates.toArray(new Predicate[0]));
-        } else {
-            Path<?> path = navigatePath(root, key);
+    /**
+     * Mesmos filtros de {@link #byFilterMap}, avaliados em memória sobre objetos já carregados.
+     * O resultado é idêntico ao da consulta SQL; ver {@link InMemoryFilter}.
+     */
+    public static <T> java.util.function.Predicate<T> inMemory(MultiValueMap<String, String> params, Class<T> clazz) {
+        return InMemoryFilter.compile(compile(params, clazz), clazz);
+    }
 
-            List<Object> convertedValues = new ArrayList<>();
-            for (Object value : values) {
-                convertedValues.add(convertValueToFieldType(path, value));
+    /**
+     * Interpreta os parâmetros de filtro uma única vez e devolve o plano imutável correspondente.
+     * Planos são reaproveitados do cache quando a mesma consulta (normalizada) já foi vista.
+     */
+    public static FilterPlan compile(MultiValueMap<String, String> params, Class<?> clazz) {
+        Map<String, List<String>> filterMap = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : params.entrySet()) {
+            if (RESERVED_PARAMS.contains(entry.getKey()) || entry.getValue() == null) {
+                continue;
+            }
+            List<String> values = entry.getValue().stream().filter(Objects::nonNull).toList();
+            if (!values.isEmpty()) {
+                filterMap.put(entry.getKey(), values);
             }
-
-            return createPredicate(cb, path, convertedValues);
         }
-    }
 
-    private static Expression<String> getUnaccentLowerExpression(CriteriaBuilder cb, Path<?> path) {
-        return cb.function("unaccent", String.class, cb.function("lower", String.class, path.as(String.class)));
+        Map<String, List<String>> normalized = Map.copyOf(filterMap);
+        return PLAN_CACHE.get(clazz, normalized, () -> buildPlan(normalized, clazz));
     }
 
-    private static <T> Predicate createJsonbPredicate(Root<T> root, CriteriaBuilder cb, String jsonPath, Object value) {
-        Expression<String> jsonExpr = buildJsonbExtractPath(root, cb, jsonPath);
-        String processedValue = "%" + removeAccents(value.toString().toLowerCase()) + "%";
-
-        Expression<String> unaccentLowerExpr = cb.function("unaccent", String.class,
-                cb.function("lower", String.class, jsonExpr));
+    private static FilterPlan buildPlan(Map<String, List<String>> filterMap, Class<?> clazz) {
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(clazz);
+        List<FilterNode> andNodes = new ArrayList<>();
+        List<FilterNode> orNodes = new ArrayList<>();
+        boolean crossesCollection = false;
+
+        for (Map.Entry<String, List<String>> entry : filterMap.entrySet()) {
+            String key = entry.getKey();
+            List<String> values = entry.getValue();
+
+            if (key.contains("!")) {
+                List<String> orKeys = new ArrayList<>();
+                for (String orKey : key.split("!")) {
+                    orKey = orKey.trim();
+                    validateKey(metadata, orKey);
+                    crossesCollection |= !orKey.startsWith("dto.") && metadata.attribute(orKey).collection();
+                    orKeys.add(orKey);
+                }
 
-        return cb.like(unaccentLowerExpr, processedValue);
-    }
+                List<FilterNode> currentOrNodes = new ArrayList<>();
+                for (String orKey : orKeys) {
+                    try {
+                        AttributeMetadata promoted = jsonColumn(metadata, orKey);
+                        if (promoted != null) {
+                            currentOrNodes.add(compilePromoted(promoted, List.of(values.get(0))));
+                        } else if (orKey.startsWith("dto.")) {
+                            currentOrNodes.add(compileJsonEntry(orKey, List.of(values.get(0))));
+                        } else {
+                            currentOrNodes.add(compileEntry(metadata.attribute(orKey), values));
+                        }
+                    } catch (Exception e) {
+                        // Valores inválidos dentro de um grupo OU descartam apenas aquele campo.
+                    }
+                }
 
-    private static <T> Expression<String> buildJsonbExtractPath(Root<T> root, CriteriaBuilder cb, String jsonPath) {
-        Path<?> dtoPath = root.get("dto");
-        String[] pathParts = jsonPath.split("\\.");
-        Expression<?>[] args = new Expression[pathParts.length + 1];
-        args[0] = dtoPath;
+                if (!currentOrNodes.isEmpty()) {
+                    orNodes.add(new OrNode(currentOrNodes));
+                }
+            } else {
+                validateKey(metadata, key);
+                AttributeMetadata promoted = jsonColumn(metadata, key);
+                if (promoted != null) {
+                    andNodes.add(compilePromoted(promoted, values));
+                } else if (key.startsWith("dto.")) {
+                    andNodes.add(compileJsonEntry(key, values));
+                } else {
+                    AttributeMetadata attribute = metadata.attribute(key);
+                    crossesCollection |= attribute.collection();
+                    andNodes.add(compileEntry(attribute, values));
+                }
+            }
+        }
 
-        for (int i = 0; i < pathParts.length; i++) {
-            args[i + 1] = cb.literal(pathParts[i]);
+        if (!orNodes.isEmpty()) {
+            andNodes.add(new OrNode(orNodes));
         }
 
-        return cb.function("jsonb_extract_path_text", String.class, args);
+        return new FilterPlan(clazz, filterMap, FilterPlanOptimizer.optimize(new AndNode(andNodes)),
+                crossesCollection);
     }
 
-    private static <T> Path<?> navigatePath(Root<T> root, String key) {
-        Path<?> path = root;
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            for (int i = 0; i < parts.length - 1; i++) {
-                path = path.get(parts[i]);
+    /**
+     * Rejeita campos desconhecidos antes de qualquer objeto Criteria ser criado.
+     */
+    private static void validateKey(EntityMetadata metadata, String key) {
+        if (key.startsWith("dto.")) {
+            if (!metadata.hasJsonAttribute()) {
+                throw new IllegalArgumentException(
+                        "Entidade " + metadata.getEntityClass().getSimpleName() + " não possui o campo 'dto'");
             }
-            key = parts[parts.length - 1];
+        } else {
+            metadata.attribute(key);
         }
-        return path.get(key);
     }
 
-    private static String removeAccents(String value) {
-        String normalizer = Normalizer.normalize(value, Normalizer.Form.NFD);
-        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-        return pattern.matcher(normalizer).replaceAll("");
+    /**
+     * Coluna {@code @JsonPromoted} de uma chave {@code dto.*}: filtrada como um campo comum, no tipo da coluna.
+     */
+    private static AttributeMetadata jsonColumn(EntityMetadata metadata, String key) {
+        return key.startsWith("dto.") ? metadata.jsonColumn(key.substring(4)) : null;
     }
 
-    private static Predicate createPredicate(CriteriaBuilder cb, Path<?> path, List<Object> values) {
-
-        if (isDateType(path)) {
-            boolean hasDateOperators = values.stream().anyMatch(val -> val.toString().contains(":"));
-
-            if (hasDateOperators) {
-                List<String> stringValues = new ArrayList<>();
-                for (Object value : values) {
-                    stringValues.add(value.toString());
-                }
-                return createDatePredicate(cb, path, stringValues);
-            }
+    /**
+     * Texto promovido mantém o resultado do caminho no JSON: "contém", com valores repetidos em E, só que sobre
+     * a coluna já normalizada em vez de extrair o documento a cada linha. Números e datas são comparados no tipo
+     * da coluna.
+     */
+    private static FilterNode compilePromoted(AttributeMetadata column, List<String> values) {
+        if (column.kind() != ValueKind.TEXT) {
+            return compileEntry(column, values);
+        }
+        List<FilterNode> nodes = new ArrayList<>();
+        for (String value : values) {
+            nodes.add(new ColumnLikeNode(column.searchSegments(), List.of(containsPattern(value))));
         }
+        return nodes.size() == 1 ? nodes.get(0) : new AndNode(nodes);
+    }
 
-        if (isNumericType(path)) {
-            boolean hasNumericOperators = values.stream().anyMatch(val -> val.toString().contains(":"));
-            if (hasNumericOperators) {
-                List<String> stringValues = new ArrayList<>();
-                for (Object value : values) {
-                    stringValues.add(value.toString());
-                }
-                return createNumericPredicate(cb, path, stringValues);
-            }
+    private static FilterNode compileJsonEntry(String key, List<String> values) {
+        List<String> jsonPath = List.of(key.substring(4).split("\\."));
+        List<String> patterns = new ArrayList<>();
+        for (String value : values) {
+            patterns.add(containsPattern(value));
         }
+        return new JsonContainsNode(jsonPath, patterns);
+    }
+
+    private static FilterNode compileEntry(AttributeMetadata attribute, List<String> values) {
+        List<String> path = attribute.segments();
+        boolean hasOperators = attribute.supportsRange() && values.stream().anyMatch(val -> val.contains(":"));
 
-        if (values.size() == 1 && values.get(0) instanceof String strValue) {
-            if (strValue.contains("!")) {
-                String[] parts = strValue.split("!");
-                List<Predicate> predicates = new ArrayList<>();
-                for (String part : parts) {
-                    String processedPart = removeAccents(part.trim().toLowerCase());
-                    Expression<String> unaccentLowerExpr = getUnaccentLowerExpression(cb, path);
-                    predicates.add(cb.equal(unaccentLowerExpr, processedPart));
+        switch (attribute.kind()) {
+            case DATE:
+                if (hasOperators) {
+                    return compileRange(attribute, values);
                 }
-                return cb.or(predicates.toArray(new Predicate[0]));
-            }
+                return new EqualsNode(path, convertValues(attribute, values));
+            case NUMERIC:
+                if (hasOperators) {
+                    return compileRange(attribute, values);
+                }
+                return new EqualsNode(path, convertValues(attribute, values));
+            case TEXT:
+                if (attribute.hasSearchColumn()) {
+                    return compileSearchColumn(attribute, values);
+                }
+                if (values.size() == 1 && values.get(0).contains("!")) {
+                    return compileTextIn(path, values.get(0));
+                }
+                List<String> terms = new ArrayList<>();
+                List<String> patterns = new ArrayList<>();
+                for (String value : values) {
+                    terms.add(TextFolding.fold(value));
+                    patterns.add(containsPattern(value));
+                }
+                return attribute.textSearch().contains(attribute, terms, new ContainsNode(path, patterns));
+            case OTHER:
+                if (values.size() == 1 && values.get(0).contains("!")) {
+                    return compileTextIn(path, values.get(0));
+                }
+                return new EqualsNode(path, convertValues(attribute, values));
+            case BOOLEAN:
+            case ENUM:
+            default:
+                return new EqualsNode(path, convertValues(attribute, values));
         }
+    }
 
-        List<Predicate> predicates = new ArrayList<>();
-        for (Object value : values) {
-            if (String.class.isAssignableFrom(path.getJavaType())) {
-                String processedValue = "%" + removeAccents(((String) value).toLowerCase()) + "%";
-                Expression<String> unaccentLowerExpr = getUnaccentLowerExpression(cb, path);
-                predicates.add(cb.like(unaccentLowerExpr, processedValue));
-            } else {
-                predicates.add(cb.equal(path, value));
+    /**
+     * Campos {@code @SearchNormalized}: compara com a coluna sombra já normalizada.
+     * Sem {@code *} inicial a busca é por prefixo ({@code valor%}), que aproveita o índice;
+     * com {@code *} inicial volta a ser "contém".
+     */
+    private static FilterNode compileSearchColumn(AttributeMetadata attribute, List<String> values) {
+        if (values.size() == 1 && values.get(0).contains("!")) {
+            List<Object> parts = new ArrayList<>();
+            for (String part : values.get(0).split("!")) {
+                parts.add(SearchNormalizationListener.normalize(part.trim()));
             }
+            return new EqualsNode(attribute.searchSegments(), parts);
         }
 
-        return cb.or(predicates.toArray(new Predicate[0]));
-    }
-
-    private static boolean isDateType(Path<?> path) {
-        Class<?> type = path.getJavaType();
-        return type.equals(LocalDate.class) || type.equals(LocalDateTime.class) || type.equals(Date.class);
-    }
-
-    private static Predicate createDatePredicate(CriteriaBuilder cb, Path<?> path, List<String> values) {
-        List<Predicate> predicates = new ArrayList<>();
-        Object minValue = null;
-        Object maxValue = null;
-
+        List<String> prefixPatterns = new ArrayList<>();
+        List<String> containsTerms = new ArrayList<>();
+        List<String> containsPatterns = new ArrayList<>();
         for (String value : values) {
-            if (value == null)
-                continue;
-
-            String[] parts = value.split(":");
-            String operator = parts.length > 1 ? parts[0].toLowerCase() : "eq";
-            String dateValue = parts.length > 1 ? parts[1] : value;
-
-            try {
-                Object parsedDate = parseDate(path.getJavaType(), dateValue);
-
-                switch (operator) {
-                    case "gte" :
-                        if (minValue == null || compareDates(parsedDate, minValue) > 0) {
-                            minValue = parsedDate;
-                        }
-                        break;
-                    case "gt" :
-                        if (minValue == null || compareDates(parsedDate, minValue) >= 0) {
-                            minValue = parsedDate;
-                        }
-                        break;
-                    case "lte" :
-                        if (maxValue == null || compareDates(parsedDate, maxValue) < 0) {
-                            maxValue = parsedDate;
-                        }
-                        break;
-                    case "lt" :
-                        if (maxValue == null || compareDates(parsedDate, maxValue) <= 0) {
-                            maxValue = parsedDate;
-                        }
-                        break;
-                    case "ne" :
-                        predicates.add(cb.notEqual(path, parsedDate));
-                        break;
-                    case "eq" :
-                    default :
-                        predicates.add(cb.equal(path, parsedDate));
-                        break;
-                }
-            } catch (Exception e) {
-                String processedValue = "%" + removeAccents(value.toLowerCase()) + "%";
-                Expression<String> unaccentLowerExpr = getUnaccentLowerExpression(cb, path);
-                predicates.add(cb.like(unaccentLowerExpr, processedValue));
+            boolean contains = value.startsWith("*");
+            String term = contains ? value.substring(1) : value;
+            if (term.endsWith("*")) {
+                term = term.substring(0, term.length() - 1);
             }
-        }
-
-        if (minValue != null || maxValue != null) {
-            Class<?> type = path.getJavaType();
-            if (minValue != null && maxValue != null) {
-                if (type.equals(LocalDate.class)) {
-                    predicates.add(cb.between(path.as(LocalDate.class), (LocalDate) minValue, (LocalDate) maxValue));
-                } else if (type.equals(LocalDateTime.class)) {
-                    predicates.add(cb.between(path.as(LocalDateTime.class), (LocalDateTime) minValue,
-                            (LocalDateTime) maxValue));
-                } else if (type.equals(Date.class)) {
-                    predicates.add(cb.between(path.as(Date.class), (Date) minValue, (Date) maxValue));
-                }
-            } else if (minValue != null) {
-                if (type.equals(LocalDate.class)) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(LocalDate.class), (LocalDate) minValue));
-                } else if (type.equals(LocalDateTime.class)) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(LocalDateTime.class), (LocalDateTime) minValue));
-                } else if (type.equals(Date.class)) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(Date.class), (Date) minValue));
-                }
+            String normalized = SearchNormalizationListener.normalize(term);
+            if (contains) {
+                containsTerms.add(normalized);
+                containsPatterns.add("%" + normalized + "%");
             } else {
-                if (type.equals(LocalDate.class)) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(LocalDate.class), (LocalDate) maxValue));
-                } else if (type.equals(LocalDateTime.class)) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(LocalDateTime.class), (LocalDateTime) maxValue));
-                } else if (type.equals(Date.class)) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(Date.class), (Date) maxValue));
-                }
+                prefixPatterns.add(normalized + "%");
             }
         }
 
-        return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
-    }
-
-    private static int compareDates(Object date1, Object date2) {
-        if (date1 instanceof LocalDate && date2 instanceof LocalDate) {
-            return ((LocalDate) date1).compareTo((LocalDate) date2);
-        } else if (date1 instanceof LocalDateTime && date2 instanceof LocalDateTime) {
-            return ((LocalDateTime) date1).compareTo((LocalDateTime) date2);
-        } else if (date1 instanceof Date && date2 instanceof Date) {
-            return ((Date) date1).compareTo((Date) date2);
+        List<FilterNode> nodes = new ArrayList<>();
+        if (!prefixPatterns.isEmpty()) {
+            nodes.add(new ColumnLikeNode(attribute.searchSegments(), prefixPatterns));
         }
-        throw new IllegalArgumentException("Tipos de data incompatíveis para comparação");
+        if (!containsTerms.isEmpty()) {
+            nodes.add(attribute.textSearch().contains(attribute, containsTerms,
+                    new ColumnLikeNode(attribute.searchSegments(), containsPatterns)));
+        }
+        return nodes.size() == 1 ? nodes.get(0) : new OrNode(nodes);
     }
 
-    private static Object parseDate(Class<?> type, String value) {
-        try {
-            if (type.equals(LocalDate.class)) {
-                return LocalDate.parse(value);
-            } else if (type.equals(LocalDateTime.class)) {
-                if (value.contains("T")) {
-                    return LocalDateTime.parse(value);
-                } else {
-                    return LocalDate.parse(value).atStartOfDay();
-                }
-            } else if (type.equals(Date.class)) {
-                return new SimpleDateFormat("yyyy-MM-dd").parse(value);
-            }
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Formato de data inválido: " + value);
+    private static FilterNode compileTextIn(List<String> path, String value) {
+        List<String> parts = new ArrayList<>();
+        for (String part : value.split("!")) {
+            parts.add(TextFolding.fold(part.trim()));
         }
-        throw new UnsupportedOperationException("Tipo de data não suportado: " + type);
+        return new TextInNode(path, parts);
     }
 
-    private static boolean isNumericType(Path<?> path) {
-        Class<?> type = path.getJavaType();
-        return type.equals(Integer.class) || type.equals(int.class) || type.equals(Long.class)
-                || type.equals(long.class) || type.equals(Double.class) || type.equals(double.class)
-                || type.equals(Float.class) || type.equals(float.class) || type.equals(Short.class)
-                || type.equals(short.class) || type.equals(BigDecimal.class) || type.equals(BigInteger.class);
+    private static String containsPattern(String value) {
+        return "%" + TextFolding.fold(value) + "%";
     }
 
-    private static Predicate createNumericPredicate(CriteriaBuilder cb, Path<?> path, List<String> values) {
-        List<Predicate> predicates = new ArrayList<>();
-        Number minValue = null;
-        Number maxValue = null;
+    /**
+     * Interpreta valores {@code operador:valor} de campos numéricos e de data, consolidando os limites
+     * no intervalo mais restrito. Em datas, valores que não puderam ser interpretados viram busca textual;
+     * em números, geram erro.
+     */
+    private static FilterNode compileRange(AttributeMetadata attribute, List<String> values) {
+        boolean textFallback = attribute.kind() == ValueKind.DATE;
+        List<Object> equalTo = new ArrayList<>();
+        List<Object> notEqualTo = new ArrayList<>();
+        List<String> patterns = new ArrayList<>();
+        Comparable<Object> minValue = null;
+        Comparable<Object> maxValue = null;
+        boolean minInclusive = true;
+        boolean maxInclusive = true;
 
         for (String value : values) {
-            if (value == null)
-                continue;
-
             String[] parts = value.split(":");
-            String operator = parts.length > 1 ? parts[0].toLowerCase() : "eq";
-            String numericValue = parts.length > 1 ? parts[1] : value;
+            FilterOperator operator = parts.length > 1 ? FilterOperator.parse(parts[0]) : FilterOperator.EQ;
+            String rawValue = parts.length > 1 ? parts[1] : value;
 
+            Comparable<Object> parsed;
             try {
-                Number number = parseNumber(path.getJavaType(), numericValue);
-
-                switch (operator) {
-                    case "gte" :
-                        if (minValue == null || compareNumbers(number, minValue) > 0) {
-                            minValue = number;
-                        }
-                        break;
-                    case "gt" :
-                        if (minValue == null || compareNumbers(number, minValue) >= 0) {
-                            minValue = number;
-                        }
-                        break;
-                    case "lte" :
-                        if (maxValue == null || compareNumbers(number, maxValue) < 0) {
-                            maxValue = number;
-                        }
-                        break;
-                    case "lt" :
-                        if (maxValue == null || compareNumbers(number, maxValue) <= 0) {
-                            maxValue = number;
-                        }
-                        break;
-                    case "ne" :
-                        predicates.add(cb.notEqual(path, number));
-                        break;
-                    case "eq" :
-                    default :
-                        predicates.add(cb.equal(path, number));
-                        break;
-                }
+                parsed = asComparable(attribute.converter().convert(rawValue));
             } catch (Exception e) {
+                if (textFallback) {
+                    patterns.add(containsPattern(value));
+                    continue;
+                }
                 throw new IllegalArgumentException(
                         "Valor numérico inválido: " + value + ". Detalhe: " + e.getMessage());
             }
-        }
 
-        if (minValue != null || maxValue != null) {
-            Class<?> expr = path.getJavaType();
-
-            boolean bInt = expr.equals(Integer.class) || expr.equals(int.class);
-            boolean bLong = expr.equals(Long.class) || expr.equals(long.class);
-            boolean bDouble = expr.equals(Double.class) || expr.equals(double.class);
-            boolean bFloat = expr.equals(Float.class) || expr.equals(float.class);
-            boolean bShort = expr.equals(Short.class) || expr.equals(short.class);
-            boolean bBigDecimal = expr.equals(BigDecimal.class);
-            boolean bBigInteger = expr.equals(BigInteger.class);
-
-            if (minValue != null && maxValue != null) {
-                if (bInt) {
-                    predicates.add(cb.between(path.as(Integer.class), (Integer) minValue, (Integer) maxValue));
-                } else if (bLong) {
-                    predicates.add(cb.between(path.as(Long.class), (Long) minValue, (Long) maxValue));
-                } else if (bDouble) {
-                    predicates.add(cb.between(path.as(Double.class), (Double) minValue, (Double) maxValue));
-                } else if (bFloat) {
-                    predicates.add(cb.between(path.as(Float.class), (Float) minValue, (Float) maxValue));
-                } else if (bShort) {
-                    predicates.add(cb.between(path.as(Short.class), (Short) minValue, (Short) maxValue));
-                } else if (bBigDecimal) {
-                    predicates.add(cb.between(path.as(BigDecimal.class), (BigDecimal) minValue, (BigDecimal) maxValue));
-                } else if (bBigInteger) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(BigInteger.class), (BigInteger) minValue));
-                }
-            } else if (minValue != null) {
-                if (bInt) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(Integer.class), (Integer) minValue));
-                } else if (bLong) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(Long.class), (Long) minValue));
-                } else if (bDouble) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(Double.class), (Double) minValue));
-                } else if (bFloat) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(Float.class), (Float) minValue));
-                } else if (bShort) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(Short.class), (Short) minValue));
-                } else if (bBigDecimal) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(BigDecimal.class), (BigDecimal) minValue));
-                } else if (bBigInteger) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(BigInteger.class), (BigInteger) minValue));
-                }
-            } else {
-                if (bInt) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(Integer.class), (Integer) maxValue));
-                } else if (bLong) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(Long.class), (Long) maxValue));
-                } else if (bDouble) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(Double.class), (Double) maxValue));
-                } else if (bFloat) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(Float.class), (Float) maxValue));
-                } else if (bShort) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(Short.class), (Short) maxValue));
-                } else if (bBigDecimal) {
-                    predicates.add(cb.lessThanOrEqualTo(path.as(BigDecimal.class), (BigDecimal) maxValue));
-                } else if (bBigInteger) {
-                    predicates.add(cb.greaterThanOrEqualTo(path.as(BigInteger.class), (BigInteger) minValue));
-                }
+            switch (operator) {
+                case GTE :
+                case GT :
+                    boolean strictMin = operator == FilterOperator.GT;
+                    int byMin = minValue == null ? 1 : parsed.compareTo(minValue);
+                    if (byMin > 0 || (byMin == 0 && strictMin)) {
+                        minValue = parsed;
+                        minInclusive = !strictMin;
+                    }
+                    break;
+                case LTE :
+                case LT :
+                    boolean strictMax = operator == FilterOperator.LT;
+                    int byMax = maxValue == null ? -1 : parsed.compareTo(maxValue);
+                    if (byMax < 0 || (byMax == 0 && strictMax)) {
+                        maxValue = parsed;
+                        maxInclusive = !strictMax;
+                    }
+                    break;
+                case NE :
+                    notEqualTo.add(parsed);
+                    break;
+                case EQ :
+                default :
+                    equalTo.add(parsed);
+                    break;
             }
         }
 
-        return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
+        return new RangeNode(attribute.segments(), minValue, minInclusive, maxValue, maxInclusive, equalTo,
+                notEqualTo, patterns);
     }
 
-    private static Number parseNumber(Class<?> type, String value) {
-        try {
-            if (type.equals(Integer.class) || type.equals(int.class)) {
-                return Integer.parseInt(value);
-            } else if (type.equals(Long.class) || type.equals(long.class)) {
-                return Long.parseLong(value);
-            } else if (type.equals(Double.class) || type.equals(double.class)) {
-                return Double.parseDouble(value);
-            } else if (type.equals(Float.class) || type.equals(float.class)) {
-                return Float.parseFloat(value);
-            } else if (type.equals(Short.class) || type.equals(short.class)) {
-                return Short.parseShort(value);
-            } else if (type.equals(BigDecimal.class)) {
-                return new BigDecimal(value);
-            } else if (type.equals(BigInteger.class)) {
-                return new BigInteger(value);
-            }
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Formato numérico inválido: " + value);
-        }
-        throw new UnsupportedOperationException("Tipo numérico não suportado: " + type);
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> asComparable(Object value) {
+        return (Comparable<Object>) value;
     }
 
-    private static int compareNumbers(Number num1, Number num2) {
-        BigDecimal bd1 = new BigDecimal(num1.toString());
-        BigDecimal bd2 = new BigDecimal(num2.toString());
-        return bd1.compareTo(bd2);
+    private static List<Object> convertValues(AttributeMetadata attribute, List<String> values) {
+        List<Object> convertedValues = new ArrayList<>();
+        for (String value : values) {
+            convertedValues.add(convertValueToFieldType(attribute, value));
+        }
+        return convertedValues;
     }
 
-    private static Object convertValueToFieldType(Path<?> path, Object value) {
-        if (value == null)
-            return null;
-
-        Class<?> fieldType = path.getJavaType();
-        String stringValue = value.toString();
-
+    private static Object convertValueToFieldType(AttributeMetadata attribute, String stringValue) {
         try {
-            if ((isDateType(path) || isNumericType(path)) && stringValue.contains(":")) {
-                return stringValue;
-            }
-
-            if (fieldType.equals(String.class)) {
-                return stringValue;
-            } else if (fieldType.equals(Long.class) || fieldType.equals(long.class)) {
-                return Long.parseLong(stringValue);
-            } else if (fieldType.equals(Integer.class) || fieldType.equals(int.class)) {
-                return Integer.parseInt(stringValue);
-            } else if (fieldType.equals(Double.class) || fieldType.equals(double.class)) {
-                return Double.parseDouble(stringValue);
-            } else if (fieldType.equals(Float.class) || fieldType.equals(float.class)) {
-                return Float.parseFloat(stringValue);
-            } else if (fieldType.equals(Boolean.class) || fieldType.equals(boolean.class)) {
-                return Boolean.parseBoolean(stringValue);
-            } else if (fieldType.equals(LocalDate.class)) {
-                return LocalDate.parse(stringValue);
-            } else if (fieldType.equals(LocalDateTime.class)) {
-                return stringValue.contains("T")
-                        ? LocalDateTime.parse(stringValue)
-                        : LocalDate.parse(stringValue).atStartOfDay();
-            } else if (fieldType.equals(Date.class)) {
-                return new SimpleDateFormat("yyyy-MM-dd").parse(stringValue);
-            } else if (fieldType.isEnum()) {
-                return Enum.valueOf((Class<Enum>) fieldType, stringValue);
-            }
+            return attribute.converter().convert(stringValue);
         } catch (Exception e) {
             throw new IllegalArgumentException(
-                    "Valor '" + stringValue + "' inválido para tipo " + fieldType.getSimpleName());
+                    "Valor '" + stringValue + "' inválido para tipo " + attribute.javaType().getSimpleName());
         }
-
-        // Fallback para tipos não suportados
-        return value;
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,30 @@
 package com.example.criteria_project.filter;
 
-import java.text.Normalizer;
-import java.util.regex.Pattern;
+import java.util.List;
+
+import com.example.criteria_project.filter.json.JsonPaths;
+import com.example.criteria_project.filter.search.TextFolding;
 
 public class H2Functions {
 
     /**
-     * Remove acentos de uma string. Esta função será exposta ao H2 como 'UNACCENT'.
+     * Remove acentos de uma string. Esta função será exposta ao H2 como 'UNACCENT' (declarada
+     * {@code DETERMINISTIC}, então o H2 pode reaproveitar o resultado para a mesma entrada).
      * @param value A string original com acentos.
      * @return A string normalizada sem acentos.
      */
     public static String removeAccents(String value) {
-        if (value == null) {
-            return null;
-        }
-        String normalizer = Normalizer.normalize(value, Normalizer.Form.NFD);
-        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-        return pattern.matcher(normalizer).replaceAll("");
+        return TextFolding.unaccent(value);
+    }
+
+    /**
+     * Equivalente H2 do {@code jsonb_extract_path_text} do PostgreSQL, exposto com o mesmo nome, para que os
+     * filtros {@code dto.*} sem coluna promovida rodem também no banco local.
+     * @param json O JSON como texto (colunas {@code JSON} do H2 chegam já serializadas).
+     * @param path Os segmentos do caminho.
+     * @return O valor do caminho como texto, ou {@code null} se não existir.
+     */
+    public static String jsonbExtractPathText(String json, String... path) {
+        return json == null ? null : JsonPaths.text(json, List.of(path));
     }
-}
\ No newline at end of file
+}
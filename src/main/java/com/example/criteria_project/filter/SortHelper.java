@@ -1,5 +1,19 @@
 package com.example.criteria_project.filter;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Order;
@@ -7,18 +21,104 @@ import jakarta.persistence.criteria.Root;
 
 /**
  * Classe auxiliar para aplicar ordenação em uma CriteriaQuery.
+ * <p>
+ * Aceita vários campos em um só valor ({@code categoria,asc;preco,desc;fornecedor.nome,desc}) ou em vários
+ * parâmetros {@code sort}, com caminhos aninhados validados pelo {@link EntityMetadata}. Toda ordenação termina
+ * pelo id na direção do último campo: a ordem fica total, as páginas não trocam linhas empatadas entre si e um
+ * índice sobre os campos ordenados (que no H2 já carrega a chave primária) atende o {@code ORDER BY} inteiro.
  */
-public class SortHelper {
-
-    public static <T> void addSort(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb, String sortBy, String sortDirection) {
-        if (sortBy != null && !sortBy.trim().isEmpty()) {
-            Order order;
-            if ("desc".equalsIgnoreCase(sortDirection)) {
-                order = cb.desc(root.get(sortBy));
-            } else {
-                order = cb.asc(root.get(sortBy));
+public final class SortHelper {
+
+    private SortHelper() {
+    }
+
+    /**
+     * Acrescenta a ordenação às que a consulta já tiver. {@code sortDirection} vale para os campos sem direção.
+     */
+    public static <T> void addSort(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb, String sortBy,
+                                   String sortDirection) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return;
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(sortDirection).orElse(Sort.Direction.ASC);
+        Sort sort = parse(List.of(sortBy), root.getJavaType(), direction);
+
+        List<Order> orders = new ArrayList<>(query.getOrderList());
+        orders.addAll(QueryUtils.toOrders(sort, root, cb));
+        query.orderBy(orders);
+    }
+
+    /**
+     * Troca a ordenação do {@code pageable} pela lida dos valores crus de {@code sort}. O resolvedor do Spring
+     * separa só por vírgula, então {@code a,asc;b,desc} precisa ser relido aqui.
+     */
+    public static Pageable resolve(Pageable pageable, List<String> values, Class<?> entityClass) {
+        Sort sort = parse(values, entityClass, Sort.Direction.ASC);
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+
+    /**
+     * Interpreta {@code campo[,campo...][,asc|desc][,ignorecase]}, com grupos separados por {@code ;}.
+     * Campos repetidos valem pela primeira ocorrência; o desempate pelo id é sempre acrescentado.
+     */
+    public static Sort parse(List<String> values, Class<?> entityClass, Sort.Direction defaultDirection) {
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(entityClass);
+        Map<String, Sort.Order> orders = new LinkedHashMap<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value == null) {
+                    continue;
+                }
+                for (String group : value.split(";")) {
+                    parseGroup(group, metadata, defaultDirection, orders);
+                }
+            }
+        }
+        return withTieBreaker(Sort.by(List.copyOf(orders.values())), entityClass);
+    }
+
+    public static Sort withTieBreaker(Sort sort, Class<?> entityClass) {
+        String idPath = EntityMetadataRegistry.forEntity(entityClass).idAttribute().path();
+        if (sort.getOrderFor(idPath) != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.stream().reduce((first, second) -> second)
+                .map(Sort.Order::getDirection)
+                .orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, idPath));
+    }
+
+    private static void parseGroup(String group, EntityMetadata metadata, Sort.Direction defaultDirection,
+                                   Map<String, Sort.Order> orders) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : group.split(",")) {
+            if (!token.isBlank()) {
+                tokens.add(token.trim());
+            }
+        }
+        boolean ignoreCase = !tokens.isEmpty() && "ignorecase".equalsIgnoreCase(tokens.get(tokens.size() - 1));
+        if (ignoreCase) {
+            tokens.remove(tokens.size() - 1);
+        }
+        Sort.Direction direction = defaultDirection;
+        if (!tokens.isEmpty()) {
+            var parsed = Sort.Direction.fromOptionalString(tokens.get(tokens.size() - 1));
+            if (parsed.isPresent()) {
+                direction = parsed.get();
+                tokens.remove(tokens.size() - 1);
+            }
+        }
+        for (String property : tokens) {
+            AttributeMetadata attribute = metadata.attribute(property);
+            if (attribute.collection()) {
+                throw new IllegalArgumentException(
+                        "Não é possível ordenar por '" + property + "', que atravessa uma coleção");
             }
-            query.orderBy(order);
+            String path = attribute.path();
+            Sort.Order order = new Sort.Order(direction, path);
+            orders.putIfAbsent(path, ignoreCase ? order.ignoreCase() : order);
         }
     }
-}
\ No newline at end of file
+}
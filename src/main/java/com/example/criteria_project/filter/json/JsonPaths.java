@@ -0,0 +1,93 @@
+package com.example.criteria_project.filter.json;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.criteria_project.filter.metadata.ValueConverters;
+import com.example.criteria_project.filter.metadata.ValueKind;
+import com.example.criteria_project.filter.search.TextFolding;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Leitura de caminhos da coluna JSON {@code dto}, com a semântica de {@code jsonb_extract_path_text} do PostgreSQL:
+ * valores escalares saem como texto (sem aspas), objetos e listas como JSON e caminhos ausentes ou {@code null}
+ * como {@code null}.
+ */
+public final class JsonPaths {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private JsonPaths() {
+    }
+
+    /**
+     * @param dto o JSON como texto, {@link JsonNode} ou {@link Map} (como o Hibernate entrega o atributo)
+     */
+    @SuppressWarnings("unchecked")
+    public static String text(Object dto, List<String> path) {
+        Object current = dto;
+        try {
+            if (current instanceof String text) {
+                current = JSON.readTree(text);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        for (String segment : path) {
+            if (current instanceof JsonNode json) {
+                current = json.isArray() ? arrayElement(json, segment) : json.get(segment);
+            } else if (current instanceof Map<?, ?> map) {
+                current = ((Map<String, Object>) map).get(segment);
+            } else if (current instanceof List<?> list) {
+                current = listElement(list, segment);
+            } else {
+                return null;
+            }
+        }
+        if (current instanceof JsonNode json) {
+            return json.isNull() ? null : json.isValueNode() ? json.asText() : json.toString();
+        }
+        if (current instanceof Map<?, ?> || current instanceof List<?>) {
+            return JSON.valueToTree(current).toString();
+        }
+        return current == null ? null : current.toString();
+    }
+
+    /**
+     * Valor de um caminho promovido no tipo da coluna: texto normalizado (minúsculas e sem acentos) ou convertido
+     * como os valores de filtro. Valores que não convertem ficam {@code null}, como um caminho ausente.
+     */
+    public static Object promote(Object dto, List<String> path, Class<?> type) {
+        String text = text(dto, path);
+        if (text == null) {
+            return null;
+        }
+        if (ValueConverters.kindOf(type) == ValueKind.TEXT) {
+            return TextFolding.fold(text);
+        }
+        try {
+            return ValueConverters.forType(type).convert(text);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static JsonNode arrayElement(JsonNode array, String segment) {
+        int index = index(segment);
+        return index < 0 ? null : array.get(index);
+    }
+
+    private static Object listElement(List<?> list, String segment) {
+        int index = index(segment);
+        return index < 0 || index >= list.size() ? null : list.get(index);
+    }
+
+    private static int index(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
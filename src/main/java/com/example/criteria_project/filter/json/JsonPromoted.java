@@ -0,0 +1,24 @@
+package com.example.criteria_project.filter.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca uma coluna que materializa um caminho da coluna JSON {@code dto}, mantida por {@link JsonPromotionListener}.
+ * <p>
+ * Filtros {@code dto.<caminho>} passam a comparar direto com a coluna, no tipo do campo, em vez de extrair o valor
+ * do JSON em cada linha: números e datas aceitam os operadores de intervalo ({@code gte:10}) e texto é guardado
+ * normalizado, com as mesmas regras de busca dos campos {@code @SearchNormalized}. Com um índice na coluna
+ * ({@code @Table(indexes)}), o banco deixa de varrer a tabela.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonPromoted {
+
+    /**
+     * Caminho dentro de {@code dto}, separado por pontos ({@code "fabricante.nome"}).
+     */
+    String value();
+}
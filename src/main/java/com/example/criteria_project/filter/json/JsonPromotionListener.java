@@ -0,0 +1,63 @@
+package com.example.criteria_project.filter.json;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Atualiza as colunas dos campos anotados com {@link JsonPromoted} a partir do {@code dto} antes de cada escrita.
+ */
+public class JsonPromotionListener {
+
+    private static final Map<Class<?>, List<Promotion>> PROMOTIONS = new ConcurrentHashMap<>();
+
+    @PrePersist
+    @PreUpdate
+    public void promote(Object entity) {
+        for (Promotion promotion : PROMOTIONS.computeIfAbsent(entity.getClass(), JsonPromotionListener::resolve)) {
+            try {
+                Object dto = promotion.source().get(entity);
+                promotion.column().set(entity, JsonPaths.promote(dto, promotion.path(), promotion.column().getType()));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Não foi possível promover o campo " + promotion.column().getName(), e);
+            }
+        }
+    }
+
+    private static List<Promotion> resolve(Class<?> type) {
+        List<Promotion> promotions = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                JsonPromoted annotation = field.getAnnotation(JsonPromoted.class);
+                if (annotation != null) {
+                    Field source = sourceField(type, current);
+                    field.setAccessible(true);
+                    promotions.add(new Promotion(source, field, List.of(annotation.value().split("\\."))));
+                }
+            }
+        }
+        return promotions;
+    }
+
+    private static Field sourceField(Class<?> type, Class<?> declaring) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Field source = current.getDeclaredField("dto");
+                source.setAccessible(true);
+                return source;
+            } catch (NoSuchFieldException e) {
+                // Procura na superclasse
+            }
+        }
+        throw new IllegalStateException("Campo 'dto' não encontrado para as colunas promovidas de "
+                + declaring.getSimpleName());
+    }
+
+    private record Promotion(Field source, Field column, List<String> path) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.criteria_project.filter.memory;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.example.criteria_project.filter.plan.AndNode;
+import com.example.criteria_project.filter.plan.ColumnLikeNode;
+import com.example.criteria_project.filter.plan.ContainsNode;
+import com.example.criteria_project.filter.plan.EqualsNode;
+import com.example.criteria_project.filter.plan.FalseNode;
+import com.example.criteria_project.filter.plan.FilterNode;
+import com.example.criteria_project.filter.plan.OrNode;
+import com.example.criteria_project.filter.plan.RangeNode;
+import com.example.criteria_project.filter.plan.TextInNode;
+import com.example.criteria_project.filter.plan.TrigramNode;
+
+/**
+ * Avalia a árvore do plano sobre as colunas de uma {@link ColumnarTable}, produzindo o bitmap das linhas atendidas.
+ * <p>
+ * Cada nó recebe as linhas ainda candidatas e devolve o subconjunto que o atende: num E, os filhos mais baratos
+ * (igualdades, dicionários) rodam primeiro e os seguintes só olham o que sobrou; num OU, linhas já aceitas por
+ * um ramo não são testadas de novo. Nós sem equivalente colunar lançam {@link UnsupportedOperationException},
+ * e quem consulta volta para o banco.
+ */
+final class BitmapFilter {
+
+    private final Function<List<String>, Column> columns;
+    private final List<String> idPath;
+    private final Map<Object, Integer> rowsById;
+
+    BitmapFilter(Function<List<String>, Column> columns, List<String> idPath, Map<Object, Integer> rowsById) {
+        this.columns = columns;
+        this.idPath = idPath;
+        this.rowsById = rowsById;
+    }
+
+    BitSet evaluate(FilterNode node, BitSet candidates) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        if (node instanceof AndNode and) {
+            BitSet result = candidates;
+            for (FilterNode child : and.children().stream().sorted(Comparator.comparingInt(this::cost)).toList()) {
+                result = evaluate(child, result);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result;
+        }
+        if (node instanceof OrNode or) {
+            BitSet result = new BitSet();
+            BitSet remaining = (BitSet) candidates.clone();
+            for (FilterNode child : or.children()) {
+                BitSet matched = evaluate(child, remaining);
+                result.or(matched);
+                remaining.andNot(matched);
+            }
+            return result;
+        }
+        if (node instanceof FalseNode) {
+            return new BitSet();
+        }
+        if (node instanceof TrigramNode) {
+            // Só estreita candidatos no SQL; o nó exato que o acompanha no E decide o resultado
+            return candidates;
+        }
+        if (node instanceof EqualsNode equals) {
+            return equals.path().equals(idPath)
+                    ? byId(candidates, equals.values())
+                    : column(equals.path()).equalTo(candidates, equals.values());
+        }
+        if (node instanceof TextInNode textIn) {
+            Set<String> values = new HashSet<>(textIn.values());
+            return column(textIn.path()).matching(candidates,
+                    value -> values.contains(InMemoryFilter.normalized(value)));
+        }
+        if (node instanceof ContainsNode contains) {
+            Predicate<String> matcher = InMemoryFilter.anyLike(contains.patterns());
+            return column(contains.path()).matching(candidates,
+                    value -> matcher.test(InMemoryFilter.normalized(value)));
+        }
+        if (node instanceof ColumnLikeNode columnLike) {
+            Predicate<String> matcher = InMemoryFilter.anyLike(columnLike.patterns());
+            return column(columnLike.path()).matching(candidates, value -> matcher.test(value.toString()));
+        }
+        if (node instanceof RangeNode range) {
+            return range(range, candidates);
+        }
+        throw new UnsupportedOperationException(
+                "Filtro sem avaliação colunar: " + node.getClass().getSimpleName());
+    }
+
+    private BitSet range(RangeNode range, BitSet candidates) {
+        Column column = column(range.path());
+        BitSet result = range.min() != null || range.max() != null
+                ? column.range(candidates, range.min(), range.minInclusive(), range.max(), range.maxInclusive())
+                : column.nonNull(candidates);
+        for (Object value : range.equalTo()) {
+            result = column.equalTo(result, List.of(value));
+        }
+        if (!range.notEqualTo().isEmpty()) {
+            result.andNot(column.equalTo(result, range.notEqualTo()));
+        }
+        for (String pattern : range.patterns()) {
+            Predicate<String> matcher = InMemoryFilter.like(pattern);
+            result = column.matching(result, value -> matcher.test(InMemoryFilter.normalized(value)));
+        }
+        return result;
+    }
+
+    private BitSet byId(BitSet candidates, List<Object> ids) {
+        BitSet result = new BitSet();
+        for (Object id : ids) {
+            Integer row = rowsById.get(id);
+            if (row != null && candidates.get(row)) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Custo relativo de um nó, para ordenar os filhos de um E.
+     */
+    private int cost(FilterNode node) {
+        if (node instanceof EqualsNode || node instanceof TrigramNode || node instanceof FalseNode) {
+            return 0;
+        }
+        if (node instanceof RangeNode) {
+            return 1;
+        }
+        if (node instanceof ColumnLikeNode like) {
+            return columns.apply(like.path()) instanceof DictionaryColumn ? 0 : 3;
+        }
+        if (node instanceof AndNode || node instanceof OrNode) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private Column column(List<String> path) {
+        Column column = columns.apply(path);
+        if (column == null) {
+            throw new UnsupportedOperationException("Caminho sem coluna na réplica: " + String.join(".", path));
+        }
+        return column;
+    }
+}
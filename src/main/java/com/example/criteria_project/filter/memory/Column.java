@@ -0,0 +1,73 @@
+package com.example.criteria_project.filter.memory;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Uma coluna da {@link ColumnarTable}: os valores de um atributo para todas as linhas, indexados pela posição.
+ * <p>
+ * As consultas recebem as linhas candidatas e devolvem o subconjunto que atende, sempre excluindo valores nulos
+ * (como no SQL). A implementação padrão lê valor a valor; as colunas primitivas e de dicionário sobrescrevem
+ * os casos que conseguem resolver sem montar objetos.
+ */
+abstract class Column {
+
+    abstract Object get(int row);
+
+    abstract void set(int row, Object value);
+
+    abstract boolean isNull(int row);
+
+    abstract void ensureCapacity(int capacity);
+
+    /**
+     * Ordem natural entre duas linhas não nulas.
+     */
+    abstract int compare(int a, int b);
+
+    BitSet matching(BitSet candidates, Predicate<Object> test) {
+        BitSet result = new BitSet();
+        for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+            Object value = get(row);
+            if (value != null && test.test(value)) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    BitSet nonNull(BitSet candidates) {
+        return matching(candidates, value -> true);
+    }
+
+    BitSet equalTo(BitSet candidates, List<Object> values) {
+        return matching(candidates, value -> {
+            for (Object candidate : values) {
+                if (InMemoryFilter.same(value, candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Valores entre {@code min} e {@code max}; um limite {@code null} não restringe aquele lado.
+     */
+    BitSet range(BitSet candidates, Object min, boolean minInclusive, Object max, boolean maxInclusive) {
+        return matching(candidates, value -> {
+            if (min != null) {
+                int cmp = InMemoryFilter.compare(value, min);
+                if (cmp < 0 || (cmp == 0 && !minInclusive)) {
+                    return false;
+                }
+            }
+            if (max != null) {
+                int cmp = InMemoryFilter.compare(value, max);
+                return cmp < 0 || (cmp == 0 && maxInclusive);
+            }
+            return true;
+        });
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.criteria_project.filter.memory;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.plan.FilterPlan;
+
+/**
+ * Cópia somente leitura de uma entidade em colunas, para responder filtros, ordenação e paginação sem o banco.
+ * <p>
+ * Cada atributo (e cada coluna sombra {@code @SearchNormalized}) vira uma {@link Column}: números e datas em arrays
+ * primitivos ({@code long[]} de ids, preços escalados, {@code int[]} de dias desde a época), textos de poucos
+ * valores distintos em dicionário com um bitmap por valor. O filtro do {@link FilterPlan} é resolvido como
+ * interseções e uniões de bitmaps ({@link BitmapFilter}) e só as linhas da página pedida viram entidades de novo.
+ * <p>
+ * Escritas ({@link #upsertAll}, {@link #delete}) são incrementais e trocam o bloqueio de leitura por um de escrita;
+ * linhas excluídas ficam marcadas até {@link #compact()}. Ordens completas por {@link Sort} são guardadas entre
+ * escritas, então paginar uma ordenação repetida só percorre a permutação já pronta.
+ */
+public final class ColumnarTable<T> {
+
+    /** Textos com mais valores distintos que isso (e que 1/16 das linhas) deixam o dicionário na compactação. */
+    private static final int DICTIONARY_LIMIT = 256;
+    /** Linhas excluídas acumuladas (e mais de 1/4 da tabela) que disparam a compactação automática. */
+    private static final int COMPACTION_THRESHOLD = 1024;
+    /** Abaixo de 1/{@value} das linhas, ordenar só as atendidas sai mais barato que montar a permutação inteira. */
+    private static final int PARTIAL_SORT_RATIO = 64;
+    private static final int MAX_CACHED_ORDERS = 16;
+    private static final int DEFAULT_DECIMAL_SCALE = 2;
+
+    private final Class<T> type;
+    private final List<String> idPath;
+    private final Map<List<String>, ColumnSpec> specs = new LinkedHashMap<>();
+    private final Supplier<Object> constructor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Sort, int[]> orders = new ConcurrentHashMap<>();
+
+    private Map<List<String>, Column> columns = new LinkedHashMap<>();
+    private Map<Object, Integer> rowsById = new HashMap<>();
+    private BitSet live = new BitSet();
+    private int size;
+
+    private ColumnarTable(Class<T> type) {
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(type);
+        this.type = type;
+        this.idPath = metadata.idAttribute().segments();
+        this.constructor = PropertyAccessors.constructor(type);
+        for (AttributeMetadata attribute : metadata.getAttributes().values()) {
+            if (attribute.segments().size() > 1) {
+                throw new IllegalArgumentException("Entidade " + type.getSimpleName()
+                        + " tem atributos aninhados, que a réplica colunar não suporta: " + attribute.path());
+            }
+            addSpec(attribute.segments(), attribute.javaType());
+            if (attribute.hasSearchColumn()) {
+                addSpec(attribute.searchSegments(), String.class);
+            }
+        }
+        for (AttributeMetadata column : metadata.getJsonColumns().values()) {
+            addSpec(column.segments(), column.javaType());
+        }
+        specs.values().forEach(spec -> columns.put(spec.path(), spec.newColumn(null, 0)));
+    }
+
+    /**
+     * Tabela vazia para a entidade; rejeita entidades com atributos que não cabem em uma coluna.
+     */
+    public static <T> ColumnarTable<T> of(Class<T> type) {
+        return new ColumnarTable<>(type);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Número de linhas vivas.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Insere ou substitui (pelo id) as entidades informadas.
+     */
+    public void upsertAll(Collection<? extends T> entities) {
+        lock.writeLock().lock();
+        try {
+            for (T entity : entities) {
+                upsert(entity);
+            }
+            orders.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(Object id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.remove(id);
+            if (row == null) {
+                return;
+            }
+            live.clear(row);
+            // Limpa os valores para que bitmaps de dicionário não guardem a linha morta
+            columns.values().forEach(column -> column.set(row, null));
+            orders.clear();
+            if (size - live.cardinality() > Math.max(COMPACTION_THRESHOLD, size / 4)) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta as linhas excluídas e revê a codificação dos textos: os de alta cardinalidade (como {@code nome})
+     * deixam o dicionário, onde um bitmap por valor custaria mais do que comparar as strings.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filtra, ordena e pagina. A ordenação sempre termina pelo id, como desempate estável.
+     *
+     * @throws UnsupportedOperationException se o filtro ou a ordenação usam algo que as colunas não representam
+     */
+    public Rows<T> query(FilterPlan plan, Sort sort, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            BitmapFilter filter = new BitmapFilter(columns::get, idPath, rowsById);
+            BitSet matches = filter.evaluate(plan.getRoot(), (BitSet) live.clone());
+            int total = matches.cardinality();
+            RowComparator comparator = comparator(sort);
+            if (offset >= total || limit <= 0) {
+                return new Rows<>(List.of(), total);
+            }
+            int from = (int) offset;
+            int to = (int) Math.min(total, offset + limit);
+            List<T> content = new ArrayList<>(to - from);
+            for (int row : page(matches, total, sort, comparator, from, to)) {
+                content.add(materialize(row));
+            }
+            return new Rows<>(content, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(T entity) {
+        Object id = specs.get(idPath).reader().apply(entity);
+        Integer row = rowsById.get(id);
+        if (row == null) {
+            row = size++;
+            for (Column column : columns.values()) {
+                column.ensureCapacity(size);
+            }
+            rowsById.put(id, row);
+            live.set(row);
+        }
+        for (ColumnSpec spec : specs.values()) {
+            columns.get(spec.path()).set(row, spec.reader().apply(entity));
+        }
+    }
+
+    private void compactLocked() {
+        int count = live.cardinality();
+        Map<List<String>, Column> compacted = new LinkedHashMap<>();
+        for (ColumnSpec spec : specs.values()) {
+            compacted.put(spec.path(), spec.newColumn(columns.get(spec.path()), count));
+        }
+        Map<Object, Integer> ids = new HashMap<>();
+        compacted.values().forEach(column -> column.ensureCapacity(count));
+        Column idColumn = columns.get(idPath);
+        int next = 0;
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1), next++) {
+            for (Map.Entry<List<String>, Column> entry : columns.entrySet()) {
+                compacted.get(entry.getKey()).set(next, entry.getValue().get(row));
+            }
+            ids.put(idColumn.get(row), next);
+        }
+        columns = compacted;
+        rowsById = ids;
+        live = new BitSet();
+        live.set(0, count);
+        size = count;
+        orders.clear();
+    }
+
+    private int[] page(BitSet matches, int total, Sort sort, RowComparator comparator, int from, int to) {
+        int[] order = orders.get(sort);
+        if (order == null && total > size / PARTIAL_SORT_RATIO) {
+            order = sorted(live.stream().toArray(), comparator);
+            if (orders.size() < MAX_CACHED_ORDERS) {
+                orders.put(sort, order);
+            }
+        }
+        if (order == null) {
+            return Arrays.copyOfRange(sorted(matches.stream().toArray(), comparator), from, to);
+        }
+        int[] page = new int[to - from];
+        int seen = 0;
+        for (int row : order) {
+            if (matches.get(row)) {
+                if (seen >= from) {
+                    page[seen - from] = row;
+                }
+                if (++seen == to) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Merge sort estável sobre índices de linha, sem encaixotar os {@code int}s.
+     */
+    private static int[] sorted(int[] rows, RowComparator comparator) {
+        int[] buffer = new int[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int start = 0; start < rows.length; start += 2 * width) {
+                int middle = Math.min(start + width, rows.length);
+                int end = Math.min(start + 2 * width, rows.length);
+                int left = start;
+                int right = middle;
+                for (int i = start; i < end; i++) {
+                    buffer[i] = left < middle && (right >= end || comparator.compare(rows[left], rows[right]) <= 0)
+                            ? rows[left++]
+                            : rows[right++];
+                }
+            }
+            int[] swap = rows;
+            rows = buffer;
+            buffer = swap;
+        }
+        return rows;
+    }
+
+    /**
+     * Mesma ordem do H2: nulos são os menores valores (primeiro no {@code asc}, por último no {@code desc}).
+     */
+    private RowComparator comparator(Sort sort) {
+        RowComparator result = null;
+        for (Sort.Order order : sort) {
+            if (order.isIgnoreCase() || order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                throw new UnsupportedOperationException("Ordenação não suportada pela réplica: " + order);
+            }
+            Column column = columns.get(List.of(order.getProperty().split("\\.")));
+            if (column == null) {
+                throw new UnsupportedOperationException("Ordenação por campo sem coluna: " + order.getProperty());
+            }
+            int direction = order.isDescending() ? -1 : 1;
+            RowComparator byColumn = (a, b) -> {
+                boolean nullA = column.isNull(a);
+                boolean nullB = column.isNull(b);
+                if (nullA || nullB) {
+                    return direction * (nullA == nullB ? 0 : nullA ? -1 : 1);
+                }
+                return direction * column.compare(a, b);
+            };
+            result = result == null ? byColumn : result.then(byColumn);
+        }
+        RowComparator byId = columns.get(idPath)::compare;
+        return result == null ? byId : result.then(byId);
+    }
+
+    private T materialize(int row) {
+        Object entity = constructor.get();
+        for (ColumnSpec spec : specs.values()) {
+            spec.writer().accept(entity, columns.get(spec.path()).get(row));
+        }
+        return type.cast(entity);
+    }
+
+    private void addSpec(List<String> path, Class<?> javaType) {
+        Field field = ReflectionUtils.findField(type, path.get(0));
+        int scale = DEFAULT_DECIMAL_SCALE;
+        jakarta.persistence.Column mapping = field == null ? null : field.getAnnotation(jakarta.persistence.Column.class);
+        if (mapping != null && (mapping.scale() > 0 || mapping.precision() > 0)) {
+            scale = mapping.scale();
+        }
+        specs.put(path, new ColumnSpec(path, javaType, NumericCodec.forType(javaType, scale),
+                PropertyAccessors.forPath(type, path), PropertyAccessors.writer(type, path.get(0))));
+    }
+
+    /**
+     * Página de uma consulta à réplica.
+     *
+     * @param total quantas linhas atendem ao filtro, em todas as páginas
+     */
+    public record Rows<T>(List<T> content, int total) {
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+
+        int compare(int a, int b);
+
+        default RowComparator then(RowComparator next) {
+            return (a, b) -> {
+                int cmp = compare(a, b);
+                return cmp != 0 ? cmp : next.compare(a, b);
+            };
+        }
+    }
+
+    private record ColumnSpec(List<String> path, Class<?> javaType, NumericCodec codec,
+                              Function<Object, Object> reader, BiConsumer<Object, Object> writer) {
+
+        /**
+         * Coluna vazia do tipo certo; na compactação, {@code previous} decide se um texto continua em dicionário.
+         */
+        Column newColumn(Column previous, int rows) {
+            if (codec != null) {
+                return NumericColumn.of(codec);
+            }
+            if (javaType == String.class) {
+                boolean highCardinality = previous instanceof ObjectColumn
+                        || previous instanceof DictionaryColumn dictionary
+                        && dictionary.cardinality() > Math.max(DICTIONARY_LIMIT, rows / 16);
+                return highCardinality ? new ObjectColumn() : new DictionaryColumn();
+            }
+            if (javaType == Boolean.class || javaType == boolean.class || javaType.isEnum()) {
+                return new DictionaryColumn();
+            }
+            return new ObjectColumn();
+        }
+    }
+}
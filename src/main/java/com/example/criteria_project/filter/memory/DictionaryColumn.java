@@ -0,0 +1,96 @@
+package com.example.criteria_project.filter.memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Coluna codificada por dicionário, para textos com poucos valores distintos ({@code categoria}), booleanos e enums,
+ * tipos em que igualdade e hash coincidem.
+ * <p>
+ * Cada linha guarda só o código do valor, e cada código mantém o bitmap das linhas que o usam. Um filtro
+ * é avaliado uma vez por valor distinto e o resultado é a união dos bitmaps aprovados, sem percorrer as linhas.
+ */
+final class DictionaryColumn extends Column {
+
+    /** Código + 1 de cada linha; 0 é nulo, então linhas recém-alocadas já nascem nulas. */
+    private int[] codes = new int[0];
+    private final List<Object> values = new ArrayList<>();
+    private final Map<Object, Integer> codesByValue = new HashMap<>();
+    private final List<BitSet> rowsByCode = new ArrayList<>();
+
+    int cardinality() {
+        return values.size();
+    }
+
+    @Override
+    Object get(int row) {
+        int code = codes[row];
+        return code == 0 ? null : values.get(code - 1);
+    }
+
+    @Override
+    void set(int row, Object value) {
+        int previous = codes[row];
+        if (previous != 0) {
+            rowsByCode.get(previous - 1).clear(row);
+        }
+        if (value == null) {
+            codes[row] = 0;
+            return;
+        }
+        int code = codesByValue.computeIfAbsent(value, key -> {
+            values.add(key);
+            rowsByCode.add(new BitSet());
+            return values.size() - 1;
+        });
+        codes[row] = code + 1;
+        rowsByCode.get(code).set(row);
+    }
+
+    @Override
+    boolean isNull(int row) {
+        return codes[row] == 0;
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (capacity > codes.length) {
+            codes = Arrays.copyOf(codes, Math.max(capacity, codes.length * 2));
+        }
+    }
+
+    @Override
+    int compare(int a, int b) {
+        return InMemoryFilter.compare(values.get(codes[a] - 1), values.get(codes[b] - 1));
+    }
+
+    @Override
+    BitSet matching(BitSet candidates, Predicate<Object> test) {
+        BitSet result = new BitSet();
+        for (int code = 0; code < values.size(); code++) {
+            if (test.test(values.get(code))) {
+                result.or(rowsByCode.get(code));
+            }
+        }
+        result.and(candidates);
+        return result;
+    }
+
+    @Override
+    BitSet equalTo(BitSet candidates, List<Object> expected) {
+        BitSet result = new BitSet();
+        for (Object value : expected) {
+            Integer code = codesByValue.get(value);
+            if (code != null) {
+                result.or(rowsByCode.get(code));
+            }
+        }
+        result.and(candidates);
+        return result;
+    }
+}
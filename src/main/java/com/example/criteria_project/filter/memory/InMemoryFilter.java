@@ -0,0 +1,289 @@
+package com.example.criteria_project.filter.memory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.example.criteria_project.filter.json.JsonPaths;
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.plan.AndNode;
+import com.example.criteria_project.filter.plan.ColumnLikeNode;
+import com.example.criteria_project.filter.plan.ContainsNode;
+import com.example.criteria_project.filter.plan.EqualsNode;
+import com.example.criteria_project.filter.plan.FalseNode;
+import com.example.criteria_project.filter.plan.FilterNode;
+import com.example.criteria_project.filter.plan.FilterPaths;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.filter.plan.JsonContainsNode;
+import com.example.criteria_project.filter.plan.OrNode;
+import com.example.criteria_project.filter.plan.RangeNode;
+import com.example.criteria_project.filter.plan.TextInNode;
+import com.example.criteria_project.filter.plan.TrigramNode;
+import com.example.criteria_project.filter.search.SearchNormalizationListener;
+
+/**
+ * Compila um {@link FilterPlan} em um {@link Predicate} Java, com a mesma semântica do SQL gerado pelo plano.
+ * <p>
+ * Permite aplicar a mesma query string a coleções em memória (caches, fixtures de teste, eventos).
+ * Todo o trabalho por filtro é feito na compilação: leitores de campo ({@link PropertyAccessors}),
+ * termos já normalizados e padrões {@code LIKE} simples reduzidos a {@code contains}/{@code startsWith}.
+ * Como no SQL, um valor {@code null} nunca atende a uma comparação.
+ */
+public final class InMemoryFilter {
+
+    private InMemoryFilter() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Predicate<T> compile(FilterPlan plan, Class<T> type) {
+        Predicate<Object> predicate = new Compiler(type).compile(plan.getRoot());
+        return (Predicate<T>) predicate;
+    }
+
+    private static final class Compiler {
+
+        private final Class<?> type;
+        private final EntityMetadata metadata;
+
+        private Compiler(Class<?> type) {
+            this.type = type;
+            this.metadata = EntityMetadataRegistry.forEntity(type);
+        }
+
+        private Predicate<Object> compile(FilterNode node) {
+            if (node instanceof AndNode and) {
+                return all(and.children().stream().map(this::compile).toList());
+            }
+            if (node instanceof OrNode or) {
+                return any(or.children().stream().map(this::compile).toList());
+            }
+            if (node instanceof FalseNode) {
+                return target -> false;
+            }
+            if (node instanceof EqualsNode equals) {
+                return equalsAny(accessor(equals.path()), equals.values());
+            }
+            if (node instanceof TextInNode textIn) {
+                Function<Object, Object> read = accessor(textIn.path());
+                Set<String> values = new HashSet<>(textIn.values());
+                return target -> {
+                    String value = normalized(read.apply(target));
+                    return value != null && values.contains(value);
+                };
+            }
+            if (node instanceof ContainsNode contains) {
+                Function<Object, Object> read = accessor(contains.path());
+                Predicate<String> matcher = anyLike(contains.patterns());
+                return target -> {
+                    String value = normalized(read.apply(target));
+                    return value != null && matcher.test(value);
+                };
+            }
+            if (node instanceof ColumnLikeNode columnLike) {
+                Function<Object, Object> read = accessor(columnLike.path());
+                Predicate<String> matcher = anyLike(columnLike.patterns());
+                return target -> {
+                    Object value = read.apply(target);
+                    return value != null && matcher.test(value.toString());
+                };
+            }
+            if (node instanceof RangeNode range) {
+                return range(range);
+            }
+            if (node instanceof JsonContainsNode json) {
+                return json(json);
+            }
+            if (node instanceof TrigramNode) {
+                // Só estreita candidatos; o nó exato que o acompanha no E decide o resultado
+                return target -> true;
+            }
+            throw new IllegalStateException("Nó de filtro sem avaliação em memória: " + node.getClass().getSimpleName());
+        }
+
+        private Predicate<Object> range(RangeNode range) {
+            Function<Object, Object> read = accessor(range.path());
+            List<Predicate<Object>> conditions = new ArrayList<>();
+            for (Object expected : range.equalTo()) {
+                conditions.add(value -> same(value, expected));
+            }
+            for (Object excluded : range.notEqualTo()) {
+                conditions.add(value -> !same(value, excluded));
+            }
+            if (range.min() != null) {
+                Object min = range.min();
+                conditions.add(range.minInclusive() ? value -> compare(value, min) >= 0 : value -> compare(value, min) > 0);
+            }
+            if (range.max() != null) {
+                Object max = range.max();
+                conditions.add(range.maxInclusive() ? value -> compare(value, max) <= 0 : value -> compare(value, max) < 0);
+            }
+            for (String pattern : range.patterns()) {
+                Predicate<String> matcher = like(pattern);
+                conditions.add(value -> matcher.test(normalized(value)));
+            }
+            Predicate<Object> all = all(conditions);
+            return target -> {
+                Object value = read.apply(target);
+                return value != null && all.test(value);
+            };
+        }
+
+        private Predicate<Object> json(JsonContainsNode node) {
+            Function<Object, Object> read = accessor(List.of("dto"));
+            List<Predicate<String>> matchers = node.patterns().stream().map(InMemoryFilter::like).toList();
+            return target -> {
+                String value = normalized(JsonPaths.text(read.apply(target), node.jsonPath()));
+                return value != null && matchers.stream().allMatch(matcher -> matcher.test(value));
+            };
+        }
+
+        /**
+         * Colunas sombra só são preenchidas ao persistir; objetos montados em memória caem no campo de origem.
+         */
+        private Function<Object, Object> accessor(List<String> path) {
+            for (AttributeMetadata attribute : metadata.getAttributes().values()) {
+                if (attribute.collection() && (path.equals(attribute.segments())
+                        || path.equals(attribute.searchSegments()))) {
+                    throw new UnsupportedOperationException(
+                            "Caminho por coleção sem avaliação em memória: " + attribute.path());
+                }
+            }
+            Function<Object, Object> shadow = PropertyAccessors.forPath(type, path);
+            for (AttributeMetadata attribute : metadata.getAttributes().values()) {
+                if (path.equals(attribute.searchSegments())) {
+                    Function<Object, Object> source = PropertyAccessors.forPath(type, attribute.segments());
+                    return target -> {
+                        Object value = shadow.apply(target);
+                        return value != null ? value : normalized(source.apply(target));
+                    };
+                }
+            }
+            for (Map.Entry<String, AttributeMetadata> promoted : metadata.getJsonColumns().entrySet()) {
+                if (path.equals(promoted.getValue().segments())) {
+                    Function<Object, Object> dto = PropertyAccessors.forPath(type, List.of("dto"));
+                    List<String> jsonPath = List.of(promoted.getKey().split("\\."));
+                    Class<?> columnType = promoted.getValue().javaType();
+                    return target -> {
+                        Object value = shadow.apply(target);
+                        return value != null ? value : JsonPaths.promote(dto.apply(target), jsonPath, columnType);
+                    };
+                }
+            }
+            return shadow;
+        }
+    }
+
+    private static Predicate<Object> equalsAny(Function<Object, Object> read, List<Object> candidates) {
+        if (candidates.size() == 1) {
+            Object candidate = candidates.get(0);
+            return target -> {
+                Object value = read.apply(target);
+                return value != null && same(value, candidate);
+            };
+        }
+        return target -> {
+            Object value = read.apply(target);
+            if (value == null) {
+                return false;
+            }
+            for (Object candidate : candidates) {
+                if (same(value, candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static Predicate<Object> all(List<Predicate<Object>> predicates) {
+        if (predicates.isEmpty()) {
+            return target -> true;
+        }
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        Predicate<Object>[] array = toArray(predicates);
+        return target -> {
+            for (Predicate<Object> predicate : array) {
+                if (!predicate.test(target)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static Predicate<Object> any(List<Predicate<Object>> predicates) {
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        Predicate<Object>[] array = toArray(predicates);
+        return target -> {
+            for (Predicate<Object> predicate : array) {
+                if (predicate.test(target)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    // Array em vez da lista: o laço roda uma vez por linha avaliada
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object>[] toArray(List<Predicate<Object>> predicates) {
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    static Predicate<String> anyLike(List<String> patterns) {
+        List<Predicate<String>> matchers = patterns.stream().map(InMemoryFilter::like).toList();
+        return matchers.size() == 1 ? matchers.get(0) : value -> matchers.stream().anyMatch(m -> m.test(value));
+    }
+
+    /**
+     * Padrões {@code %termo%} e {@code termo%} (os gerados pelo {@code CriteriaCreator}) viram
+     * {@code contains}/{@code startsWith}; os demais usam o {@code LIKE} completo.
+     */
+    static Predicate<String> like(String pattern) {
+        String inner = pattern.length() >= 2 ? pattern.substring(1, pattern.length() - 1) : "";
+        if (pattern.startsWith("%") && pattern.endsWith("%") && pattern.length() >= 2 && isLiteral(inner)) {
+            return value -> value.contains(inner);
+        }
+        String prefix = pattern.substring(0, Math.max(0, pattern.length() - 1));
+        if (pattern.endsWith("%") && isLiteral(prefix)) {
+            return value -> value.startsWith(prefix);
+        }
+        if (isLiteral(pattern)) {
+            return pattern::equals;
+        }
+        return value -> FilterPaths.like(value, pattern);
+    }
+
+    private static boolean isLiteral(String text) {
+        return text.indexOf('%') < 0 && text.indexOf('_') < 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    static int compare(Object value, Object bound) {
+        return ((Comparable<Object>) value).compareTo(bound);
+    }
+
+    /**
+     * Igualdade como no banco: {@code 350.00} e {@code 350.0} são o mesmo {@code BigDecimal}.
+     */
+    static boolean same(Object value, Object candidate) {
+        if (value instanceof Comparable<?> && value.getClass().equals(candidate.getClass())) {
+            return compare(value, candidate) == 0;
+        }
+        return value.equals(candidate);
+    }
+
+    static String normalized(Object value) {
+        return value == null ? null : SearchNormalizationListener.normalize(value.toString());
+    }
+}
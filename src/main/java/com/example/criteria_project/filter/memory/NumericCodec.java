@@ -0,0 +1,142 @@
+package com.example.criteria_project.filter.memory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Representação de um tipo numérico ou de data como {@code long} ordenável, usada pelas colunas primitivas.
+ * <p>
+ * Decimais viram inteiros escalados pela escala da coluna ({@code 89.90} com escala 2 é {@code 8990}) e datas
+ * viram dias desde a época. {@link #ceil}/{@link #floor} traduzem limites de filtro que podem não ter
+ * representação exata ({@code gt:10.005}) para o valor codificado mais próximo dentro do intervalo.
+ */
+interface NumericCodec {
+
+    long encode(Object value);
+
+    Object decode(long encoded);
+
+    /** Menor valor codificado maior ou igual a {@code bound}. */
+    long ceil(Object bound);
+
+    /** Maior valor codificado menor ou igual a {@code bound}. */
+    long floor(Object bound);
+
+    /**
+     * Codec do tipo, ou {@code null} quando ele não tem representação primitiva.
+     */
+    static NumericCodec forType(Class<?> type, int scale) {
+        if (type == Long.class || type == long.class) {
+            return new Whole(false);
+        }
+        if (type == Integer.class || type == int.class) {
+            return new Whole(true);
+        }
+        if (type == BigDecimal.class) {
+            return new Decimal(scale);
+        }
+        if (type == LocalDate.class) {
+            return new EpochDay();
+        }
+        return null;
+    }
+
+    /**
+     * Indica se os valores codificados sempre cabem em um {@code int}.
+     */
+    default boolean fitsInt() {
+        return false;
+    }
+
+    record Whole(boolean integer) implements NumericCodec {
+
+        @Override
+        public long encode(Object value) {
+            return ((Number) value).longValue();
+        }
+
+        @Override
+        public Object decode(long encoded) {
+            return integer ? (Object) (int) encoded : (Object) encoded;
+        }
+
+        @Override
+        public long ceil(Object bound) {
+            return encode(bound);
+        }
+
+        @Override
+        public long floor(Object bound) {
+            return encode(bound);
+        }
+
+        @Override
+        public boolean fitsInt() {
+            return integer;
+        }
+    }
+
+    record Decimal(int scale) implements NumericCodec {
+
+        @Override
+        public long encode(Object value) {
+            // O banco arredonda para a escala da coluna ao gravar
+            return ((BigDecimal) value).setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+
+        @Override
+        public Object decode(long encoded) {
+            return BigDecimal.valueOf(encoded, scale);
+        }
+
+        @Override
+        public long ceil(Object bound) {
+            return scaled((BigDecimal) bound, RoundingMode.CEILING);
+        }
+
+        @Override
+        public long floor(Object bound) {
+            return scaled((BigDecimal) bound, RoundingMode.FLOOR);
+        }
+
+        private long scaled(BigDecimal bound, RoundingMode rounding) {
+            BigDecimal scaled = bound.movePointRight(scale).setScale(0, rounding);
+            if (scaled.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+                return Long.MAX_VALUE;
+            }
+            if (scaled.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+                return Long.MIN_VALUE;
+            }
+            return scaled.longValue();
+        }
+    }
+
+    record EpochDay() implements NumericCodec {
+
+        @Override
+        public long encode(Object value) {
+            return ((LocalDate) value).toEpochDay();
+        }
+
+        @Override
+        public Object decode(long encoded) {
+            return LocalDate.ofEpochDay(encoded);
+        }
+
+        @Override
+        public long ceil(Object bound) {
+            return encode(bound);
+        }
+
+        @Override
+        public long floor(Object bound) {
+            return encode(bound);
+        }
+
+        @Override
+        public boolean fitsInt() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.criteria_project.filter.memory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Coluna numérica ou de data guardada em um array primitivo, com os nulos em um bitmap à parte.
+ * <p>
+ * Filtros de intervalo e igualdade viram comparações entre {@code long}s: os limites são codificados uma vez
+ * pelo {@link NumericCodec} e o laço sobre as linhas candidatas não cria nenhum objeto.
+ */
+abstract sealed class NumericColumn extends Column {
+
+    final NumericCodec codec;
+    private final BitSet nulls = new BitSet();
+
+    NumericColumn(NumericCodec codec) {
+        this.codec = codec;
+    }
+
+    static NumericColumn of(NumericCodec codec) {
+        return codec.fitsInt() ? new IntColumn(codec) : new LongColumn(codec);
+    }
+
+    abstract long valueAt(int row);
+
+    abstract void store(int row, long value);
+
+    @Override
+    Object get(int row) {
+        return nulls.get(row) ? null : codec.decode(valueAt(row));
+    }
+
+    @Override
+    void set(int row, Object value) {
+        if (value == null) {
+            nulls.set(row);
+            store(row, 0);
+        } else {
+            nulls.clear(row);
+            store(row, codec.encode(value));
+        }
+    }
+
+    @Override
+    boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    @Override
+    int compare(int a, int b) {
+        return Long.compare(valueAt(a), valueAt(b));
+    }
+
+    @Override
+    BitSet nonNull(BitSet candidates) {
+        BitSet result = (BitSet) candidates.clone();
+        result.andNot(nulls);
+        return result;
+    }
+
+    @Override
+    BitSet equalTo(BitSet candidates, List<Object> values) {
+        long[] encoded = new long[values.size()];
+        int count = 0;
+        for (Object value : values) {
+            long ceil = codec.ceil(value);
+            // Valores sem representação exata (mais casas que a escala) não podem estar na coluna
+            if (ceil == codec.floor(value)) {
+                encoded[count++] = ceil;
+            }
+        }
+        if (count == 1) {
+            return between(candidates, encoded[0], encoded[0]);
+        }
+        long[] sorted = Arrays.copyOf(encoded, count);
+        Arrays.sort(sorted);
+        BitSet result = new BitSet();
+        for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+            if (Arrays.binarySearch(sorted, valueAt(row)) >= 0) {
+                result.set(row);
+            }
+        }
+        result.andNot(nulls);
+        return result;
+    }
+
+    @Override
+    BitSet range(BitSet candidates, Object min, boolean minInclusive, Object max, boolean maxInclusive) {
+        long low = Long.MIN_VALUE;
+        long high = Long.MAX_VALUE;
+        if (min != null) {
+            low = minInclusive ? codec.ceil(min) : codec.floor(min) + 1;
+        }
+        if (max != null) {
+            high = maxInclusive ? codec.floor(max) : codec.ceil(max) - 1;
+        }
+        return between(candidates, low, high);
+    }
+
+    private BitSet between(BitSet candidates, long low, long high) {
+        if (low > high) {
+            return new BitSet();
+        }
+        BitSet result = BitSet.valueOf(between(candidates.toLongArray(), low, high));
+        result.andNot(nulls);
+        return result;
+    }
+
+    /**
+     * Percorre os candidatos palavra a palavra do bitmap e devolve as palavras do resultado; cada subclasse
+     * implementa o laço sobre o próprio array para que ele fique livre de chamadas virtuais.
+     */
+    abstract long[] between(long[] candidates, long low, long high);
+
+    static final class LongColumn extends NumericColumn {
+
+        private long[] values = new long[0];
+
+        LongColumn(NumericCodec codec) {
+            super(codec);
+        }
+
+        @Override
+        long valueAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        void store(int row, long value) {
+            values[row] = value;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+            }
+        }
+
+        @Override
+        long[] between(long[] candidates, long low, long high) {
+            long[] result = new long[candidates.length];
+            long span = high - low;
+            for (int word = 0; word < candidates.length; word++) {
+                long bits = candidates[word];
+                long hits = 0;
+                while (bits != 0) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    long value = values[(word << 6) + bit];
+                    // low <= value <= high numa única comparação sem sinal, sem desvio imprevisível
+                    hits |= (Long.compareUnsigned(value - low, span) <= 0 ? 1L : 0L) << bit;
+                    bits &= bits - 1;
+                }
+                result[word] = hits;
+            }
+            return result;
+        }
+    }
+
+    static final class IntColumn extends NumericColumn {
+
+        private int[] values = new int[0];
+
+        IntColumn(NumericCodec codec) {
+            super(codec);
+        }
+
+        @Override
+        long valueAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        void store(int row, long value) {
+            values[row] = Math.toIntExact(value);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+            }
+        }
+
+        @Override
+        long[] between(long[] candidates, long low, long high) {
+            long[] result = new long[candidates.length];
+            long span = high - low;
+            for (int word = 0; word < candidates.length; word++) {
+                long bits = candidates[word];
+                long hits = 0;
+                while (bits != 0) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    long value = values[(word << 6) + bit];
+                    // low <= value <= high numa única comparação sem sinal, sem desvio imprevisível
+                    hits |= (Long.compareUnsigned(value - low, span) <= 0 ? 1L : 0L) << bit;
+                    bits &= bits - 1;
+                }
+                result[word] = hits;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.criteria_project.filter.memory;
+
+import java.util.Arrays;
+
+/**
+ * Coluna sem codificação: guarda as referências como vieram da entidade (textos de alta cardinalidade,
+ * tipos sem representação primitiva).
+ */
+final class ObjectColumn extends Column {
+
+    private Object[] values = new Object[0];
+
+    @Override
+    Object get(int row) {
+        return values[row];
+    }
+
+    @Override
+    void set(int row, Object value) {
+        values[row] = value;
+    }
+
+    @Override
+    boolean isNull(int row) {
+        return values[row] == null;
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+
+    @Override
+    int compare(int a, int b) {
+        return InMemoryFilter.compare(values[a], values[b]);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.criteria_project.filter.memory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Leitores de propriedades montados uma única vez por (classe, caminho).
+ * <p>
+ * Getters públicos viram um {@link Function} gerado pelo {@link LambdaMetafactory}, que o JIT trata como uma
+ * chamada direta; sem getter, o campo é lido por um {@link MethodHandle}. Nenhum dos dois usa reflexão por linha.
+ * Caminhos aninhados ({@code a.b.c}) devolvem {@code null} assim que um segmento intermediário é nulo.
+ * Escritores e construtores, usados para remontar entidades a partir das colunas, seguem a mesma regra.
+ */
+final class PropertyAccessors {
+
+    private static final Map<Key, Function<Object, Object>> CACHE = new ConcurrentHashMap<>();
+
+    private PropertyAccessors() {
+    }
+
+    static Function<Object, Object> forPath(Class<?> type, List<String> path) {
+        return CACHE.computeIfAbsent(new Key(type, List.copyOf(path)), key -> build(key.type(), key.path()));
+    }
+
+    /**
+     * Escritor de uma propriedade direta (setter público ou, sem ele, o próprio campo).
+     */
+    static BiConsumer<Object, Object> writer(Class<?> type, String name) {
+        Field field = field(type, name);
+        try {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.lookup().unreflect(type.getMethod("set" + StringUtils.capitalize(name),
+                        field.getType()));
+            } catch (NoSuchMethodException e) {
+                handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                        .unreflectSetter(field);
+            }
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> {
+                try {
+                    generic.invokeExact(target, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Não foi possível acessar " + type.getSimpleName() + "." + name, e);
+        }
+    }
+
+    /**
+     * Construtor sem argumentos (entidades JPA sempre têm um, ainda que protegido).
+     */
+    static Supplier<Object> constructor(Class<?> type) {
+        try {
+            MethodHandle handle = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return handle.invokeExact();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(type.getSimpleName() + " não possui construtor sem argumentos", e);
+        }
+    }
+
+    private static Function<Object, Object> build(Class<?> type, List<String> path) {
+        Class<?> current = type;
+        Function<Object, Object> accessor = null;
+        for (String segment : path) {
+            Step step = step(current, segment);
+            if (accessor == null) {
+                accessor = step.reader();
+            } else {
+                Function<Object, Object> previous = accessor;
+                Function<Object, Object> next = step.reader();
+                accessor = target -> {
+                    Object value = previous.apply(target);
+                    return value == null ? null : next.apply(value);
+                };
+            }
+            current = step.valueType();
+        }
+        Function<Object, Object> result = accessor;
+        return target -> target == null ? null : result.apply(target);
+    }
+
+    private static Step step(Class<?> type, String name) {
+        Method getter = getter(type, name);
+        try {
+            if (getter != null) {
+                return new Step(lambda(getter), getter.getReturnType());
+            }
+            Field field = field(type, name);
+            MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return new Step(target -> invoke(handle, target), field.getType());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Não foi possível acessar " + type.getSimpleName() + "." + name, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> lambda(Method getter) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(getter);
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(getter.getReturnType().isPrimitive()
+                            ? MethodType.methodType(getter.getReturnType()).wrap().returnType()
+                            : getter.getReturnType(), getter.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            // Classes de outro class loader não podem ser alvo do LambdaMetafactory a partir daqui
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return target -> invoke(generic, target);
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object target) {
+        try {
+            return handle.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Method getter(Class<?> type, String name) {
+        String suffix = StringUtils.capitalize(name);
+        for (String prefix : List.of("get", "is")) {
+            try {
+                Method method = type.getMethod(prefix + suffix);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException ignored) {
+                // tenta o próximo prefixo
+            }
+        }
+        return null;
+    }
+
+    private static Field field(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException ignored) {
+                // sobe na hierarquia
+            }
+        }
+        throw new IllegalArgumentException("Campo '" + name + "' não existe em " + type.getSimpleName());
+    }
+
+    private record Key(Class<?> type, List<String> path) {
+    }
+
+    private record Step(Function<Object, Object> reader, Class<?> valueType) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.criteria_project.filter.metadata;
+
+import java.util.List;
+import java.util.Set;
+
+import com.example.criteria_project.filter.search.LikeTextSearch;
+import com.example.criteria_project.filter.search.TextSearchStrategy;
+
+/**
+ * Metadados pré-calculados de um caminho filtrável ({@code "nome"}, {@code "fornecedor.cidade"}...).
+ *
+ * @param path      caminho pontuado, como aparece na query string
+ * @param segments  o mesmo caminho já separado em segmentos
+ * @param javaType  tipo Java do atributo final
+ * @param kind      categoria de valor, usada no despacho do compilador de filtros
+ * @param converter conversor da query string para {@code javaType}
+ * @param operators operadores aceitos pelo atributo
+ * @param searchSegments caminho da coluna sombra normalizada ({@code @SearchNormalized}), ou {@code null}
+ * @param textSearch estratégia das buscas "contém" no campo
+ * @param collection indica que o caminho atravessa uma coleção (filtrado com {@code EXISTS})
+ */
+public record AttributeMetadata(String path, List<String> segments, Class<?> javaType, ValueKind kind,
+                                ValueConverter converter, Set<FilterOperator> operators,
+                                List<String> searchSegments, TextSearchStrategy textSearch, boolean collection) {
+
+    public AttributeMetadata {
+        segments = List.copyOf(segments);
+        operators = Set.copyOf(operators);
+        searchSegments = searchSegments == null ? null : List.copyOf(searchSegments);
+        textSearch = textSearch == null ? LikeTextSearch.INSTANCE : textSearch;
+    }
+
+    public static AttributeMetadata of(List<String> segments, Class<?> javaType) {
+        return of(segments, javaType, null, null);
+    }
+
+    public static AttributeMetadata of(List<String> segments, Class<?> javaType, List<String> searchSegments,
+                                       TextSearchStrategy textSearch) {
+        return of(segments, javaType, searchSegments, textSearch, false);
+    }
+
+    public static AttributeMetadata of(List<String> segments, Class<?> javaType, List<String> searchSegments,
+                                       TextSearchStrategy textSearch, boolean collection) {
+        ValueKind kind = ValueConverters.kindOf(javaType);
+        Set<FilterOperator> operators = kind == ValueKind.NUMERIC || kind == ValueKind.DATE
+                ? FilterOperator.ALL
+                : FilterOperator.EQUALITY;
+        return new AttributeMetadata(String.join(".", segments), segments, javaType, kind,
+                ValueConverters.forType(javaType), operators, searchSegments, textSearch, collection);
+    }
+
+    public boolean hasSearchColumn() {
+        return searchSegments != null;
+    }
+
+    /**
+     * Indica se o atributo aceita operadores de intervalo ({@code gt/gte/lt/lte}).
+     */
+    public boolean supportsRange() {
+        return operators.contains(FilterOperator.GTE);
+    }
+}
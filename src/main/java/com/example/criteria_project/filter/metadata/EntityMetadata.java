@@ -0,0 +1,222 @@
+package com.example.criteria_project.filter.metadata;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.criteria_project.filter.json.JsonPromoted;
+import com.example.criteria_project.filter.search.SearchNormalized;
+import com.example.criteria_project.filter.search.TextSearchStrategy;
+import com.example.criteria_project.filter.search.TrigramIndexed;
+import com.example.criteria_project.filter.search.TrigramTextSearch;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+
+/**
+ * Caminhos filtráveis de uma entidade, montados a partir do Metamodel JPA.
+ * Atributos básicos, embutidos, associações {@code *ToOne} e elementos de coleções (até {@link #MAX_DEPTH} níveis)
+ * entram no mapa; caminhos por coleção são marcados em {@link AttributeMetadata#collection()}.
+ * Colunas {@link JsonPromoted} ficam fora do mapa e são encontradas pelo caminho dentro de {@code dto}
+ * ({@link #jsonColumn(String)}).
+ */
+public class EntityMetadata {
+
+    public static final int MAX_DEPTH = 3;
+
+    private static final String JSON_ATTRIBUTE = "dto";
+
+    private final Class<?> entityClass;
+    private final Map<String, AttributeMetadata> attributes;
+    private final boolean jsonAttribute;
+    private final Map<String, AttributeMetadata> jsonColumns;
+    private final String idPath;
+    private final List<List<String>> fetchPaths;
+
+    public EntityMetadata(Class<?> entityClass, Map<String, AttributeMetadata> attributes, boolean jsonAttribute,
+                          Map<String, AttributeMetadata> jsonColumns, String idPath, List<List<String>> fetchPaths) {
+        this.entityClass = entityClass;
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        this.jsonAttribute = jsonAttribute;
+        this.jsonColumns = Map.copyOf(jsonColumns);
+        this.idPath = idPath;
+        this.fetchPaths = fetchPaths.stream().map(List::copyOf).toList();
+    }
+
+    public static EntityMetadata from(EntityType<?> entityType) {
+        String idPath = entityType.hasSingleIdAttribute()
+                ? entityType.getId(entityType.getIdType().getJavaType()).getName()
+                : null;
+        TextSearchStrategy trigram = idPath != null ? new TrigramTextSearch(entityType.getName(), List.of(idPath)) : null;
+
+        Map<String, AttributeMetadata> attributes = new LinkedHashMap<>();
+        List<List<String>> fetchPaths = new ArrayList<>();
+        Set<Class<?>> visiting = new HashSet<>();
+        visiting.add(entityType.getJavaType());
+        collect(entityType, List.of(), Scope.ROOT, attributes, fetchPaths, visiting, trigram);
+        boolean json = entityType.getAttributes().stream().anyMatch(a -> JSON_ATTRIBUTE.equals(a.getName()));
+        Map<String, AttributeMetadata> jsonColumns = new HashMap<>();
+        for (Attribute<?, ?> attribute : entityType.getAttributes()) {
+            if (attribute.getJavaMember() instanceof Field field && field.isAnnotationPresent(JsonPromoted.class)) {
+                List<String> segments = List.of(attribute.getName());
+                // Texto promovido já é guardado normalizado: a própria coluna faz o papel de coluna sombra
+                List<String> searchSegments = ValueConverters.kindOf(attribute.getJavaType()) == ValueKind.TEXT
+                        ? segments
+                        : null;
+                jsonColumns.put(field.getAnnotation(JsonPromoted.class).value(),
+                        AttributeMetadata.of(segments, attribute.getJavaType(), searchSegments, null));
+            }
+        }
+        return new EntityMetadata(entityType.getJavaType(), attributes, json, jsonColumns, idPath, fetchPaths);
+    }
+
+    private static void collect(ManagedType<?> type, List<String> prefix, Scope scope,
+                                Map<String, AttributeMetadata> attributes, List<List<String>> fetchPaths,
+                                Set<Class<?>> visiting, TextSearchStrategy trigram) {
+        Map<String, String> shadows = new HashMap<>();
+        for (Attribute<?, ?> attribute : type.getAttributes()) {
+            if (attribute.getJavaMember() instanceof Field field && field.isAnnotationPresent(SearchNormalized.class)) {
+                shadows.put(attribute.getName(), field.getAnnotation(SearchNormalized.class).shadow());
+            }
+        }
+
+        for (Attribute<?, ?> attribute : type.getAttributes()) {
+            List<String> segments = new ArrayList<>(prefix);
+            segments.add(attribute.getName());
+
+            switch (attribute.getPersistentAttributeType()) {
+                case BASIC -> {
+                    if (shadows.containsValue(attribute.getName()) || attribute.getJavaMember() instanceof Field promoted
+                            && promoted.isAnnotationPresent(JsonPromoted.class)) {
+                        // Colunas sombra e promovidas são detalhe de implementação, não campos filtráveis
+                        continue;
+                    }
+                    List<String> searchSegments = null;
+                    if (shadows.containsKey(attribute.getName())) {
+                        searchSegments = new ArrayList<>(prefix);
+                        searchSegments.add(shadows.get(attribute.getName()));
+                    }
+                    // O índice de trigramas só cobre campos da própria entidade
+                    TextSearchStrategy textSearch = prefix.isEmpty() && trigram != null
+                            && attribute.getJavaMember() instanceof Field field
+                            && field.isAnnotationPresent(TrigramIndexed.class) ? trigram : null;
+                    AttributeMetadata metadata = AttributeMetadata.of(segments, attribute.getJavaType(), searchSegments,
+                            textSearch, scope == Scope.COLLECTION);
+                    attributes.put(metadata.path(), metadata);
+                }
+                case EMBEDDED, MANY_TO_ONE, ONE_TO_ONE -> {
+                    Scope next = scope;
+                    if (attribute.isAssociation() && scope == Scope.ROOT && !ignoredInResponse(attribute)) {
+                        // Associação serializada na resposta: carregada no mesmo SELECT
+                        fetchPaths.add(segments);
+                    } else if (scope == Scope.ROOT) {
+                        next = Scope.NESTED;
+                    }
+                    Class<?> target = attribute.getJavaType();
+                    if (segments.size() < MAX_DEPTH && visiting.add(target)) {
+                        ManagedType<?> targetType = (ManagedType<?>) ((SingularAttribute<?, ?>) attribute).getType();
+                        collect(targetType, segments, next, attributes, fetchPaths, visiting, null);
+                        visiting.remove(target);
+                    }
+                }
+                case ONE_TO_MANY, MANY_TO_MANY, ELEMENT_COLLECTION -> {
+                    Type<?> element = ((PluralAttribute<?, ?, ?>) attribute).getElementType();
+                    Class<?> target = element.getJavaType();
+                    if (element instanceof ManagedType<?> elementType) {
+                        if (segments.size() < MAX_DEPTH && visiting.add(target)) {
+                            collect(elementType, segments, Scope.COLLECTION, attributes, fetchPaths, visiting, null);
+                            visiting.remove(target);
+                        }
+                    } else {
+                        AttributeMetadata metadata = AttributeMetadata.of(segments, target, null, null, true);
+                        attributes.put(metadata.path(), metadata);
+                    }
+                }
+                default -> {
+                    // Outros tipos de atributo não são filtráveis
+                }
+            }
+        }
+    }
+
+    private static boolean ignoredInResponse(Attribute<?, ?> attribute) {
+        return attribute.getJavaMember() instanceof Field field && field.isAnnotationPresent(JsonIgnore.class);
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public Map<String, AttributeMetadata> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Metadados do identificador simples da entidade, usado como desempate na ordenação.
+     */
+    public AttributeMetadata idAttribute() {
+        if (idPath == null) {
+            throw new IllegalArgumentException(
+                    "Entidade " + entityClass.getSimpleName() + " não possui identificador simples");
+        }
+        return attribute(idPath);
+    }
+
+    /**
+     * Associações {@code *ToOne} alcançáveis só por outras associações e serializadas na resposta,
+     * para {@code LEFT JOIN FETCH} quando a consulta devolve a entidade.
+     */
+    public List<List<String>> fetchPaths() {
+        return fetchPaths;
+    }
+
+    public boolean hasJsonAttribute() {
+        return jsonAttribute;
+    }
+
+    /**
+     * Coluna {@link JsonPromoted} do caminho {@code "fabricante.nome"} (sem o prefixo {@code dto.}), ou {@code null}
+     * quando o caminho só existe dentro do JSON.
+     */
+    public AttributeMetadata jsonColumn(String jsonPath) {
+        return jsonColumns.get(jsonPath);
+    }
+
+    /**
+     * Colunas promovidas por caminho dentro de {@code dto}.
+     */
+    public Map<String, AttributeMetadata> getJsonColumns() {
+        return jsonColumns;
+    }
+
+    /**
+     * Busca os metadados de um caminho, rejeitando campos que não existem na entidade.
+     */
+    public AttributeMetadata attribute(String path) {
+        AttributeMetadata metadata = attributes.get(path);
+        if (metadata == null) {
+            throw new IllegalArgumentException(
+                    "Campo '" + path + "' não existe em " + entityClass.getSimpleName());
+        }
+        return metadata;
+    }
+
+    /**
+     * Onde está o atributo visitado: na raiz (ou em associações a partir dela), dentro de um embutido
+     * ou dentro de uma coleção.
+     */
+    private enum Scope {
+        ROOT, NESTED, COLLECTION
+    }
+}
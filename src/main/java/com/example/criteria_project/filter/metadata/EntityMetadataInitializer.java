@@ -0,0 +1,16 @@
+package com.example.criteria_project.filter.metadata;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Monta o {@link EntityMetadataRegistry} a partir do Metamodel assim que o EntityManagerFactory fica pronto.
+ */
+@Component
+public class EntityMetadataInitializer {
+
+    public EntityMetadataInitializer(EntityManagerFactory entityManagerFactory) {
+        EntityMetadataRegistry.register(entityManagerFactory.getMetamodel());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.criteria_project.filter.metadata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+
+/**
+ * Registro global de {@link EntityMetadata} por classe de entidade.
+ * É preenchido uma vez na inicialização por {@link EntityMetadataInitializer}.
+ */
+public final class EntityMetadataRegistry {
+
+    private static final Map<Class<?>, EntityMetadata> ENTITIES = new ConcurrentHashMap<>();
+
+    private EntityMetadataRegistry() {
+    }
+
+    public static void register(Metamodel metamodel) {
+        for (EntityType<?> entityType : metamodel.getEntities()) {
+            ENTITIES.put(entityType.getJavaType(), EntityMetadata.from(entityType));
+        }
+    }
+
+    public static EntityMetadata forEntity(Class<?> entityClass) {
+        EntityMetadata metadata = ENTITIES.get(entityClass);
+        if (metadata == null) {
+            throw new IllegalArgumentException("Entidade não registrada para filtros: " + entityClass.getName());
+        }
+        return metadata;
+    }
+}
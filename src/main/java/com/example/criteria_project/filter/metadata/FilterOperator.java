@@ -0,0 +1,33 @@
+package com.example.criteria_project.filter.metadata;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Operadores aceitos no formato {@code ?campo=operador:valor}.
+ */
+public enum FilterOperator {
+    EQ,
+    NE,
+    GT,
+    GTE,
+    LT,
+    LTE;
+
+    public static final Set<FilterOperator> ALL = EnumSet.allOf(FilterOperator.class);
+    public static final Set<FilterOperator> EQUALITY = EnumSet.of(EQ);
+
+    /**
+     * Interpreta o prefixo do valor. Operadores desconhecidos são tratados como {@link #EQ}.
+     */
+    public static FilterOperator parse(String token) {
+        return switch (token.toLowerCase()) {
+            case "ne" -> NE;
+            case "gt" -> GT;
+            case "gte" -> GTE;
+            case "lt" -> LT;
+            case "lte" -> LTE;
+            default -> EQ;
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.criteria_project.filter.metadata;
+
+import java.lang.reflect.Field;
+
+import org.springframework.util.ReflectionUtils;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+
+/**
+ * Nomes de tabela e coluna no banco, pela mesma regra da estratégia de nomes padrão do Spring Boot
+ * ({@code camelCase -> snake_case}), respeitando {@code @Table(name)} e {@code @Column(name)}.
+ */
+public final class PhysicalNames {
+
+    private PhysicalNames() {
+    }
+
+    public static String table(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        return table != null && !table.name().isEmpty() ? table.name().toLowerCase() : snakeCase(entityClass.getSimpleName());
+    }
+
+    public static String column(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) {
+            return column.name().toLowerCase();
+        }
+        return snakeCase(field.getName());
+    }
+
+    /**
+     * Coluna de um atributo da própria entidade (caminho de um segmento).
+     */
+    public static String column(Class<?> entityClass, String attribute) {
+        Field field = ReflectionUtils.findField(entityClass, attribute);
+        if (field == null) {
+            throw new IllegalArgumentException("Campo '" + attribute + "' não existe em " + entityClass.getSimpleName());
+        }
+        return column(field);
+    }
+
+    private static String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
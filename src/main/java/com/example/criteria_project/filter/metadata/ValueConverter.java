@@ -0,0 +1,10 @@
+package com.example.criteria_project.filter.metadata;
+
+/**
+ * Converte o texto recebido na query string para o tipo Java do atributo.
+ */
+@FunctionalInterface
+public interface ValueConverter {
+
+    Object convert(String value) throws Exception;
+}
@@ -0,0 +1,89 @@
+package com.example.criteria_project.filter.metadata;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Fábrica dos conversores usados pelo {@link EntityMetadata}. A escolha pelo tipo é feita uma
+ * única vez, na construção do registro; na conversão resta só a chamada de parse.
+ */
+public final class ValueConverters {
+
+    private ValueConverters() {
+    }
+
+    public static ValueKind kindOf(Class<?> type) {
+        if (type.equals(String.class)) {
+            return ValueKind.TEXT;
+        }
+        if (isNumericType(type)) {
+            return ValueKind.NUMERIC;
+        }
+        if (type.equals(LocalDate.class) || type.equals(LocalDateTime.class) || type.equals(Date.class)) {
+            return ValueKind.DATE;
+        }
+        if (type.equals(Boolean.class) || type.equals(boolean.class)) {
+            return ValueKind.BOOLEAN;
+        }
+        if (type.isEnum()) {
+            return ValueKind.ENUM;
+        }
+        return ValueKind.OTHER;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static ValueConverter forType(Class<?> type) {
+        return switch (kindOf(type)) {
+            case NUMERIC -> numberConverter(type);
+            case DATE -> dateConverter(type);
+            case BOOLEAN -> Boolean::parseBoolean;
+            case ENUM -> value -> Enum.valueOf((Class<Enum>) type, value);
+            // Texto e tipos não suportados seguem como String
+            case TEXT, OTHER -> value -> value;
+        };
+    }
+
+    private static ValueConverter numberConverter(Class<?> type) {
+        if (type.equals(Integer.class) || type.equals(int.class)) {
+            return Integer::parseInt;
+        } else if (type.equals(Long.class) || type.equals(long.class)) {
+            return Long::parseLong;
+        } else if (type.equals(Double.class) || type.equals(double.class)) {
+            return Double::parseDouble;
+        } else if (type.equals(Float.class) || type.equals(float.class)) {
+            return Float::parseFloat;
+        } else if (type.equals(Short.class) || type.equals(short.class)) {
+            return Short::parseShort;
+        } else if (type.equals(BigDecimal.class)) {
+            return BigDecimal::new;
+        } else if (type.equals(BigInteger.class)) {
+            return BigInteger::new;
+        }
+        throw new UnsupportedOperationException("Tipo numérico não suportado: " + type);
+    }
+
+    private static ValueConverter dateConverter(Class<?> type) {
+        if (type.equals(LocalDate.class)) {
+            return LocalDate::parse;
+        } else if (type.equals(LocalDateTime.class)) {
+            return value -> value.contains("T")
+                    ? LocalDateTime.parse(value)
+                    : LocalDate.parse(value).atStartOfDay();
+        } else if (type.equals(Date.class)) {
+            // SimpleDateFormat não é thread-safe, então cada conversão usa sua própria instância
+            return value -> new SimpleDateFormat("yyyy-MM-dd").parse(value);
+        }
+        throw new UnsupportedOperationException("Tipo de data não suportado: " + type);
+    }
+
+    private static boolean isNumericType(Class<?> type) {
+        return type.equals(Integer.class) || type.equals(int.class) || type.equals(Long.class)
+                || type.equals(long.class) || type.equals(Double.class) || type.equals(double.class)
+                || type.equals(Float.class) || type.equals(float.class) || type.equals(Short.class)
+                || type.equals(short.class) || type.equals(BigDecimal.class) || type.equals(BigInteger.class);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.criteria_project.filter.metadata;
+
+/**
+ * Categoria de valor de um atributo filtrável. Define como os valores da query string
+ * são convertidos e quais operadores fazem sentido.
+ */
+public enum ValueKind {
+    TEXT,
+    NUMERIC,
+    DATE,
+    BOOLEAN,
+    ENUM,
+    OTHER
+}
@@ -0,0 +1,30 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Conjunção (E) de nós. Sem filhos, equivale a {@code cb.conjunction()}.
+ */
+public record AndNode(List<FilterNode> children) implements FilterNode {
+
+    public AndNode {
+        children = List.copyOf(children);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (children.isEmpty()) {
+            return cb.conjunction();
+        }
+        Predicate[] predicates = new Predicate[children.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = children.get(i).toPredicate(root, query, cb);
+        }
+        return cb.and(predicates);
+    }
+}
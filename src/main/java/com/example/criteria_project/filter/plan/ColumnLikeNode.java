@@ -0,0 +1,34 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * {@code LIKE} direto sobre uma coluna já normalizada (sem funções aplicadas por linha).
+ * Padrões sem curinga inicial ({@code valor%}) podem usar o índice da coluna. Os valores formam um OU.
+ */
+public record ColumnLikeNode(List<String> path, List<String> patterns) implements FilterNode {
+
+    public ColumnLikeNode {
+        path = List.copyOf(path);
+        patterns = List.copyOf(patterns);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return FilterPaths.where(root, query, cb, path, target -> {
+            Expression<String> column = (Expression<String>) target;
+            Predicate[] predicates = new Predicate[patterns.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                predicates[i] = cb.like(column, patterns.get(i));
+            }
+            return cb.or(predicates);
+        });
+    }
+}
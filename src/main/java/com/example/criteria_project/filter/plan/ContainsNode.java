@@ -0,0 +1,33 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Busca textual "contém", sem acentos e sem diferenciar maiúsculas.
+ * Os padrões já estão normalizados no formato {@code %valor%}; os valores formam um OU.
+ */
+public record ContainsNode(List<String> path, List<String> patterns) implements FilterNode {
+
+    public ContainsNode {
+        path = List.copyOf(path);
+        patterns = List.copyOf(patterns);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return FilterPaths.where(root, query, cb, path, target -> {
+            Expression<String> expression = FilterPaths.unaccentLower(cb, target);
+            Predicate[] predicates = new Predicate[patterns.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                predicates[i] = cb.like(expression, patterns.get(i));
+            }
+            return cb.or(predicates);
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Igualdade contra qualquer um dos valores já convertidos para o tipo do campo.
+ * Com mais de um valor vira um único {@code IN (...)}, completado até a próxima potência de 2.
+ */
+public record EqualsNode(List<String> path, List<Object> values) implements FilterNode {
+
+    public EqualsNode {
+        path = List.copyOf(path);
+        values = List.copyOf(values);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return FilterPaths.where(root, query, cb, path,
+                target -> values.size() == 1 ? cb.equal(target, values.get(0)) : target.in(FilterPaths.padded(values)));
+    }
+}
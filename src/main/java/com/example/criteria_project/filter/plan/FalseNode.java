@@ -0,0 +1,20 @@
+package com.example.criteria_project.filter.plan;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Filtro que nunca é satisfeito, produzido pelo {@link FilterPlanOptimizer} ao encontrar
+ * condições contraditórias (por exemplo {@code gt:10} e {@code lt:5} no mesmo campo).
+ */
+public record FalseNode() implements FilterNode {
+
+    public static final FalseNode INSTANCE = new FalseNode();
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return cb.disjunction();
+    }
+}
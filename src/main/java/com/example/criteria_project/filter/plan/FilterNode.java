@@ -0,0 +1,17 @@
+package com.example.criteria_project.filter.plan;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Nó imutável da árvore de um {@link FilterPlan}.
+ * Os valores já chegam convertidos; só o {@link Predicate} JPA é criado a cada chamada.
+ */
+public sealed interface FilterNode
+        permits AndNode, OrNode, ContainsNode, ColumnLikeNode, TextInNode, EqualsNode, RangeNode,
+        JsonContainsNode, TrigramNode, FalseNode {
+
+    Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb);
+}
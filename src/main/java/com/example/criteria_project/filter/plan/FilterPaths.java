@@ -0,0 +1,210 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+
+/**
+ * Utilitários de navegação e expressões compartilhados pelos nós do plano.
+ * <p>
+ * Associações em caminhos pontuados viram joins explícitos, reaproveitados por consulta: cada origem guarda
+ * seus joins, então {@code fornecedor.nome} e {@code fornecedor.cidade} (inclusive em grupos OU diferentes, e
+ * na ordenação feita pelo Spring Data) usam o mesmo join. Associações opcionais usam {@code LEFT JOIN}, para
+ * que um OU não perca linhas sem a associação; obrigatórias usam {@code INNER JOIN}.
+ */
+public final class FilterPaths {
+
+    private FilterPaths() {
+    }
+
+    /**
+     * Navega um caminho já separado em segmentos ("a.b.c" -> [a, b, c]), reaproveitando os joins da origem.
+     * Caminhos que atravessam coleções só podem ser usados por {@link #where}.
+     */
+    public static Path<?> navigate(From<?, ?> from, List<String> segments) {
+        return navigate(from, segments, null);
+    }
+
+    /**
+     * Como {@link #navigate(From, List)}, mas com o tipo de join escolhido pelo chamador
+     * ({@code null} decide pela opcionalidade da associação).
+     */
+    public static Path<?> navigate(From<?, ?> from, List<String> segments, JoinType joinType) {
+        Path<?> path = from;
+        ManagedType<?> type = managedType(from);
+        for (String segment : segments) {
+            Attribute<?, ?> attribute = type != null ? type.getAttribute(segment) : null;
+            if (attribute != null && attribute.isCollection()) {
+                throw new IllegalArgumentException("Campo '" + String.join(".", segments)
+                        + "' atravessa uma coleção e não pode ser selecionado ou ordenado");
+            }
+            if (attribute != null && attribute.isAssociation() && path instanceof From<?, ?> owner) {
+                path = join(owner, attribute, joinType);
+            } else {
+                path = path.get(segment);
+            }
+            type = attribute != null ? managedType(attribute) : null;
+        }
+        return path;
+    }
+
+    /**
+     * Aplica {@code condition} ao fim do caminho. Ao cruzar uma coleção ({@code itens.sku}), a condição vai para
+     * um {@code EXISTS} correlacionado em vez de um join: a consulta principal continua com uma linha por
+     * entidade, sem {@code DISTINCT}. Todas as condições de um mesmo nó valem para o mesmo elemento.
+     */
+    public static Predicate where(From<?, ?> from, AbstractQuery<?> query, CriteriaBuilder cb, List<String> segments,
+                                  Function<Path<?>, Predicate> condition) {
+        Path<?> path = from;
+        ManagedType<?> type = managedType(from);
+        for (int i = 0; i < segments.size(); i++) {
+            Attribute<?, ?> attribute = type != null ? type.getAttribute(segments.get(i)) : null;
+            if (attribute != null && attribute.isCollection() && path instanceof From<?, ?> owner) {
+                Subquery<Integer> subquery = query.subquery(Integer.class);
+                Join<?, ?> element = correlate(subquery, owner).join(attribute.getName());
+                Predicate inner = where(element, subquery, cb, segments.subList(i + 1, segments.size()), condition);
+                return cb.exists(subquery.select(cb.literal(1)).where(inner));
+            }
+            if (attribute != null && attribute.isAssociation() && path instanceof From<?, ?> owner) {
+                path = join(owner, attribute, null);
+            } else {
+                path = path.get(segments.get(i));
+            }
+            type = attribute != null ? managedType(attribute) : null;
+        }
+        return condition.apply(path);
+    }
+
+    /**
+     * Carrega as associações {@code *ToOne} indicadas na mesma consulta ({@code LEFT JOIN FETCH}), evitando uma
+     * consulta por linha na serialização. Só faz sentido quando a consulta devolve a própria entidade.
+     */
+    public static void fetch(Root<?> root, List<List<String>> associations) {
+        for (List<String> association : associations) {
+            FetchParent<?, ?> parent = root;
+            for (String segment : association) {
+                parent = fetch(parent, segment);
+            }
+        }
+    }
+
+    private static FetchParent<?, ?> fetch(FetchParent<?, ?> parent, String attribute) {
+        for (Fetch<?, ?> existing : parent.getFetches()) {
+            if (existing.getAttribute().getName().equals(attribute)) {
+                return (FetchParent<?, ?>) existing;
+            }
+        }
+        return (FetchParent<?, ?>) parent.fetch(attribute, JoinType.LEFT);
+    }
+
+    private static Join<?, ?> join(From<?, ?> owner, Attribute<?, ?> attribute, JoinType requested) {
+        JoinType joinType = requested != null ? requested
+                : attribute instanceof SingularAttribute<?, ?> singular && !singular.isOptional()
+                ? JoinType.INNER
+                : JoinType.LEFT;
+        for (Join<?, ?> existing : owner.getJoins()) {
+            if (existing.getAttribute().getName().equals(attribute.getName()) && existing.getJoinType() == joinType) {
+                return existing;
+            }
+        }
+        // Associações já carregadas por fetch join também servem de join
+        for (Fetch<?, ?> existing : owner.getFetches()) {
+            if (existing.getAttribute().getName().equals(attribute.getName()) && existing.getJoinType() == joinType
+                    && existing instanceof Join<?, ?> join) {
+                return join;
+            }
+        }
+        return owner.join(attribute.getName(), joinType);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static From<?, ?> correlate(Subquery<?> subquery, From<?, ?> owner) {
+        if (owner instanceof Root<?> root) {
+            return subquery.correlate((Root) root);
+        }
+        return subquery.correlate((Join) owner);
+    }
+
+    private static ManagedType<?> managedType(From<?, ?> from) {
+        if (from instanceof Root<?> root) {
+            return root.getModel();
+        }
+        return from instanceof Join<?, ?> join ? managedType(join.getAttribute()) : null;
+    }
+
+    private static ManagedType<?> managedType(Attribute<?, ?> attribute) {
+        Type<?> type = attribute instanceof PluralAttribute<?, ?, ?> plural ? plural.getElementType()
+                : attribute instanceof SingularAttribute<?, ?> singular ? singular.getType()
+                : null;
+        return type instanceof ManagedType<?> managed ? managed : null;
+    }
+
+    /**
+     * Repete o último valor até a próxima potência de 2 (1, 2, 4, 8, 16...), para que listas {@code IN} de tamanhos
+     * próximos gerem o mesmo SQL e reaproveitem a instrução preparada; valores repetidos não mudam o {@code IN}.
+     * Só para {@code IN}: em listas de LIKE cada cópia seria mais um predicado avaliado em cada linha.
+     */
+    public static <T> List<T> padded(List<T> values) {
+        int size = values.size();
+        int bucket = size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+        if (bucket == size) {
+            return values;
+        }
+        List<T> padded = new ArrayList<>(bucket);
+        padded.addAll(values);
+        while (padded.size() < bucket) {
+            padded.add(values.get(size - 1));
+        }
+        return padded;
+    }
+
+    public static Expression<String> unaccentLower(CriteriaBuilder cb, Expression<?> expression) {
+        return cb.function("unaccent", String.class, cb.function("lower", String.class, expression.as(String.class)));
+    }
+
+    /**
+     * {@code LIKE} do SQL: {@code %} casa qualquer sequência e {@code _} um único caractere.
+     */
+    public static boolean like(String value, String pattern) {
+        int v = 0;
+        int p = 0;
+        int starP = -1;
+        int starV = 0;
+        while (v < value.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '_' || pattern.charAt(p) == value.charAt(v))) {
+                v++;
+                p++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '%') {
+                starP = p++;
+                starV = v;
+            } else if (starP >= 0) {
+                p = starP + 1;
+                v = ++starV;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '%') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+}
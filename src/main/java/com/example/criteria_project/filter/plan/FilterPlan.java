@@ -0,0 +1,81 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Resultado imutável da interpretação dos parâmetros de filtro.
+ * <p>
+ * A string de consulta é lida, separada e convertida uma única vez; o plano pode então
+ * ser reaproveitado por várias requisições e por várias chamadas de {@code toPredicate}
+ * (o Spring Data chama a Specification para a consulta de dados e para a de contagem).
+ */
+public final class FilterPlan {
+
+    private final Class<?> entityClass;
+    private final Map<String, List<String>> filters;
+    private final FilterNode root;
+    private final String shape;
+    private final boolean crossesCollection;
+
+    public FilterPlan(Class<?> entityClass, Map<String, List<String>> filters, FilterNode root) {
+        this(entityClass, filters, root, false);
+    }
+
+    public FilterPlan(Class<?> entityClass, Map<String, List<String>> filters, FilterNode root,
+                      boolean crossesCollection) {
+        this.entityClass = entityClass;
+        this.filters = Map.copyOf(filters);
+        this.root = root;
+        this.shape = QueryShape.of(this.filters);
+        this.crossesCollection = crossesCollection;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Parâmetros de filtro normalizados que originaram o plano (sem paginação/ordenação).
+     * Servem de chave para caches que dependem apenas do filtro.
+     */
+    public Map<String, List<String>> getFilters() {
+        return filters;
+    }
+
+    /**
+     * Forma da consulta (campos e operadores, sem valores), ver {@link QueryShape}.
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    /**
+     * Indica que algum filtro atravessa uma coleção ({@code EXISTS}); o estado de uma única linha
+     * não basta para saber se ela atende.
+     */
+    public boolean crossesCollection() {
+        return crossesCollection;
+    }
+
+    public FilterNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Indica que o filtro é contraditório (ex.: {@code estoque=gt:100&estoque=lt:50})
+     * e nenhuma linha pode satisfazê-lo, dispensando a ida ao banco.
+     */
+    public boolean isAlwaysEmpty() {
+        return root instanceof FalseNode;
+    }
+
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return this.root.toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache LRU limitado de {@link FilterPlan}s, indexado pela consulta normalizada
+ * (entidade + parâmetros de filtro, sem depender da ordem das chaves).
+ */
+public class FilterPlanCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<Key, FilterPlan> plans;
+
+    public FilterPlanCache(int capacity) {
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, FilterPlan> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Devolve o plano em cache ou compila um novo. A compilação acontece fora do lock,
+     * então duas threads podem compilar o mesmo plano ao mesmo tempo; a última vence.
+     */
+    public FilterPlan get(Class<?> entityClass, Map<String, List<String>> filters, Supplier<FilterPlan> compiler) {
+        Key key = new Key(entityClass, filters);
+        FilterPlan plan;
+        synchronized (plans) {
+            plan = plans.get(key);
+        }
+        if (plan == null) {
+            plan = compiler.get();
+            synchronized (plans) {
+                plans.put(key, plan);
+            }
+        }
+        return plan;
+    }
+
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (plans) {
+            plans.clear();
+        }
+    }
+
+    private record Key(Class<?> entityClass, Map<String, List<String>> filters) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simplifica a árvore de filtros antes da geração do Criteria:
+ * <ul>
+ *     <li>achata E/OU aninhados e remove filhos repetidos;</li>
+ *     <li>junta igualdades sobre o mesmo campo dentro de um OU em um único {@code IN};</li>
+ *     <li>junta intervalos sobre o mesmo campo dentro de um E e detecta contradições
+ *     ({@code gt:10&lt:5}, {@code eq:1&eq:2}), que viram {@link FalseNode};</li>
+ *     <li>propaga constantes: E com {@link FalseNode} é falso, OU vazio é falso, E vazio é verdadeiro.</li>
+ * </ul>
+ * Árvores com o mesmo significado produzem o mesmo SQL, o que também ajuda o cache de planos do banco.
+ */
+public final class FilterPlanOptimizer {
+
+    private FilterPlanOptimizer() {
+    }
+
+    public static FilterNode optimize(FilterNode node) {
+        if (node instanceof AndNode and) {
+            return optimizeAnd(and);
+        }
+        if (node instanceof OrNode or) {
+            return optimizeOr(or);
+        }
+        if (node instanceof RangeNode range) {
+            return optimizeRange(range);
+        }
+        if (node instanceof EqualsNode equals) {
+            return new EqualsNode(equals.path(), distinct(equals.values()));
+        }
+        if (node instanceof TextInNode textIn) {
+            return new TextInNode(textIn.path(), distinct(textIn.values()));
+        }
+        return node;
+    }
+
+    private static FilterNode optimizeAnd(AndNode and) {
+        List<FilterNode> flat = new ArrayList<>();
+        for (FilterNode child : and.children()) {
+            // Intervalos só são reduzidos depois de combinados com os demais do mesmo campo
+            FilterNode optimized = child instanceof RangeNode ? child : optimize(child);
+            if (optimized instanceof FalseNode) {
+                return FalseNode.INSTANCE;
+            }
+            if (optimized instanceof AndNode nested) {
+                flat.addAll(nested.children());
+            } else {
+                flat.add(optimized);
+            }
+        }
+
+        // Intervalos sobre o mesmo campo viram um só
+        Map<List<String>, RangeNode> ranges = new LinkedHashMap<>();
+        List<FilterNode> children = new ArrayList<>();
+        for (FilterNode child : flat) {
+            if (child instanceof RangeNode range) {
+                RangeNode previous = ranges.get(range.path());
+                ranges.put(range.path(), previous == null ? range : intersect(previous, range));
+            } else {
+                children.add(child);
+            }
+        }
+        for (RangeNode range : ranges.values()) {
+            FilterNode optimized = optimizeRange(range);
+            if (optimized instanceof FalseNode) {
+                return FalseNode.INSTANCE;
+            }
+            children.add(optimized);
+        }
+
+        List<FilterNode> unique = List.copyOf(new LinkedHashSet<>(children));
+        return unique.size() == 1 ? unique.get(0) : new AndNode(unique);
+    }
+
+    private static FilterNode optimizeOr(OrNode or) {
+        List<FilterNode> flat = new ArrayList<>();
+        for (FilterNode child : or.children()) {
+            FilterNode optimized = optimize(child);
+            if (optimized instanceof AndNode and && and.children().isEmpty()) {
+                // OU com um ramo sempre verdadeiro é sempre verdadeiro
+                return optimized;
+            }
+            if (optimized instanceof FalseNode) {
+                continue;
+            }
+            if (optimized instanceof OrNode nested) {
+                flat.addAll(nested.children());
+            } else {
+                flat.add(optimized);
+            }
+        }
+
+        // Igualdades e padrões sobre o mesmo campo são unidos em um único nó
+        Map<Object, FilterNode> merged = new LinkedHashMap<>();
+        for (FilterNode child : flat) {
+            Object key = mergeKey(child);
+            FilterNode previous = merged.get(key);
+            merged.put(key, previous == null ? child : union(previous, child));
+        }
+
+        List<FilterNode> children = new ArrayList<>(merged.values());
+        if (children.isEmpty()) {
+            return FalseNode.INSTANCE;
+        }
+        return children.size() == 1 ? children.get(0) : new OrNode(children);
+    }
+
+    private static Object mergeKey(FilterNode node) {
+        if (node instanceof EqualsNode equals) {
+            return List.of(EqualsNode.class, equals.path());
+        }
+        if (node instanceof TextInNode textIn) {
+            return List.of(TextInNode.class, textIn.path());
+        }
+        if (node instanceof ContainsNode contains) {
+            return List.of(ContainsNode.class, contains.path());
+        }
+        if (node instanceof ColumnLikeNode like) {
+            return List.of(ColumnLikeNode.class, like.path());
+        }
+        return node;
+    }
+
+    private static FilterNode union(FilterNode left, FilterNode right) {
+        if (left instanceof EqualsNode a && right instanceof EqualsNode b) {
+            return new EqualsNode(a.path(), distinct(concat(a.values(), b.values())));
+        }
+        if (left instanceof TextInNode a && right instanceof TextInNode b) {
+            return new TextInNode(a.path(), distinct(concat(a.values(), b.values())));
+        }
+        if (left instanceof ContainsNode a && right instanceof ContainsNode b) {
+            return new ContainsNode(a.path(), distinct(concat(a.patterns(), b.patterns())));
+        }
+        if (left instanceof ColumnLikeNode a && right instanceof ColumnLikeNode b) {
+            return new ColumnLikeNode(a.path(), distinct(concat(a.patterns(), b.patterns())));
+        }
+        // Nós idênticos
+        return left;
+    }
+
+    private static RangeNode intersect(RangeNode a, RangeNode b) {
+        Bound min = tighter(new Bound(a.min(), a.minInclusive()), new Bound(b.min(), b.minInclusive()), true);
+        Bound max = tighter(new Bound(a.max(), a.maxInclusive()), new Bound(b.max(), b.maxInclusive()), false);
+        return new RangeNode(a.path(), min.value(), min.inclusive(), max.value(), max.inclusive(),
+                concat(a.equalTo(), b.equalTo()), concat(a.notEqualTo(), b.notEqualTo()),
+                concat(a.patterns(), b.patterns()));
+    }
+
+    /**
+     * Verifica contradições e reduz o intervalo: uma igualdade dentro dos limites substitui o intervalo
+     * inteiro, {@code gte:x&lte:x} vira igualdade e diferenças fora dos limites são descartadas.
+     */
+    private static FilterNode optimizeRange(RangeNode range) {
+        Comparable<?> min = range.min();
+        Comparable<?> max = range.max();
+        List<Object> equalTo = distinctByValue(range.equalTo());
+
+        if (min != null && max != null) {
+            int cmp = compare(min, max);
+            if (cmp > 0 || (cmp == 0 && !(range.minInclusive() && range.maxInclusive()))) {
+                return FalseNode.INSTANCE;
+            }
+            if (cmp == 0 && equalTo.isEmpty()) {
+                equalTo = List.of(min);
+            }
+        }
+
+        if (equalTo.size() > 1) {
+            return FalseNode.INSTANCE;
+        }
+        if (equalTo.size() == 1) {
+            Object value = equalTo.get(0);
+            if (!within(value, range) || containsByValue(range.notEqualTo(), value)) {
+                return FalseNode.INSTANCE;
+            }
+            if (range.patterns().isEmpty()) {
+                return new EqualsNode(range.path(), equalTo);
+            }
+            return new RangeNode(range.path(), null, true, null, true, equalTo, List.of(), range.patterns());
+        }
+
+        List<Object> notEqualTo = new ArrayList<>();
+        for (Object value : distinctByValue(range.notEqualTo())) {
+            if (within(value, range)) {
+                notEqualTo.add(value);
+            }
+        }
+        return new RangeNode(range.path(), min, range.minInclusive(), max, range.maxInclusive(), List.of(),
+                notEqualTo, distinct(range.patterns()));
+    }
+
+    private static boolean within(Object value, RangeNode range) {
+        if (range.min() != null) {
+            int cmp = compare(value, range.min());
+            if (cmp < 0 || (cmp == 0 && !range.minInclusive())) {
+                return false;
+            }
+        }
+        if (range.max() != null) {
+            int cmp = compare(value, range.max());
+            if (cmp > 0 || (cmp == 0 && !range.maxInclusive())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Bound tighter(Bound a, Bound b, boolean lower) {
+        if (a.value() == null) {
+            return b;
+        }
+        if (b.value() == null) {
+            return a;
+        }
+        int cmp = compare(a.value(), b.value());
+        if (cmp == 0) {
+            return new Bound(a.value(), a.inclusive() && b.inclusive());
+        }
+        return (cmp > 0) == lower ? a : b;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private static <T> List<T> concat(List<? extends T> a, List<? extends T> b) {
+        List<T> all = new ArrayList<>(a);
+        all.addAll(b);
+        return all;
+    }
+
+    private static <T> List<T> distinct(List<T> values) {
+        return List.copyOf(new LinkedHashSet<>(values));
+    }
+
+    /**
+     * Como {@link #distinct}, mas por {@code compareTo}: {@code 350} e {@code 350.00} são o mesmo valor, embora
+     * {@code BigDecimal.equals} considere a escala.
+     */
+    private static List<Object> distinctByValue(List<Object> values) {
+        List<Object> distinct = new ArrayList<>();
+        for (Object value : values) {
+            if (!containsByValue(distinct, value)) {
+                distinct.add(value);
+            }
+        }
+        return distinct;
+    }
+
+    private static boolean containsByValue(List<Object> values, Object value) {
+        for (Object candidate : values) {
+            if (compare(candidate, value) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Bound(Comparable<?> value, boolean inclusive) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Busca "contém" em um caminho da coluna JSONB {@code dto}. Todos os padrões precisam casar (E).
+ */
+public record JsonContainsNode(List<String> jsonPath, List<String> patterns) implements FilterNode {
+
+    public JsonContainsNode {
+        jsonPath = List.copyOf(jsonPath);
+        patterns = List.copyOf(patterns);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Expression<?>[] args = new Expression[jsonPath.size() + 1];
+        args[0] = root.get("dto");
+        for (int i = 0; i < jsonPath.size(); i++) {
+            // Segmentos como parâmetros: caminhos diferentes com o mesmo tamanho geram o mesmo SQL
+            args[i + 1] = ((HibernateCriteriaBuilder) cb).value(jsonPath.get(i));
+        }
+        Expression<String> jsonExpr = cb.function("jsonb_extract_path_text", String.class, args);
+        Expression<String> expression = FilterPaths.unaccentLower(cb, jsonExpr);
+
+        Predicate[] predicates = new Predicate[patterns.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = cb.like(expression, patterns.get(i));
+        }
+        return cb.and(predicates);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Disjunção (OU) de nós, usada pelas chaves separadas por {@code !}.
+ */
+public record OrNode(List<FilterNode> children) implements FilterNode {
+
+    public OrNode {
+        children = List.copyOf(children);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate[] predicates = new Predicate[children.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = children.get(i).toPredicate(root, query, cb);
+        }
+        return cb.or(predicates);
+    }
+}
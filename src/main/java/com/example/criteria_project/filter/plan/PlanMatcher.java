@@ -0,0 +1,102 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.example.criteria_project.filter.search.SearchNormalizationListener;
+
+/**
+ * Avalia um plano em memória contra o estado de uma linha, de forma conservadora:
+ * devolve {@code false} apenas quando a linha certamente não atende ao filtro.
+ * Nós que dependem de dados fora da linha (trigramas, JSON) são tratados como "pode atender".
+ */
+public final class PlanMatcher {
+
+    private PlanMatcher() {
+    }
+
+    /**
+     * @param values lê o valor de um caminho ({@code [a, b]} para {@code a.b}) na linha avaliada
+     */
+    public static boolean mightMatch(FilterNode node, Function<List<String>, Object> values) {
+        if (node instanceof AndNode and) {
+            return and.children().stream().allMatch(child -> mightMatch(child, values));
+        }
+        if (node instanceof OrNode or) {
+            return or.children().stream().anyMatch(child -> mightMatch(child, values));
+        }
+        if (node instanceof FalseNode) {
+            return false;
+        }
+        if (node instanceof EqualsNode equals) {
+            Object value = values.apply(equals.path());
+            return value != null && equals.values().stream().anyMatch(candidate -> same(value, candidate));
+        }
+        if (node instanceof TextInNode textIn) {
+            String value = normalized(values.apply(textIn.path()));
+            return value != null && textIn.values().contains(value);
+        }
+        if (node instanceof ContainsNode contains) {
+            String value = normalized(values.apply(contains.path()));
+            return value != null && contains.patterns().stream().anyMatch(pattern -> FilterPaths.like(value, pattern));
+        }
+        if (node instanceof ColumnLikeNode columnLike) {
+            Object value = values.apply(columnLike.path());
+            return value != null
+                    && columnLike.patterns().stream().anyMatch(pattern -> FilterPaths.like(value.toString(), pattern));
+        }
+        if (node instanceof RangeNode range) {
+            return matchesRange(range, values.apply(range.path()));
+        }
+        return true;
+    }
+
+    private static boolean matchesRange(RangeNode range, Object value) {
+        if (value == null) {
+            return false;
+        }
+        for (Object expected : range.equalTo()) {
+            if (!same(value, expected)) {
+                return false;
+            }
+        }
+        for (Object excluded : range.notEqualTo()) {
+            if (same(value, excluded)) {
+                return false;
+            }
+        }
+        if (range.min() != null) {
+            int cmp = compare(value, range.min());
+            if (cmp < 0 || (cmp == 0 && !range.minInclusive())) {
+                return false;
+            }
+        }
+        if (range.max() != null) {
+            int cmp = compare(value, range.max());
+            if (cmp > 0 || (cmp == 0 && !range.maxInclusive())) {
+                return false;
+            }
+        }
+        String text = normalized(value);
+        return range.patterns().stream().allMatch(pattern -> FilterPaths.like(text, pattern));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object value, Object bound) {
+        return ((Comparable<Object>) value).compareTo(bound);
+    }
+
+    /**
+     * Igualdade como no banco: {@code 350.00} e {@code 350.0} são o mesmo {@code BigDecimal}.
+     */
+    private static boolean same(Object value, Object candidate) {
+        if (value instanceof Comparable<?> && value.getClass().equals(candidate.getClass())) {
+            return compare(value, candidate) == 0;
+        }
+        return value.equals(candidate);
+    }
+
+    private static String normalized(Object value) {
+        return value == null ? null : SearchNormalizationListener.normalize(value.toString());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Impressão digital da "forma" de um filtro: campos e operadores, sem os valores.
+ * <p>
+ * {@code ?estoque=gte:10&estoque=lte:50&nome=*mesa} e {@code ?nome=*cadeira&estoque=lte:5&estoque=gte:1}
+ * têm a mesma forma, {@code estoque=gte,lte&nome=contains}. Serve para agrupar métricas e logs
+ * por tipo de consulta sem explodir a cardinalidade com valores.
+ */
+public final class QueryShape {
+
+    public static final String NONE = "none";
+
+    private QueryShape() {
+    }
+
+    public static String of(Map<String, List<String>> filters) {
+        if (filters.isEmpty()) {
+            return NONE;
+        }
+        Map<String, Set<String>> operators = new TreeMap<>();
+        filters.forEach((key, values) -> {
+            Set<String> ops = operators.computeIfAbsent(key, k -> new TreeSet<>());
+            for (String value : values) {
+                ops.add(operatorOf(value));
+            }
+        });
+
+        StringJoiner shape = new StringJoiner("&");
+        operators.forEach((key, ops) -> shape.add(key + "=" + String.join(",", ops)));
+        return shape.toString();
+    }
+
+    private static String operatorOf(String value) {
+        int separator = value.indexOf(':');
+        if (separator > 0) {
+            String prefix = value.substring(0, separator).toLowerCase();
+            if (prefix.equals("eq") || prefix.equals("ne") || prefix.equals("gt") || prefix.equals("gte")
+                    || prefix.equals("lt") || prefix.equals("lte")) {
+                return prefix;
+            }
+        }
+        if (value.contains("!")) {
+            return "in";
+        }
+        if (value.startsWith("*")) {
+            return "contains";
+        }
+        return "eq";
+    }
+}
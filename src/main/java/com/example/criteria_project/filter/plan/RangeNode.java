@@ -0,0 +1,68 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Filtro com operadores ({@code eq/ne/gt/gte/lt/lte}) para campos numéricos e de data.
+ * Os limites já vêm consolidados em um único mínimo/máximo; todas as condições formam um E.
+ * Valores de data que não puderam ser interpretados viram padrões de busca textual.
+ */
+public record RangeNode(List<String> path, Comparable<?> min, boolean minInclusive, Comparable<?> max,
+                        boolean maxInclusive, List<Object> equalTo, List<Object> notEqualTo,
+                        List<String> patterns) implements FilterNode {
+
+    public RangeNode {
+        path = List.copyOf(path);
+        equalTo = List.copyOf(equalTo);
+        notEqualTo = List.copyOf(notEqualTo);
+        patterns = List.copyOf(patterns);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return FilterPaths.where(root, query, cb, path, target -> toPredicate(target, cb));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate toPredicate(Path<?> target, CriteriaBuilder cb) {
+        Expression<Comparable> comparable = (Expression<Comparable>) target;
+        List<Predicate> predicates = new ArrayList<>();
+
+        for (Object value : equalTo) {
+            predicates.add(cb.equal(target, value));
+        }
+        if (notEqualTo.size() == 1) {
+            predicates.add(cb.notEqual(target, notEqualTo.get(0)));
+        } else if (!notEqualTo.isEmpty()) {
+            predicates.add(cb.not(target.in(FilterPaths.padded(notEqualTo))));
+        }
+        for (String pattern : patterns) {
+            predicates.add(cb.like(FilterPaths.unaccentLower(cb, target), pattern));
+        }
+
+        if (min != null && max != null && minInclusive && maxInclusive) {
+            predicates.add(cb.between(comparable, (Comparable) min, (Comparable) max));
+        } else {
+            if (min != null) {
+                predicates.add(minInclusive
+                        ? cb.greaterThanOrEqualTo(comparable, (Comparable) min)
+                        : cb.greaterThan(comparable, (Comparable) min));
+            }
+            if (max != null) {
+                predicates.add(maxInclusive
+                        ? cb.lessThanOrEqualTo(comparable, (Comparable) max)
+                        : cb.lessThan(comparable, (Comparable) max));
+            }
+        }
+
+        return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
+    }
+}
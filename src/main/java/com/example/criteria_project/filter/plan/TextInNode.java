@@ -0,0 +1,29 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Igualdade textual contra qualquer um dos valores ({@code ?campo=a!b}), sem acentos
+ * e sem diferenciar maiúsculas. Com mais de um valor vira um único {@code IN (...)}.
+ */
+public record TextInNode(List<String> path, List<String> values) implements FilterNode {
+
+    public TextInNode {
+        path = List.copyOf(path);
+        values = List.copyOf(values);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return FilterPaths.where(root, query, cb, path, target -> {
+            Expression<String> expression = FilterPaths.unaccentLower(cb, target);
+            return values.size() == 1 ? cb.equal(expression, values.get(0)) : expression.in(FilterPaths.padded(values));
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.criteria_project.filter.plan;
+
+import java.util.List;
+
+import com.example.criteria_project.filter.search.TextTrigram;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Restringe o id da entidade aos registros que possuem todos os trigramas do termo:
+ * {@code id IN (SELECT entityId FROM TextTrigram WHERE gram IN (...) GROUP BY entityId HAVING COUNT(*) = n)}.
+ */
+public record TrigramNode(List<String> idPath, String entityName, String fieldName, List<String> grams)
+        implements FilterNode {
+
+    public TrigramNode {
+        idPath = List.copyOf(idPath);
+        grams = List.copyOf(grams);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Subquery<Long> candidates = query.subquery(Long.class);
+        Root<TextTrigram> trigram = candidates.from(TextTrigram.class);
+        candidates.select(trigram.get("entityId"))
+                .where(cb.equal(trigram.get("entityName"), entityName),
+                        cb.equal(trigram.get("fieldName"), fieldName),
+                        trigram.get("gram").in(FilterPaths.padded(grams)))
+                .groupBy(trigram.get("entityId"))
+                .having(cb.equal(cb.count(trigram), (long) grams.size()));
+        return FilterPaths.navigate(root, idPath).in(candidates);
+    }
+}
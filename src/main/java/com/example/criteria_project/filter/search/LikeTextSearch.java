@@ -0,0 +1,22 @@
+package com.example.criteria_project.filter.search;
+
+import java.util.List;
+
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.plan.FilterNode;
+
+/**
+ * Estratégia padrão: apenas o {@code LIKE '%termo%'}, sem índice auxiliar.
+ */
+public final class LikeTextSearch implements TextSearchStrategy {
+
+    public static final LikeTextSearch INSTANCE = new LikeTextSearch();
+
+    private LikeTextSearch() {
+    }
+
+    @Override
+    public FilterNode contains(AttributeMetadata attribute, List<String> terms, FilterNode exact) {
+        return exact;
+    }
+}
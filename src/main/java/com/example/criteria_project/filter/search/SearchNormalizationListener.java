@@ -0,0 +1,59 @@
+package com.example.criteria_project.filter.search;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Atualiza as colunas sombra dos campos anotados com {@link SearchNormalized} antes de cada escrita.
+ */
+public class SearchNormalizationListener {
+
+    private static final Map<Class<?>, List<Field[]>> FIELDS = new ConcurrentHashMap<>();
+
+    @PrePersist
+    @PreUpdate
+    public void normalize(Object entity) {
+        for (Field[] pair : FIELDS.computeIfAbsent(entity.getClass(), SearchNormalizationListener::resolve)) {
+            try {
+                Object value = pair[0].get(entity);
+                pair[1].set(entity, value == null ? null : normalize(value.toString()));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Não foi possível normalizar o campo " + pair[0].getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Mesma normalização aplicada aos valores de filtro: minúsculas e sem acentos.
+     */
+    public static String normalize(String value) {
+        return TextFolding.fold(value);
+    }
+
+    private static List<Field[]> resolve(Class<?> type) {
+        List<Field[]> pairs = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                SearchNormalized annotation = field.getAnnotation(SearchNormalized.class);
+                if (annotation != null) {
+                    try {
+                        Field shadow = current.getDeclaredField(annotation.shadow());
+                        field.setAccessible(true);
+                        shadow.setAccessible(true);
+                        pairs.add(new Field[]{field, shadow});
+                    } catch (NoSuchFieldException e) {
+                        throw new IllegalStateException("Coluna sombra '" + annotation.shadow()
+                                + "' não encontrada em " + current.getSimpleName());
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+}
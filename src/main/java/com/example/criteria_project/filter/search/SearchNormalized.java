@@ -0,0 +1,23 @@
+package com.example.criteria_project.filter.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um campo de texto que possui uma coluna "sombra" com o valor já normalizado
+ * (minúsculo e sem acentos), mantida por {@link SearchNormalizationListener}.
+ * <p>
+ * Filtros sobre o campo passam a comparar direto com a coluna sombra, sem {@code unaccent(lower(...))}
+ * por linha, e viram busca por prefixo quando o valor não começa com {@code *}, o que permite usar índice.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchNormalized {
+
+    /**
+     * Nome do atributo da mesma entidade que guarda o valor normalizado.
+     */
+    String shadow();
+}
@@ -0,0 +1,116 @@
+package com.example.criteria_project.filter.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Remoção de acentos e conversão para minúsculas sem alocação por caractere.
+ * <p>
+ * O resultado é o mesmo de {@code NFD} seguido da remoção das marcas combinantes (U+0300–U+036F), mas o trabalho é
+ * feito por uma tabela pré-calculada com essa mesma regra para Latin-1, Latin Extended-A/B e pontuação geral:
+ * <ul>
+ *     <li>o prefixo que não muda é só lido; texto que já está na forma final (o caso comum em ASCII) é devolvido
+ *     como a mesma instância, sem alocar nada;</li>
+ *     <li>a partir do primeiro caractere que muda, uma única passada preenche um {@code char[]}, fazendo minúsculas
+ *     e acentos ao mesmo tempo;</li>
+ *     <li>qualquer caractere fora da tabela (marcas combinantes soltas, grego, emojis...) faz a string inteira cair
+ *     na normalização {@code NFD} original, então o resultado nunca diverge.</li>
+ * </ul>
+ * Roda uma vez por linha varrida quando o H2 avalia {@code UNACCENT}, por isso o caminho comum não cria objetos.
+ */
+public final class TextFolding {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    /** Latin-1, Latin Extended-A e Latin Extended-B. */
+    private static final int LATIN_END = 0x250;
+    /** Pontuação geral (travessões, aspas, reticências), comum em nomes de produto. */
+    private static final int PUNCTUATION_START = 0x2000;
+    private static final int PUNCTUATION_END = 0x2070;
+
+    /** Caractere sem equivalente de um só {@code char}: a string vai para o caminho {@code NFD}. */
+    private static final char FALLBACK = '\uFFFF';
+
+    private static final char[] UNACCENT = table(false);
+    private static final char[] FOLD = table(true);
+
+    private TextFolding() {
+    }
+
+    /**
+     * Remove os acentos, mantendo maiúsculas e minúsculas.
+     */
+    public static String unaccent(String value) {
+        return value == null ? null : apply(value, UNACCENT, false);
+    }
+
+    /**
+     * Minúsculas e sem acentos: a forma das colunas sombra e dos termos de busca.
+     */
+    public static String fold(String value) {
+        return value == null ? null : apply(value, FOLD, true);
+    }
+
+    /**
+     * Implementação de referência ({@code NFD} e remoção das marcas), usada fora da tabela e nos testes de
+     * equivalência.
+     */
+    public static String slowFold(String value, boolean lowerCase) {
+        String source = lowerCase ? value.toLowerCase(Locale.ROOT) : value;
+        return COMBINING_MARKS.matcher(Normalizer.normalize(source, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static String apply(String value, char[] table, boolean lowerCase) {
+        int length = value.length();
+        int i = 0;
+        while (i < length && lookup(table, value.charAt(i)) == value.charAt(i)) {
+            i++;
+        }
+        if (i == length) {
+            return value;
+        }
+
+        char[] folded = new char[length];
+        value.getChars(0, i, folded, 0);
+        for (; i < length; i++) {
+            char mapped = lookup(table, value.charAt(i));
+            if (mapped == FALLBACK) {
+                return slowFold(value, lowerCase);
+            }
+            folded[i] = mapped;
+        }
+        return new String(folded);
+    }
+
+    private static char lookup(char[] table, char c) {
+        if (c < LATIN_END) {
+            return table[c];
+        }
+        if (c >= PUNCTUATION_START && c < PUNCTUATION_END) {
+            return table[LATIN_END + c - PUNCTUATION_START];
+        }
+        return FALLBACK;
+    }
+
+    /**
+     * Cada entrada é a própria implementação de referência aplicada ao caractere isolado. Nenhum caractere dessas
+     * faixas é marca combinante nem muda conforme os vizinhos, então aplicar caractere a caractere equivale a
+     * aplicar na string inteira.
+     */
+    private static char[] table(boolean lowerCase) {
+        char[] table = new char[LATIN_END + PUNCTUATION_END - PUNCTUATION_START];
+        for (int c = 0; c < LATIN_END; c++) {
+            table[c] = entry((char) c, lowerCase);
+        }
+        for (int c = PUNCTUATION_START; c < PUNCTUATION_END; c++) {
+            table[LATIN_END + c - PUNCTUATION_START] = entry((char) c, lowerCase);
+        }
+        return table;
+    }
+
+    private static char entry(char c, boolean lowerCase) {
+        String folded = slowFold(String.valueOf(c), lowerCase);
+        return folded.length() == 1 ? folded.charAt(0) : FALLBACK;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.criteria_project.filter.search;
+
+import java.util.List;
+
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.plan.FilterNode;
+
+/**
+ * Estratégia para buscas "contém" ({@code %termo%}) em um campo de texto.
+ * <p>
+ * Recebe os termos já normalizados e o nó {@code exact}, que confirma o "contém" linha a linha.
+ * Estratégias com índice podem restringir os candidatos antes, combinando o resultado com {@code exact}.
+ */
+public interface TextSearchStrategy {
+
+    FilterNode contains(AttributeMetadata attribute, List<String> terms, FilterNode exact);
+}
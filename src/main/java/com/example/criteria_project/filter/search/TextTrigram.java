@@ -0,0 +1,43 @@
+package com.example.criteria_project.filter.search;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha do índice de trigramas: o {@code gram} aparece no campo {@code fieldName}
+ * da entidade {@code entityName} de id {@code entityId}.
+ */
+@Entity
+@Table(name = TextTrigram.TABLE, indexes = {
+        @Index(name = "idx_text_trigram_busca", columnList = "entity_name, field_name, gram, entity_id"),
+        @Index(name = "idx_text_trigram_entidade", columnList = "entity_name, entity_id")
+})
+@Data
+@NoArgsConstructor
+public class TextTrigram {
+
+    public static final String TABLE = "text_trigram";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_name", nullable = false)
+    private String entityName;
+
+    @Column(name = "field_name", nullable = false)
+    private String fieldName;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false, length = Trigrams.LENGTH)
+    private String gram;
+}
@@ -0,0 +1,233 @@
+package com.example.criteria_project.filter.search;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+
+/**
+ * Mantém a tabela {@link TextTrigram} sincronizada com os campos {@link TrigramIndexed}.
+ * <p>
+ * Escritas feitas pelo Hibernate atualizam o índice na mesma transação (listeners de pós-insert/update/delete).
+ * Linhas inseridas fora do JPA (como o {@code data.sql}) são indexadas na inicialização, quando a tabela está vazia.
+ */
+@Component
+public class TrigramIndexMaintainer implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private static final String DELETE_SQL = "DELETE FROM " + TextTrigram.TABLE
+            + " WHERE entity_name = ? AND entity_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO " + TextTrigram.TABLE
+            + " (entity_name, field_name, entity_id, gram) VALUES (?, ?, ?, ?)";
+    private static final int REBUILD_BATCH = 10_000;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildOnStartup;
+    private final Map<Class<?>, List<Field>> indexedFields = new ConcurrentHashMap<>();
+
+    public TrigramIndexMaintainer(EntityManagerFactory entityManagerFactory, EntityManager entityManager,
+                                  JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  @Value("${criteria.trigram.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildOnStartup = rebuildOnStartup;
+
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        List<Field> fields = fieldsOf(event.getEntity().getClass());
+        if (!fields.isEmpty()) {
+            event.getSession().doWork(connection -> write(connection, event.getEntity(), event.getId(), fields, false));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        List<Field> fields = fieldsOf(event.getEntity().getClass());
+        if (!fields.isEmpty() && isIndexedFieldDirty(event, fields)) {
+            event.getSession().doWork(connection -> write(connection, event.getEntity(), event.getId(), fields, true));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!fieldsOf(event.getEntity().getClass()).isEmpty()) {
+            String entityName = entityName(event.getEntity().getClass());
+            event.getSession().doWork(connection -> {
+                try (PreparedStatement delete = connection.prepareStatement(DELETE_SQL)) {
+                    delete.setString(1, entityName);
+                    delete.setLong(2, ((Number) event.getId()).longValue());
+                    delete.executeUpdate();
+                }
+            });
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Indexa todas as linhas existentes quando o índice ainda está vazio.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TextTrigram.TABLE, Long.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            if (!fieldsOf(entityType.getJavaType()).isEmpty()) {
+                rebuild(entityType.getJavaType());
+            }
+        }
+    }
+
+    /**
+     * Reindexa a entidade inteira. Cada lote de {@value #REBUILD_BATCH} linhas, percorrido pelo id,
+     * é gravado na sua própria transação, então cargas de milhões de linhas não acumulam tudo em memória.
+     */
+    public void rebuild(Class<?> entityClass) {
+        List<Field> fields = fieldsOf(entityClass);
+        String entityName = entityName(entityClass);
+        String idPath = EntityMetadataRegistry.forEntity(entityClass).idAttribute().path();
+        String jpql = "SELECT e FROM " + entityName + " e WHERE e." + idPath + " > :last ORDER BY e." + idPath;
+
+        jdbcTemplate.update("DELETE FROM " + TextTrigram.TABLE + " WHERE entity_name = ?", entityName);
+        Long[] last = {Long.MIN_VALUE};
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<?> entities = entityManager.createQuery(jpql, entityClass)
+                        .setParameter("last", last[0])
+                        .setMaxResults(REBUILD_BATCH)
+                        .getResultList();
+                List<Object[]> batch = new ArrayList<>();
+                for (Object entity : entities) {
+                    Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+                    for (Field field : fields) {
+                        for (String gram : gramsOf(entity, field)) {
+                            batch.add(new Object[]{entityName, field.getName(), id, gram});
+                        }
+                    }
+                    last[0] = ((Number) id).longValue();
+                }
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                }
+                entityManager.clear();
+                return entities.size() == REBUILD_BATCH;
+            }));
+        }
+    }
+
+    private void write(Connection connection, Object entity, Object id, List<Field> fields, boolean replace)
+            throws SQLException {
+        String entityName = entityName(entity.getClass());
+        long entityId = ((Number) id).longValue();
+
+        if (replace) {
+            try (PreparedStatement delete = connection.prepareStatement(DELETE_SQL)) {
+                delete.setString(1, entityName);
+                delete.setLong(2, entityId);
+                delete.executeUpdate();
+            }
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (Field field : fields) {
+                for (String gram : gramsOf(entity, field)) {
+                    insert.setString(1, entityName);
+                    insert.setString(2, field.getName());
+                    insert.setLong(3, entityId);
+                    insert.setString(4, gram);
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private boolean isIndexedFieldDirty(PostUpdateEvent event, List<Field> fields) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return true;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        return Arrays.stream(dirty)
+                .mapToObj(index -> names[index])
+                .anyMatch(name -> fields.stream().anyMatch(field -> field.getName().equals(name)));
+    }
+
+    private static Set<String> gramsOf(Object entity, Field field) {
+        try {
+            Object value = field.get(entity);
+            return value == null ? Set.of() : Trigrams.of(SearchNormalizationListener.normalize(value.toString()));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Não foi possível ler o campo " + field.getName(), e);
+        }
+    }
+
+    private String entityName(Class<?> entityClass) {
+        return entityManagerFactory.getMetamodel().entity(entityClass).getName();
+    }
+
+    private List<Field> fieldsOf(Class<?> type) {
+        return indexedFields.computeIfAbsent(type, key -> {
+            List<Field> fields = new ArrayList<>();
+            for (Field field : key.getDeclaredFields()) {
+                if (field.isAnnotationPresent(TrigramIndexed.class)) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            return List.copyOf(fields);
+        });
+    }
+}
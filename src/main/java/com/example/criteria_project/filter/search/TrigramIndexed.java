@@ -0,0 +1,18 @@
+package com.example.criteria_project.filter.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mantém um índice de trigramas ({@link TextTrigram}) para o campo de texto anotado.
+ * Buscas "contém" no campo passam a usar {@link TrigramTextSearch}: o índice restringe os
+ * candidatos e o {@code LIKE} só confirma o resultado entre eles.
+ * <p>
+ * A entidade precisa de um id numérico simples.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TrigramIndexed {
+}
@@ -0,0 +1,38 @@
+package com.example.criteria_project.filter.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.plan.AndNode;
+import com.example.criteria_project.filter.plan.FilterNode;
+import com.example.criteria_project.filter.plan.OrNode;
+import com.example.criteria_project.filter.plan.TrigramNode;
+
+/**
+ * Restringe os candidatos pelo índice de trigramas e confirma com o {@code LIKE} apenas entre eles.
+ * Termos com menos de 3 caracteres não têm trigramas; nesse caso a busca volta a ser só o {@code LIKE}.
+ */
+public class TrigramTextSearch implements TextSearchStrategy {
+
+    private final String entityName;
+    private final List<String> idSegments;
+
+    public TrigramTextSearch(String entityName, List<String> idSegments) {
+        this.entityName = entityName;
+        this.idSegments = List.copyOf(idSegments);
+    }
+
+    @Override
+    public FilterNode contains(AttributeMetadata attribute, List<String> terms, FilterNode exact) {
+        List<FilterNode> candidates = new ArrayList<>();
+        for (String term : terms) {
+            if (term.length() < Trigrams.LENGTH) {
+                return exact;
+            }
+            candidates.add(new TrigramNode(idSegments, entityName, attribute.path(), List.copyOf(Trigrams.of(term))));
+        }
+        FilterNode narrowed = candidates.size() == 1 ? candidates.get(0) : new OrNode(candidates);
+        return new AndNode(List.of(narrowed, exact));
+    }
+}
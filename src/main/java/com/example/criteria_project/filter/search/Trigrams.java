@@ -0,0 +1,23 @@
+package com.example.criteria_project.filter.search;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Extração de trigramas (substrings de 3 caracteres) de textos já normalizados.
+ */
+public final class Trigrams {
+
+    public static final int LENGTH = 3;
+
+    private Trigrams() {
+    }
+
+    public static Set<String> of(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + LENGTH));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.criteria_project.guard;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita as requisições simultâneas de cada cliente em {@code /produtos}.
+ * <p>
+ * O cliente é o usuário autenticado ou, sem ele, o endereço remoto; nada que o próprio cliente escolha, como um
+ * cabeçalho, para que não baste trocá-lo a cada requisição. Atrás de um proxy, o endereço real só chega aqui com
+ * {@code server.forward-headers-strategy} configurado. Acima de {@code criteria.guard.max-concurrent-per-client},
+ * a requisição recebe {@code 429} com {@code Retry-After} na hora, sem prender a thread do servidor esperando vaga.
+ * Um cliente insistente ocupa no máximo esse número de conexões do pool; os demais continuam sendo atendidos.
+ * Respostas assíncronas (exportação) só liberam a vaga quando terminam. São lembrados no máximo
+ * {@code criteria.guard.max-clients} clientes, os menos recentes saem primeiro.
+ */
+@Component
+public class ClientConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String PATH = "/produtos";
+
+    private final int maxConcurrent;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Semaphore> permits;
+    private final Counter shed;
+
+    public ClientConcurrencyFilter(ObjectMapper objectMapper, MeterRegistry registry,
+                                   @Value("${criteria.guard.max-concurrent-per-client:4}") int maxConcurrent,
+                                   @Value("${criteria.guard.max-clients:10000}") int maxClients) {
+        this.objectMapper = objectMapper;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.shed = Counter.builder("criteria.guard.decisions")
+                .description("Consultas reduzidas ou recusadas pelo controle de admissão")
+                .tag("outcome", "shed")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Semaphore semaphore = permits.get(client(request), key -> new Semaphore(maxConcurrent));
+        if (!semaphore.tryAcquire()) {
+            shed.increment();
+            reject(response);
+            return;
+        }
+
+        boolean released = true;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(semaphore));
+                released = false;
+            }
+        } finally {
+            if (released) {
+                semaphore.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS,
+                "Limite de " + maxConcurrent + " consultas simultâneas por cliente atingido");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : request.getRemoteAddr();
+    }
+
+    /**
+     * Libera a vaga uma única vez, no fim da resposta assíncrona (sucesso, erro ou timeout).
+     */
+    private record ReleasingListener(Semaphore semaphore, AtomicBoolean done) implements AsyncListener {
+
+        private ReleasingListener(Semaphore semaphore) {
+            this(semaphore, new AtomicBoolean());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (done.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.criteria_project.guard;
+
+/**
+ * Consulta acima de {@code criteria.guard.max-cost} mesmo depois das reduções possíveis.
+ * <p>
+ * É um {@link IllegalArgumentException}: como os demais erros de filtro, responde {@code 400} (também dentro de um
+ * lote), já que a correção está na própria consulta.
+ */
+public class QueryCostExceededException extends IllegalArgumentException {
+
+    public QueryCostExceededException(int cost, int maxCost) {
+        super("Consulta cara demais: custo estimado " + cost + ", limite " + maxCost
+                + ". Reduza buscas por 'contém', grupos OU, listas de valores ou o tamanho da página");
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.criteria_project.guard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.pagination.CountMode;
+import com.example.criteria_project.pagination.OffsetPageRequest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Admite, reduz ou recusa consultas conforme o custo estimado pelo {@link QueryCostModel}.
+ * <p>
+ * O custo é o do filtro (duas vezes quando há {@code COUNT} a cada página) somado ao da página. Acima de
+ * {@code criteria.guard.max-cost}, com {@code criteria.guard.downgrade} ligado, a consulta é reduzida nesta ordem:
+ * a contagem vira {@code estimated} (uma por filtro dentro do TTL) e a página encolhe até caber, nunca abaixo de
+ * {@code criteria.guard.min-page-size} linhas, começando exatamente na primeira linha da página pedida
+ * ({@link OffsetPageRequest}). Se ainda assim não couber, ou sem {@code downgrade}, lança
+ * {@link QueryCostExceededException}.
+ * <p>
+ * Decisões ficam no Micrometer como {@code criteria.guard.decisions} ({@code outcome=downgraded|rejected}).
+ */
+@Component
+public class QueryCostGuard {
+
+    private final int maxCost;
+    private final boolean downgrade;
+    private final int minPageSize;
+    private final Counter downgraded;
+    private final Counter rejected;
+
+    public QueryCostGuard(MeterRegistry registry,
+                          @Value("${criteria.guard.max-cost:250}") int maxCost,
+                          @Value("${criteria.guard.downgrade:true}") boolean downgrade,
+                          @Value("${criteria.guard.min-page-size:10}") int minPageSize) {
+        this.maxCost = maxCost;
+        this.downgrade = downgrade;
+        this.minPageSize = minPageSize;
+        this.downgraded = decisions(registry, "downgraded");
+        this.rejected = decisions(registry, "rejected");
+    }
+
+    /**
+     * Decide como executar uma busca paginada.
+     *
+     * @param countMode modo de contagem pedido; no modo cursor, {@link CountMode#NONE}
+     */
+    public Admission admit(FilterPlan plan, Pageable pageable, CountMode countMode) {
+        int filter = QueryCostModel.filterCost(plan);
+        int cost = filter * evaluations(countMode) + QueryCostModel.pageCost(pageable, plan.getEntityClass());
+        if (cost <= maxCost) {
+            return new Admission(pageable, countMode, cost, null);
+        }
+        if (!downgrade) {
+            rejected.increment();
+            throw new QueryCostExceededException(cost, maxCost);
+        }
+
+        List<String> changes = new ArrayList<>();
+        CountMode mode = countMode;
+        if (evaluations(mode) > 1) {
+            mode = CountMode.ESTIMATED;
+            changes.add("count=estimated");
+        }
+        Pageable page = pageable;
+        int available = maxCost - filter * evaluations(mode) - QueryCostModel.sortCost(page.getSort(), plan.getEntityClass());
+        if (page.isPaged() && QueryCostModel.rowsCost(page.getPageSize()) > available) {
+            int size = Math.max(minPageSize, available * QueryCostModel.ROWS_PER_UNIT);
+            if (size < page.getPageSize()) {
+                page = new OffsetPageRequest(page.getOffset(), size, page.getSort());
+                changes.add("size=" + size);
+            }
+        }
+
+        int reduced = filter * evaluations(mode) + QueryCostModel.pageCost(page, plan.getEntityClass());
+        if (reduced > maxCost) {
+            rejected.increment();
+            throw new QueryCostExceededException(reduced, maxCost);
+        }
+        downgraded.increment();
+        return new Admission(page, mode, reduced, String.join(",", changes));
+    }
+
+    /**
+     * Recusa um conjunto de {@code statements} avaliações do filtro (ex.: facetas) acima do limite; não há redução.
+     */
+    public void check(FilterPlan plan, int statements) {
+        int cost = QueryCostModel.filterCost(plan) * statements;
+        if (cost > maxCost) {
+            rejected.increment();
+            throw new QueryCostExceededException(cost, maxCost);
+        }
+    }
+
+    private static int evaluations(CountMode mode) {
+        return mode == CountMode.EXACT || mode == CountMode.CAPPED ? 2 : 1;
+    }
+
+    private static Counter decisions(MeterRegistry registry, String outcome) {
+        return Counter.builder("criteria.guard.decisions")
+                .description("Consultas reduzidas ou recusadas pelo controle de admissão")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Como a consulta será executada.
+     *
+     * @param cost      custo estimado depois das reduções
+     * @param downgrade reduções aplicadas ({@code count=estimated,size=500}), ou {@code null}
+     */
+    public record Admission(Pageable pageable, CountMode countMode, int cost, String downgrade) {
+
+        public boolean downgraded() {
+            return downgrade != null;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.criteria_project.guard;
+
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.metadata.PhysicalNames;
+import com.example.criteria_project.filter.plan.AndNode;
+import com.example.criteria_project.filter.plan.ColumnLikeNode;
+import com.example.criteria_project.filter.plan.ContainsNode;
+import com.example.criteria_project.filter.plan.EqualsNode;
+import com.example.criteria_project.filter.plan.FalseNode;
+import com.example.criteria_project.filter.plan.FilterNode;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.filter.plan.JsonContainsNode;
+import com.example.criteria_project.filter.plan.OrNode;
+import com.example.criteria_project.filter.plan.RangeNode;
+import com.example.criteria_project.filter.plan.TextInNode;
+import com.example.criteria_project.filter.plan.TrigramNode;
+
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Custo estimado de uma consulta, em unidades arbitrárias, calculado sobre o {@link FilterPlan} antes de qualquer SQL.
+ * <p>
+ * Cada predicado custa conforme o trabalho que impõe ao banco:
+ * <ul>
+ *     <li>igualdade ou intervalo em coluna indexada: 1 por valor (2 no intervalo); sem índice, 5 a mais (varredura);</li>
+ *     <li>prefixo ({@code valor%}) na coluna sombra: 2 com índice, 10 sem;</li>
+ *     <li>{@code IN} sobre {@code unaccent(lower(campo))}: 20 + 1 por valor, a função na coluna impede o índice;</li>
+ *     <li>"contém" ({@code %termo%}): 30 por termo na coluna sombra, 50 através de {@code unaccent}; 5 quando o
+ *     índice de trigramas já estreitou os candidatos;</li>
+ *     <li>busca em JSON: 60 por termo; consulta ao índice de trigramas: 5 + 1 por trigrama;</li>
+ *     <li>cada segmento aninhado soma 10 (join) e caminhos por coleção mais 20 ({@code EXISTS});</li>
+ *     <li>cada ramo além do primeiro em um "OU" soma 5: o banco não combina índices entre ramos.</li>
+ * </ul>
+ * A página soma 1 a cada {@value #ROWS_PER_UNIT} linhas e cada campo de ordenação sem índice, 5. Índices são os
+ * de {@code @Id} e a primeira coluna de cada {@code @Table(indexes)} da entidade.
+ */
+public final class QueryCostModel {
+
+    public static final int ROWS_PER_UNIT = 20;
+
+    private static final Map<Class<?>, Set<String>> INDEXED = new ConcurrentHashMap<>();
+
+    private QueryCostModel() {
+    }
+
+    /**
+     * Custo de uma avaliação do filtro (uma consulta de dados ou uma contagem).
+     */
+    public static int filterCost(FilterPlan plan) {
+        if (plan.isAlwaysEmpty()) {
+            return 0;
+        }
+        return new Estimator(plan.getEntityClass()).cost(plan.getRoot(), false);
+    }
+
+    /**
+     * Custo de ler as linhas da página.
+     */
+    public static int rowsCost(int pageSize) {
+        return (pageSize + ROWS_PER_UNIT - 1) / ROWS_PER_UNIT;
+    }
+
+    public static int sortCost(Sort sort, Class<?> entityClass) {
+        Set<String> indexed = indexed(entityClass);
+        int cost = 0;
+        for (Sort.Order order : sort) {
+            if (!indexed.contains(order.getProperty())) {
+                cost += 5;
+            }
+        }
+        return cost;
+    }
+
+    public static int pageCost(Pageable pageable, Class<?> entityClass) {
+        int rows = pageable.isPaged() ? rowsCost(pageable.getPageSize()) : 0;
+        return rows + sortCost(pageable.getSort(), entityClass);
+    }
+
+    private static Set<String> indexed(Class<?> entityClass) {
+        return INDEXED.computeIfAbsent(entityClass, QueryCostModel::findIndexed);
+    }
+
+    private static Set<String> findIndexed(Class<?> entityClass) {
+        Set<String> leadingColumns = new HashSet<>();
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table != null) {
+            for (Index index : table.indexes()) {
+                leadingColumns.add(index.columnList().split(",")[0].trim().split("\\s+")[0].toLowerCase());
+            }
+        }
+        Set<String> indexed = new HashSet<>();
+        for (Class<?> current = entityClass; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class) || leadingColumns.contains(PhysicalNames.column(field))) {
+                    indexed.add(field.getName());
+                }
+            }
+        }
+        return Set.copyOf(indexed);
+    }
+
+    private static final class Estimator {
+
+        private final EntityMetadata metadata;
+        private final Set<String> indexed;
+
+        private Estimator(Class<?> entityClass) {
+            this.metadata = EntityMetadataRegistry.forEntity(entityClass);
+            this.indexed = indexed(entityClass);
+        }
+
+        /**
+         * @param narrowed um irmão no mesmo "E" já restringe os candidatos pelo índice de trigramas
+         */
+        private int cost(FilterNode node, boolean narrowed) {
+            if (node instanceof AndNode and) {
+                boolean trigram = and.children().stream().anyMatch(Estimator::narrows);
+                return and.children().stream().mapToInt(child -> cost(child, narrowed || trigram)).sum();
+            }
+            if (node instanceof OrNode or) {
+                int branches = or.children().stream().mapToInt(child -> cost(child, narrowed)).sum();
+                return branches + 5 * (or.children().size() - 1);
+            }
+            if (node instanceof FalseNode) {
+                return 0;
+            }
+            if (node instanceof EqualsNode equals) {
+                return scan(equals.path()) + equals.values().size() + path(equals.path());
+            }
+            if (node instanceof TextInNode textIn) {
+                return 20 + textIn.values().size() + path(textIn.path());
+            }
+            if (node instanceof ContainsNode contains) {
+                return (narrowed ? 5 : 50) * contains.patterns().size() + path(contains.path());
+            }
+            if (node instanceof ColumnLikeNode like) {
+                int cost = 0;
+                for (String pattern : like.patterns()) {
+                    if (pattern.startsWith("%")) {
+                        cost += narrowed ? 5 : 30;
+                    } else {
+                        cost += isIndexed(like.path()) ? 2 : 10;
+                    }
+                }
+                return cost + path(like.path());
+            }
+            if (node instanceof RangeNode range) {
+                return 2 + scan(range.path()) + range.equalTo().size() + range.notEqualTo().size()
+                        + 30 * range.patterns().size() + path(range.path());
+            }
+            if (node instanceof JsonContainsNode json) {
+                return 60 * json.patterns().size();
+            }
+            if (node instanceof TrigramNode trigram) {
+                return 5 + trigram.grams().size();
+            }
+            throw new IllegalStateException("Nó de filtro sem custo: " + node.getClass().getSimpleName());
+        }
+
+        /**
+         * Consulta ao índice de trigramas, sozinha ou em um "OU" de vários termos.
+         */
+        private static boolean narrows(FilterNode node) {
+            return node instanceof TrigramNode
+                    || node instanceof OrNode or && or.children().stream().allMatch(Estimator::narrows);
+        }
+
+        private int scan(List<String> path) {
+            return isIndexed(path) ? 0 : 5;
+        }
+
+        private boolean isIndexed(List<String> path) {
+            return path.size() == 1 && indexed.contains(path.get(0));
+        }
+
+        private int path(List<String> path) {
+            int cost = 10 * (path.size() - 1);
+            for (AttributeMetadata attribute : metadata.getAttributes().values()) {
+                if (attribute.collection()
+                        && (path.equals(attribute.segments()) || path.equals(attribute.searchSegments()))) {
+                    return cost + 20;
+                }
+            }
+            return cost;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.criteria_project.metrics;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Liga o {@link QueryMetrics} às etapas que não passam pelo controller: execução JDBC e serialização JSON.
+ * Também expõe o cache de planos do Hibernate.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    @Bean
+    static BeanPostProcessor statementTimingDataSourcePostProcessor(ObjectProvider<QueryMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(dataSource, metrics::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Acertos e falhas do cache de planos de consulta do Hibernate em {@code cache.gets}
+     * ({@code cache=hibernate.query.plans}). Só conta com {@code hibernate.generate_statistics} ligado (perfil
+     * {@code dev}). Consultas Criteria não passam por esse cache no Hibernate 6.6, que as indexaria pela própria
+     * árvore e não pelo SQL: o reaproveitamento delas é estimado em {@link QueryMetrics#PREPARE_COUNTER}.
+     */
+    @Bean
+    MeterBinder hibernateQueryPlanCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            if (!statistics.isStatisticsEnabled()) {
+                return;
+            }
+            FunctionCounter.builder("cache.gets", statistics, Statistics::getQueryPlanCacheHitCount)
+                    .tag("cache", "hibernate.query.plans")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", statistics, Statistics::getQueryPlanCacheMissCount)
+                    .tag("cache", "hibernate.query.plans")
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Substitui o conversor Jackson padrão do Spring Boot por um que mede a escrita da resposta.
+     */
+    @Bean
+    MappingJackson2HttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                         QueryMetrics metrics) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException {
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    metrics.recordSerialization(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+}
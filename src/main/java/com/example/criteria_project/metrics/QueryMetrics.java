@@ -0,0 +1,187 @@
+package com.example.criteria_project.metrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.example.criteria_project.filter.plan.FilterPlan;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Métricas por etapa do pipeline de filtros, marcadas pela forma da consulta ({@link FilterPlan#getShape()}).
+ * <p>
+ * Timer {@code criteria.query.stage} com a tag {@code stage}:
+ * <ul>
+ *     <li>{@code parse}: interpretação dos parâmetros em {@link CriteriaCreator#compile};</li>
+ *     <li>{@code predicate}: montagem do predicado do Criteria (uma vez por consulta SQL gerada);</li>
+ *     <li>{@code sql} e {@code count}: execução das instruções de dados e de contagem no JDBC;</li>
+ *     <li>{@code serialization}: escrita do JSON da resposta.</li>
+ * </ul>
+ * A forma fica guardada nos atributos da requisição, então as etapas medidas fora do controller
+ * (JDBC, serialização) conseguem marcá-la. Fora de uma requisição a tag vale {@value #NO_SHAPE}.
+ * Depois de {@code criteria.metrics.max-shapes} formas distintas, as novas viram {@value #OTHER_SHAPE}.
+ * <p>
+ * A preparação de cada instrução conta em {@value #PREPARE_COUNTER} ({@code recent=true|false}): uma estimativa,
+ * calculada aqui, de quanto o SQL canônico das consultas filtradas é reaproveitado pelo banco. O H2 não expõe o
+ * próprio cache de comandos, por isso a métrica não usa o nome {@code cache.gets} dos caches medidos de fato.
+ */
+@Slf4j
+@Component
+public class QueryMetrics {
+
+    public static final String STAGE_TIMER = "criteria.query.stage";
+    public static final String NO_SHAPE = "n/a";
+    public static final String OTHER_SHAPE = "other";
+    public static final String PREPARE_COUNTER = "criteria.sql.prepares";
+
+    private static final String SHAPE_ATTRIBUTE = QueryMetrics.class.getName() + ".shape";
+
+    private final MeterRegistry registry;
+    private final Duration slowQueryThreshold;
+    private final int maxShapes;
+    private final Set<String> knownShapes = ConcurrentHashMap.newKeySet();
+    private final int recentStatements;
+    // Chave fraca pela conexão física: some quando o pool descarta a conexão
+    private final Cache<Object, Map<String, Boolean>> preparedByConnection = Caffeine.newBuilder().weakKeys().build();
+    private final Counter recentPrepares;
+    private final Counter newPrepares;
+
+    public QueryMetrics(MeterRegistry registry,
+                        @Value("${criteria.metrics.slow-query-threshold:500ms}") Duration slowQueryThreshold,
+                        @Value("${criteria.metrics.max-shapes:200}") int maxShapes,
+                        @Value("${criteria.metrics.recent-statements:8}") int recentStatements) {
+        this.registry = registry;
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.maxShapes = maxShapes;
+        this.recentStatements = recentStatements;
+        this.recentPrepares = prepareCounter(true);
+        this.newPrepares = prepareCounter(false);
+    }
+
+    /**
+     * Compila o plano medindo a etapa {@code parse} e associa a forma à requisição atual.
+     */
+    public FilterPlan compile(MultiValueMap<String, String> params, Class<?> entityClass) {
+        long start = System.nanoTime();
+        FilterPlan plan = CriteriaCreator.compile(params, entityClass);
+        String shape = tagFor(plan.getShape());
+        record("parse", shape, System.nanoTime() - start);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(SHAPE_ATTRIBUTE, shape, RequestAttributes.SCOPE_REQUEST);
+        }
+        Counter.builder("criteria.query.requests").tag("shape", shape).register(registry).increment();
+        return plan;
+    }
+
+    /**
+     * Envolve a Specification medindo cada chamada de {@code toPredicate} (etapa {@code predicate}).
+     */
+    public <T> Specification<T> instrument(Specification<T> spec, FilterPlan plan) {
+        String shape = tagFor(plan.getShape());
+        return (root, query, cb) -> {
+            long start = System.nanoTime();
+            try {
+                return spec.toPredicate(root, query, cb);
+            } finally {
+                record("predicate", shape, System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Registra a execução de uma instrução JDBC e loga as que passam do limite de consulta lenta.
+     */
+    void recordStatement(String sql, int bindCount, long nanos) {
+        String shape = currentShape();
+        boolean count = sql.regionMatches(true, 0, "select count(", 0, "select count(".length());
+        record(count ? "count" : "sql", shape, nanos);
+
+        if (nanos >= slowQueryThreshold.toNanos()) {
+            Counter.builder("criteria.query.slow").tag("shape", shape).register(registry).increment();
+            log.warn("Consulta lenta ({} ms, {} parâmetros, forma {}): {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    bindCount, shape, sql);
+        }
+    }
+
+    /**
+     * Conta a preparação de uma instrução como recente quando o mesmo SQL está entre as últimas
+     * {@code criteria.metrics.recent-statements} preparadas na mesma conexão física. Imita o cache de comandos do
+     * H2, um LRU por sessão de {@code QUERY_CACHE_SIZE} (8) SQLs: nesses casos ele reaproveita o comando já
+     * analisado e planejado.
+     */
+    void recordPrepare(Object connection, String sql) {
+        Map<String, Boolean> recent = preparedByConnection.get(connection, key -> new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > recentStatements;
+            }
+        });
+        boolean repeated;
+        synchronized (recent) {
+            repeated = recent.put(sql, Boolean.TRUE) != null;
+        }
+        (repeated ? recentPrepares : newPrepares).increment();
+    }
+
+    /**
+     * Registra a serialização de uma resposta. Só conta respostas de consultas filtradas.
+     */
+    void recordSerialization(long nanos) {
+        String shape = currentShape();
+        if (!NO_SHAPE.equals(shape)) {
+            record("serialization", shape, nanos);
+        }
+    }
+
+    private Counter prepareCounter(boolean recent) {
+        return Counter.builder(PREPARE_COUNTER)
+                .description("Instruções preparadas; recent=true quando o mesmo SQL estava entre os últimos da conexão")
+                .tag("recent", String.valueOf(recent))
+                .register(registry);
+    }
+
+    private void record(String stage, String shape, long nanos) {
+        Timer.builder(STAGE_TIMER)
+                .description("Tempo de cada etapa das consultas filtradas")
+                .tag("stage", stage)
+                .tag("shape", shape)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String currentShape() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object shape = attributes == null ? null : attributes.getAttribute(SHAPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return shape == null ? NO_SHAPE : (String) shape;
+    }
+
+    private String tagFor(String shape) {
+        if (knownShapes.contains(shape)) {
+            return shape;
+        }
+        if (knownShapes.size() >= maxShapes) {
+            return OTHER_SHAPE;
+        }
+        knownShapes.add(shape);
+        return shape;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.criteria_project.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.example.criteria_project.execution.QueryDeadline;
+
+/**
+ * DataSource que mede a execução das {@link PreparedStatement}s e repassa SQL, número de parâmetros
+ * e duração ao {@link QueryMetrics}, assim como cada preparação, para o reaproveitamento de instruções.
+ * Cada execução também recebe o prazo de {@link QueryDeadline}, quando houver.
+ * Os demais métodos vão direto ao objeto real.
+ */
+class StatementTimingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    // Resolvido só na primeira instrução: o DataSource nasce antes do MeterRegistry
+    private final Supplier<QueryMetrics> metrics;
+
+    StatementTimingDataSource(DataSource target, Supplier<QueryMetrics> metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                        metrics.get().recordPrepare(physical(connection), (String) args[0]);
+                        return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                new Class<?>[]{PreparedStatement.class},
+                                new TimedStatement(statement, (String) args[0]));
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Conexão do driver por trás da do pool, que é outra a cada empréstimo.
+     */
+    private static Object physical(Connection connection) {
+        try {
+            return connection.isWrapperFor(Connection.class) ? connection.unwrap(Connection.class) : connection;
+        } catch (SQLException e) {
+            return connection;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class TimedStatement implements InvocationHandler {
+
+        private final PreparedStatement target;
+        private final String sql;
+        private final BitSet boundParameters = new BitSet();
+
+        private TimedStatement(PreparedStatement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name) && (args == null || args.length == 0)) {
+                QueryDeadline.beforeExecute(target);
+                long start = System.nanoTime();
+                try {
+                    return StatementTimingDataSource.invoke(target, method, args);
+                } finally {
+                    QueryDeadline.afterExecute(target);
+                    metrics.get().recordStatement(sql, boundParameters.cardinality(), System.nanoTime() - start);
+                }
+            }
+            if (name.equals("clearParameters")) {
+                boundParameters.clear();
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                boundParameters.set(index);
+            }
+            return StatementTimingDataSource.invoke(target, method, args);
+        }
+    }
+}
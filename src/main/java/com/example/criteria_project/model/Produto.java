@@ -1,17 +1,36 @@
 package com.example.criteria_project.model;
 
+import com.example.criteria_project.filter.json.JsonPromoted;
+import com.example.criteria_project.filter.json.JsonPromotionListener;
+import com.example.criteria_project.filter.search.SearchNormalizationListener;
+import com.example.criteria_project.filter.search.SearchNormalized;
+import com.example.criteria_project.filter.search.TrigramIndexed;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_produto_nome_busca", columnList = "nome_busca"),
+        @Index(name = "idx_produto_categoria_busca", columnList = "categoria_busca"),
+        @Index(name = "idx_produto_dto_fabricante", columnList = "dto_fabricante"),
+        @Index(name = "idx_produto_dto_garantia_meses", columnList = "dto_garantia_meses")
+})
+@EntityListeners({SearchNormalizationListener.class, JsonPromotionListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,9 +40,30 @@ public class Produto {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @SearchNormalized(shadow = "nomeBusca")
+    @TrigramIndexed
     private String nome;
+    @SearchNormalized(shadow = "categoriaBusca")
     private String categoria;
     private BigDecimal preco;
     private LocalDate dataCadastro;
     private Integer estoque;
-}
\ No newline at end of file
+
+    // Atributos livres do produto; filtrados por dto.<caminho>
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Object> dto;
+
+    // Colunas sombra normalizadas (minúsculas e sem acentos), mantidas pelo listener
+    @JsonIgnore
+    private String nomeBusca;
+    @JsonIgnore
+    private String categoriaBusca;
+
+    // Caminhos de dto mais filtrados, materializados e indexados, mantidos pelo listener
+    @JsonIgnore
+    @JsonPromoted("fabricante.nome")
+    private String dtoFabricante;
+    @JsonIgnore
+    @JsonPromoted("garantiaMeses")
+    private Integer dtoGarantiaMeses;
+}
@@ -0,0 +1,27 @@
+package com.example.criteria_project.pagination;
+
+/**
+ * Como o total de elementos é obtido em uma busca paginada ({@code ?count=}).
+ */
+public enum CountMode {
+    /** {@code SELECT COUNT(*)} completo a cada página (padrão, resposta {@code Page}). */
+    EXACT,
+    /** Sem contagem: busca {@code size + 1} linhas e informa apenas {@code hasNext}. */
+    NONE,
+    /** Contagem completa guardada em cache por formato de filtro, com TTL. */
+    ESTIMATED,
+    /** Conta no máximo até o limite configurado ("10000+"). */
+    CAPPED;
+
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Modo de contagem inválido: " + value
+                    + ". Use exact, none, estimated ou capped");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.criteria_project.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Token de continuação do modo cursor: cada campo da ordenação, com direção e valor na última linha entregue.
+ * A última chave é sempre o id (desempate).
+ * <p>
+ * O token é opaco para o cliente (Base64 URL-safe) e deve ser repassado sem alterações.
+ *
+ * @param keys campos da ordenação, na ordem, terminando pelo id
+ */
+public record KeysetCursor(List<Key> keys) {
+
+    private static final String SEPARATOR = "\u001F";
+
+    public KeysetCursor {
+        keys = List.copyOf(keys);
+    }
+
+    public String encode() {
+        List<String> parts = new ArrayList<>();
+        for (Key key : keys) {
+            parts.add(key.path());
+            parts.add(key.direction().name());
+            // Prefixo distingue a coluna nula do texto vazio
+            parts.add(key.value() == null ? "-" : "+" + key.value());
+        }
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length < 3 || parts.length % 3 != 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            List<Key> keys = new ArrayList<>();
+            for (int i = 0; i < parts.length; i += 3) {
+                String value = parts[i + 2];
+                if (!value.startsWith("+") && !value.equals("-")) {
+                    throw new IllegalArgumentException("Cursor inválido");
+                }
+                keys.add(new Key(parts[i], Sort.Direction.valueOf(parts[i + 1]),
+                        value.equals("-") ? null : value.substring(1)));
+            }
+            return new KeysetCursor(keys);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token);
+        }
+    }
+
+    /**
+     * @param path      caminho do campo de ordenação
+     * @param direction direção da ordenação
+     * @param value     valor na última linha, em texto ({@code null} quando a coluna era nula)
+     */
+    public record Key(String path, Sort.Direction direction, String value) {
+    }
+}
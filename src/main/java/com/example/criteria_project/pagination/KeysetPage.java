@@ -0,0 +1,15 @@
+package com.example.criteria_project.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Resposta do modo cursor. Não há total de elementos: o cliente segue {@code nextCursor}
+ * enquanto {@code hasNext} for verdadeiro.
+ */
+public record KeysetPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> converter) {
+        return new KeysetPage<>(content.stream().<R>map(converter).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.criteria_project.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.example.criteria_project.filter.SortHelper;
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.plan.FilterPaths;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Paginação por cursor (keyset/seek): em vez de {@code OFFSET}, a próxima página começa
+ * depois da chave {@code (campo1, campo2, ..., id)} da última linha entregue.
+ * O custo de cada página é o mesmo, seja a primeira ou a milésima.
+ * <p>
+ * Valores nulos seguem a ordenação padrão do H2: são os menores valores
+ * (primeiros em {@code asc}, últimos em {@code desc}).
+ */
+public final class KeysetPagination {
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Busca uma página a partir do token recebido. Com token vazio, começa do início usando a ordenação do
+     * {@code pageable} (só o id, se não houver), com o desempate pelo id na direção do último campo.
+     */
+    public static <T> KeysetPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+                                          Class<T> entityClass, String token, Pageable pageable) {
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(entityClass);
+        AttributeMetadata idAttribute = metadata.idAttribute();
+
+        KeysetCursor cursor = token == null || token.isBlank() ? null : KeysetCursor.decode(token);
+        List<Sort.Order> orders = new ArrayList<>();
+        if (cursor != null) {
+            cursor.keys().forEach(key -> orders.add(new Sort.Order(key.direction(), key.path())));
+        } else {
+            for (Sort.Order order : SortHelper.withTieBreaker(pageable.getSort(), entityClass)) {
+                if (order.isIgnoreCase()) {
+                    throw new IllegalArgumentException(
+                            "Ordenação ignorecase não é suportada no modo cursor: " + order.getProperty());
+                }
+                orders.add(order);
+                if (order.getProperty().equals(idAttribute.path())) {
+                    // O id já torna a ordem total; campos depois dele não mudam nada
+                    break;
+                }
+            }
+        }
+        List<AttributeMetadata> attributes = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            attributes.add(metadata.attribute(order.getProperty()));
+        }
+        if (!attributes.get(attributes.size() - 1).equals(idAttribute)) {
+            throw new IllegalArgumentException("Cursor inválido: " + token);
+        }
+
+        Specification<T> pageSpec = cursor != null ? spec.and(after(cursor, attributes)) : spec;
+        int size = pageable.getPageSize();
+        Sort sort = Sort.by(orders);
+        List<T> rows = repository.findBy(pageSpec, q -> q.sortBy(sort).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            BeanWrapper last = PropertyAccessorFactory.forBeanPropertyAccess(content.get(content.size() - 1));
+            List<KeysetCursor.Key> keys = new ArrayList<>();
+            for (Sort.Order order : orders) {
+                Object value = readProperty(last, order.getProperty());
+                keys.add(new KeysetCursor.Key(order.getProperty(), order.getDirection(),
+                        value == null ? null : value.toString()));
+            }
+            nextCursor = new KeysetCursor(keys).encode();
+        }
+        return new KeysetPage<>(List.copyOf(content), size, hasNext, nextCursor);
+    }
+
+    /**
+     * Predicado equivalente a {@code (k1, k2, ..., id) > (?, ?, ..., ?)}, com {@code >} ou {@code <} conforme a
+     * direção de cada campo. A Criteria API não tem comparação de tuplas, então a expressão é expandida em
+     * {@code k1 > ? OR (k1 = ? AND (k2 > ? OR (k2 = ? AND id > ?)))}, que ainda permite busca por intervalo no
+     * índice do primeiro campo.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> Specification<T> after(KeysetCursor cursor, List<AttributeMetadata> attributes) {
+        List<Comparable> values = new ArrayList<>();
+        for (int i = 0; i < attributes.size(); i++) {
+            String text = cursor.keys().get(i).value();
+            if (text == null && i == attributes.size() - 1) {
+                throw new IllegalArgumentException("Cursor inválido: id ausente");
+            }
+            values.add(text == null ? null : (Comparable) convert(attributes.get(i), text));
+        }
+
+        return (root, query, cb) -> {
+            Predicate next = null;
+            for (int i = attributes.size() - 1; i >= 0; i--) {
+                Expression<Comparable> key = (Expression<Comparable>) FilterPaths.navigate(root,
+                        attributes.get(i).segments());
+                Comparable value = values.get(i);
+                boolean desc = cursor.keys().get(i).direction() == Sort.Direction.DESC;
+
+                // Linhas estritamente depois da última nesse campo, e empatadas com ela
+                Predicate beyond;
+                Predicate tie;
+                if (value == null) {
+                    beyond = desc ? null : cb.isNotNull(key);
+                    tie = cb.isNull(key);
+                } else {
+                    beyond = desc ? cb.or(cb.lessThan(key, value), cb.isNull(key)) : cb.greaterThan(key, value);
+                    tie = cb.equal(key, value);
+                }
+                if (next == null) {
+                    // Último campo (o id): empate não continua a página
+                    next = beyond;
+                } else {
+                    Predicate tied = cb.and(tie, next);
+                    next = beyond == null ? tied : cb.or(beyond, tied);
+                }
+            }
+            return next;
+        };
+    }
+
+    private static Object readProperty(BeanWrapper wrapper, String path) {
+        try {
+            return wrapper.getPropertyValue(path);
+        } catch (BeansException e) {
+            // Associação nula no meio do caminho
+            return null;
+        }
+    }
+
+    private static Object convert(AttributeMetadata attribute, String value) {
+        try {
+            return attribute.converter().convert(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Cursor inválido para o campo " + attribute.path());
+        }
+    }
+}
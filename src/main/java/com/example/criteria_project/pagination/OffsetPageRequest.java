@@ -0,0 +1,93 @@
+package com.example.criteria_project.pagination;
+
+import java.util.Objects;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Página que começa em uma linha qualquer, não necessariamente múltipla do tamanho.
+ * <p>
+ * Usada quando o tamanho de uma página já pedida é reduzido: {@code PageRequest.of(offset / size, size)}
+ * arredondaria o início para baixo e repetiria linhas da página anterior. {@link #getPageNumber()} é o número
+ * da página em que {@link #getOffset()} cai.
+ */
+public final class OffsetPageRequest implements Pageable {
+
+    private final long offset;
+    private final int size;
+    private final Sort sort;
+
+    public OffsetPageRequest(long offset, int size, Sort sort) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("O deslocamento não pode ser negativo");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página precisa ser ao menos 1");
+        }
+        this.offset = offset;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(0, offset - size), size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof OffsetPageRequest that
+                && offset == that.offset && size == that.size && sort.equals(that.sort);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, size, sort);
+    }
+
+    @Override
+    public String toString() {
+        return "Offset request [offset: %d, size %d, sort: %s]".formatted(offset, size, sort);
+    }
+}
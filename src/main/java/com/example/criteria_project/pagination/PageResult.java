@@ -0,0 +1,28 @@
+package com.example.criteria_project.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página retornada pelos modos de contagem diferentes de {@link CountMode#EXACT}.
+ *
+ * @param totalElements total conhecido ({@code null} no modo {@code none})
+ * @param totalAccuracy o quanto {@code totalElements} é confiável ({@code null} no modo {@code none})
+ */
+public record PageResult<T>(List<T> content, int number, int size, int numberOfElements, boolean first,
+                            boolean hasNext, Long totalElements, TotalAccuracy totalAccuracy) {
+
+    public <R> PageResult<R> map(Function<? super T, ? extends R> converter) {
+        return new PageResult<>(content.stream().<R>map(converter).toList(), number, size, numberOfElements, first,
+                hasNext, totalElements, totalAccuracy);
+    }
+
+    public enum TotalAccuracy {
+        /** Total exato (por exemplo, na última página). */
+        EXACT,
+        /** Total lido do cache; pode estar defasado até o TTL configurado. */
+        ESTIMATED,
+        /** Há pelo menos esse número de elementos ("10000+"). */
+        AT_LEAST
+    }
+}
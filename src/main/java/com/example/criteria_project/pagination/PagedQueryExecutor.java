@@ -0,0 +1,231 @@
+package com.example.criteria_project.pagination;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.criteria_project.execution.QueryTaskExecutor;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.plan.FilterPaths;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.projection.FieldProjection;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Executa buscas paginadas evitando ou limitando o {@code SELECT COUNT(*)}, conforme o {@link CountMode}.
+ */
+@Component
+public class PagedQueryExecutor {
+
+    private final EntityManager entityManager;
+    private final Cache<CountKey, Long> countCache;
+    private final int countCap;
+    private final QueryTaskExecutor taskExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean parallelCount;
+
+    public PagedQueryExecutor(EntityManager entityManager, QueryTaskExecutor taskExecutor,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${criteria.count.ttl:60s}") Duration countTtl,
+                              @Value("${criteria.count.cache-size:10000}") long countCacheSize,
+                              @Value("${criteria.count.cap:10000}") int countCap,
+                              @Value("${criteria.count.parallel:false}") boolean parallelCount) {
+        this.entityManager = entityManager;
+        this.countCache = Caffeine.newBuilder()
+                .expireAfterWrite(countTtl)
+                .maximumSize(countCacheSize)
+                .build();
+        this.countCap = countCap;
+        this.taskExecutor = taskExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.parallelCount = parallelCount;
+    }
+
+    /**
+     * Página completa ({@link CountMode#EXACT}), como {@code findAll(spec, pageable)}. Com
+     * {@code criteria.count.parallel}, o {@code COUNT} roda ao mesmo tempo que a página, em outra conexão
+     * (transação só leitura), e os dois são unidos antes da resposta: a latência fica perto da maior das duas
+     * consultas, e não da soma.
+     */
+    public <T> Page<T> findAll(JpaSpecificationExecutor<T> repository, Specification<T> spec, Pageable pageable) {
+        if (!parallelCount || pageable.isUnpaged()) {
+            return repository.findAll(spec, pageable);
+        }
+        CompletableFuture<Long> total = countInParallel(() -> repository.count(spec));
+        List<T> content = repository.findBy(spec, q -> q.slice(pageable)).getContent();
+        return PageableExecutionUtils.getPage(content, pageable, () -> join(total));
+    }
+
+    /**
+     * Busca {@code size + 1} linhas para descobrir {@code hasNext} e completa o total conforme o modo.
+     * Não deve ser usado com {@link CountMode#EXACT}, atendido por {@link #findAll}.
+     */
+    public <T> PageResult<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> spec, FilterPlan plan,
+                                   Pageable pageable, CountMode mode) {
+        if (plan.isAlwaysEmpty()) {
+            return empty(pageable, mode);
+        }
+        Slice<T> slice = repository.findBy(spec, q -> q.slice(pageable));
+        return page(slice.getContent(), pageable, slice.hasNext(), mode, spec, plan, () -> repository.count(spec));
+    }
+
+    /**
+     * Página com só os campos da projeção, no formato de {@code findAll(spec, pageable)}: consulta de tupla,
+     * sem entidades no contexto de persistência nem dirty-checking. O {@code COUNT} é dispensado quando a
+     * página já revela o total.
+     */
+    public <T> Page<Map<String, Object>> findAllFields(Specification<T> spec, FilterPlan plan,
+                                                      FieldProjection projection, Pageable pageable) {
+        if (plan.isAlwaysEmpty()) {
+            return Page.empty(pageable);
+        }
+        if (parallelCount && pageable.isPaged()) {
+            CompletableFuture<Long> total = countInParallel(() -> count(spec, plan.getEntityClass()));
+            List<Map<String, Object>> content = selectFields(spec, plan.getEntityClass(), projection, pageable,
+                    pageable.getPageSize());
+            return PageableExecutionUtils.getPage(content, pageable, () -> join(total));
+        }
+        List<Map<String, Object>> content = selectFields(spec, plan.getEntityClass(), projection, pageable,
+                pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec, plan.getEntityClass()));
+    }
+
+    /**
+     * Como {@link #fetch}, mas selecionando só os campos da projeção.
+     */
+    public <T> PageResult<Map<String, Object>> fetchFields(Specification<T> spec, FilterPlan plan,
+                                                          FieldProjection projection, Pageable pageable,
+                                                          CountMode mode) {
+        if (plan.isAlwaysEmpty()) {
+            return empty(pageable, mode);
+        }
+        int size = pageable.getPageSize();
+        List<Map<String, Object>> rows = selectFields(spec, plan.getEntityClass(), projection, pageable, size + 1);
+        boolean hasNext = rows.size() > size;
+        return page(hasNext ? rows.subList(0, size) : rows, pageable, hasNext, mode, spec, plan,
+                () -> count(spec, plan.getEntityClass()));
+    }
+
+    private CompletableFuture<Long> countInParallel(Supplier<Long> count) {
+        return taskExecutor.fork(() -> readOnlyTransaction.execute(status -> count.get()));
+    }
+
+    private static long join(CompletableFuture<Long> total) {
+        try {
+            return total.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static <T> PageResult<T> empty(Pageable pageable, CountMode mode) {
+        boolean counted = mode != CountMode.NONE;
+        return new PageResult<>(List.of(), pageable.getPageNumber(), pageable.getPageSize(), 0,
+                pageable.getPageNumber() == 0, false, counted ? 0L : null,
+                counted ? PageResult.TotalAccuracy.EXACT : null);
+    }
+
+    private <T, R> PageResult<R> page(List<R> content, Pageable pageable, boolean hasNext, CountMode mode,
+                                      Specification<T> spec, FilterPlan plan, LongSupplier exactCount) {
+        Long total = null;
+        PageResult.TotalAccuracy accuracy = null;
+        if (mode != CountMode.NONE) {
+            if (!hasNext && (!content.isEmpty() || pageable.getPageNumber() == 0)) {
+                // Última página: o total sai de graça
+                total = pageable.getOffset() + content.size();
+                accuracy = PageResult.TotalAccuracy.EXACT;
+            } else if (mode == CountMode.ESTIMATED) {
+                total = countCache.get(new CountKey(plan.getEntityClass(), plan.getFilters()),
+                        key -> exactCount.getAsLong());
+                accuracy = PageResult.TotalAccuracy.ESTIMATED;
+            } else {
+                long capped = cappedCount(spec, plan.getEntityClass());
+                total = Math.min(capped, countCap);
+                accuracy = capped > countCap ? PageResult.TotalAccuracy.AT_LEAST : PageResult.TotalAccuracy.EXACT;
+            }
+        }
+
+        return new PageResult<>(content, pageable.getPageNumber(), pageable.getPageSize(), content.size(),
+                pageable.getPageNumber() == 0, hasNext, total, accuracy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<Map<String, Object>> selectFields(Specification<T> spec, Class<?> entityClass,
+                                                      FieldProjection projection, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = (Root<T>) query.from(entityClass);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(projection.selections(root));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<Tuple> typed = entityManager.createQuery(query).setMaxResults(limit);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+        }
+        return typed.getResultList().stream().map(projection::toMap).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> long count(Specification<T> spec, Class<?> entityClass) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = (Root<T>) query.from(entityClass);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root));
+        query.orderBy();
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Conta no máximo {@code countCap + 1} linhas: seleciona só o id com {@code LIMIT},
+     * então o banco para de varrer assim que o limite é alcançado.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> long cappedCount(Specification<T> spec, Class<?> entityClass) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<T> root = (Root<T>) query.from(entityClass);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(FilterPaths.navigate(root, EntityMetadataRegistry.forEntity(entityClass).idAttribute().segments()));
+        query.orderBy();
+        return entityManager.createQuery(query).setMaxResults(countCap + 1).getResultList().size();
+    }
+
+    private record CountKey(Class<?> entityClass, Map<String, List<String>> filters) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.criteria_project.projection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.NullValueInNestedPathException;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import com.example.criteria_project.filter.metadata.AttributeMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadata;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.plan.FilterPaths;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Campos pedidos em {@code ?fields=id,nome,preco} (sparse fieldset).
+ * <p>
+ * A consulta seleciona só essas colunas como {@link Tuple}, sem montar entidades, e cada linha vira um mapa na
+ * ordem pedida. Caminhos aninhados ({@code fornecedor.cidade}) viram objetos aninhados, como na serialização da
+ * entidade, então o JSON é o da entidade completa com os demais campos omitidos.
+ */
+public final class FieldProjection {
+
+    private final List<AttributeMetadata> attributes;
+    private final String key;
+
+    private FieldProjection(List<AttributeMetadata> attributes) {
+        this.attributes = List.copyOf(attributes);
+        this.key = String.join(",", attributes.stream().map(AttributeMetadata::path).toList());
+    }
+
+    /**
+     * Interpreta a lista separada por vírgulas; devolve {@code null} quando o parâmetro não foi informado.
+     * Campos inexistentes ou dentro de coleções (que multiplicariam as linhas) são rejeitados.
+     */
+    public static FieldProjection parse(String fields, Class<?> entityClass) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        EntityMetadata metadata = EntityMetadataRegistry.forEntity(entityClass);
+        Set<AttributeMetadata> attributes = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                AttributeMetadata attribute = metadata.attribute(field.trim());
+                if (attribute.collection()) {
+                    throw new IllegalArgumentException(
+                            "Campo '" + attribute.path() + "' atravessa uma coleção e não pode ser projetado");
+                }
+                attributes.add(attribute);
+            }
+        }
+        return new FieldProjection(new ArrayList<>(attributes));
+    }
+
+    /**
+     * Identifica a projeção em chaves de cache.
+     */
+    public String key() {
+        return key;
+    }
+
+    public List<Selection<?>> selections(Root<?> root) {
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (AttributeMetadata attribute : attributes) {
+            selections.add(FilterPaths.navigate(root, attribute.segments()));
+        }
+        return selections;
+    }
+
+    public Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < attributes.size(); i++) {
+            put(row, attributes.get(i).segments(), tuple.get(i));
+        }
+        return row;
+    }
+
+    /**
+     * Mesma projeção sobre uma entidade já carregada (réplica em memória, paginação por cursor).
+     */
+    public Map<String, Object> toMap(Object entity) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        wrapper.setAutoGrowNestedPaths(false);
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (AttributeMetadata attribute : attributes) {
+            put(row, attribute.segments(), read(wrapper, attribute.path()));
+        }
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> row, List<String> segments, Object value) {
+        Map<String, Object> target = row;
+        for (String segment : segments.subList(0, segments.size() - 1)) {
+            target = (Map<String, Object>) target.computeIfAbsent(segment, name -> new LinkedHashMap<>());
+        }
+        target.put(segments.get(segments.size() - 1), value);
+    }
+
+    private static Object read(BeanWrapper wrapper, String path) {
+        try {
+            return wrapper.getPropertyValue(path);
+        } catch (NullValueInNestedPathException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.criteria_project.replica;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.criteria_project.filter.memory.ColumnarTable;
+import com.example.criteria_project.filter.metadata.EntityMetadataRegistry;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.pagination.CountMode;
+import com.example.criteria_project.pagination.PageResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Réplica em memória, em colunas ({@link ColumnarTable}), das entidades listadas em {@code criteria.replica.entities}.
+ * <p>
+ * Desligada por padrão ({@code criteria.replica.enabled}). Quando ligada, cada entidade é carregada do banco na
+ * inicialização, em lotes pelo id, e depois acompanha as escritas do Hibernate após o commit; escritas que chegam
+ * durante a carga ficam na fila e são aplicadas antes de a tabela nova passar a responder. Escritas fora do
+ * Hibernate (SQL direto) só aparecem depois de {@link #reload(Class)}.
+ * <p>
+ * As consultas devolvem {@link Optional#empty()} quando a entidade não está replicada ou o filtro/ordenação não
+ * tem equivalente colunar (ex.: JSON), e o chamador segue pelo banco. Métricas: {@code criteria.replica.queries}
+ * (por {@code outcome}) e {@code criteria.replica.rows}.
+ */
+@Slf4j
+@Component
+public class ColumnarReplica implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final int LOAD_BATCH = 10_000;
+
+    private final boolean enabled;
+    private final Set<String> entityNames;
+    private final long maxRows;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final Counter hits;
+    private final Counter fallbacks;
+    private final Map<Class<?>, ColumnarTable<?>> tables = new ConcurrentHashMap<>();
+    /** Escritas recebidas enquanto a entidade é (re)carregada; o acesso é sincronizado em {@code this}. */
+    private final Map<Class<?>, List<Consumer<ColumnarTable<Object>>>> pending = new HashMap<>();
+
+    public ColumnarReplica(EntityManagerFactory entityManagerFactory, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager, MeterRegistry registry,
+                           @Value("${criteria.replica.enabled:false}") boolean enabled,
+                           @Value("${criteria.replica.entities:}") Set<String> entityNames,
+                           @Value("${criteria.replica.max-rows:1000000}") long maxRows) {
+        this.enabled = enabled;
+        this.entityNames = entityNames;
+        this.maxRows = maxRows;
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+        this.hits = Counter.builder("criteria.replica.queries")
+                .description("Consultas respondidas pela réplica colunar")
+                .tag("outcome", "hit")
+                .register(registry);
+        this.fallbacks = Counter.builder("criteria.replica.queries")
+                .description("Consultas respondidas pela réplica colunar")
+                .tag("outcome", "fallback")
+                .register(registry);
+
+        if (enabled) {
+            EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .getService(EventListenerRegistry.class);
+            listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+            listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+            listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) {
+            return;
+        }
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            if (entityNames.contains(entityType.getName())) {
+                reload(entityType.getJavaType());
+            }
+        }
+    }
+
+    /**
+     * Recarrega a entidade inteira do banco; a tabela anterior continua respondendo até a nova ficar pronta.
+     */
+    public <T> void reload(Class<T> entityClass) {
+        EntityType<T> entityType = entityManagerFactory.getMetamodel().entity(entityClass);
+        for (Attribute<?, ?> attribute : entityType.getAttributes()) {
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                log.warn("Réplica colunar ignorada para {}: atributo {} não é básico", entityType.getName(),
+                        attribute.getName());
+                return;
+            }
+        }
+
+        ColumnarTable<T> table;
+        try {
+            table = ColumnarTable.of(entityClass);
+        } catch (IllegalArgumentException e) {
+            log.warn("Réplica colunar ignorada para {}: {}", entityType.getName(), e.getMessage());
+            return;
+        }
+
+        long start = System.nanoTime();
+        synchronized (this) {
+            pending.put(entityClass, new ArrayList<>());
+        }
+        boolean loaded = false;
+        try {
+            loaded = load(table, entityType.getName());
+        } finally {
+            if (!loaded) {
+                synchronized (this) {
+                    pending.remove(entityClass);
+                    tables.remove(entityClass);
+                }
+            }
+        }
+        if (!loaded) {
+            return;
+        }
+        synchronized (this) {
+            List<Consumer<ColumnarTable<Object>>> changes = pending.remove(entityClass);
+            table.compact();
+            changes.forEach(change -> change.accept(asObjectTable(table)));
+            if (tables.put(entityClass, table) == null) {
+                Gauge.builder("criteria.replica.rows", tables, all -> rowsOf(all.get(entityClass)))
+                        .description("Linhas na réplica colunar")
+                        .tag("entity", entityType.getName())
+                        .register(registry);
+            }
+        }
+        log.info("Réplica colunar de {} carregada: {} linhas em {} ms", entityType.getName(), table.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Página no formato de {@code findAll(spec, pageable)} (contagem exata).
+     */
+    public <T> Optional<Page<T>> findAll(FilterPlan plan, Pageable pageable) {
+        return this.<T>query(plan, pageable)
+                .map(rows -> new PageImpl<>(rows.content(), pageable, rows.total()));
+    }
+
+    /**
+     * Página no formato dos demais modos de contagem; o total vem sempre exato, exceto no modo {@code none}.
+     */
+    public <T> Optional<PageResult<T>> fetch(FilterPlan plan, Pageable pageable, CountMode mode) {
+        return this.<T>query(plan, pageable).map(rows -> {
+            boolean counted = mode != CountMode.NONE;
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            return new PageResult<>(rows.content(), pageable.isPaged() ? pageable.getPageNumber() : 0,
+                    pageable.isPaged() ? pageable.getPageSize() : rows.content().size(), rows.content().size(),
+                    offset == 0, offset + rows.content().size() < rows.total(),
+                    counted ? (long) rows.total() : null, counted ? PageResult.TotalAccuracy.EXACT : null);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<ColumnarTable.Rows<T>> query(FilterPlan plan, Pageable pageable) {
+        ColumnarTable<T> table = (ColumnarTable<T>) tables.get(plan.getEntityClass());
+        if (table == null) {
+            return Optional.empty();
+        }
+        try {
+            ColumnarTable.Rows<T> rows = pageable.isPaged()
+                    ? table.query(plan, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+                    : table.query(plan, pageable.getSort(), 0, Integer.MAX_VALUE);
+            hits.increment();
+            return Optional.of(rows);
+        } catch (UnsupportedOperationException e) {
+            log.debug("Consulta segue para o banco: {}", e.getMessage());
+            fallbacks.increment();
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        apply(event.getPersister(), table -> table.upsertAll(List.of(entity)));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        apply(event.getPersister(), table -> table.upsertAll(List.of(entity)));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object id = event.getId();
+        apply(event.getPersister(), table -> table.delete(id));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void apply(EntityPersister persister, Consumer<ColumnarTable<Object>> change) {
+        Class<?> entityClass = persister.getMappedClass();
+        synchronized (this) {
+            List<Consumer<ColumnarTable<Object>>> queue = pending.get(entityClass);
+            if (queue != null) {
+                queue.add(change);
+                return;
+            }
+        }
+        ColumnarTable<?> table = tables.get(entityClass);
+        if (table != null) {
+            change.accept(asObjectTable(table));
+        }
+    }
+
+    /**
+     * Percorre a entidade pelo id em lotes de {@value #LOAD_BATCH}, cada um na sua transação.
+     */
+    private <T> boolean load(ColumnarTable<T> table, String entityName) {
+        Class<T> entityClass = table.getType();
+        String idPath = EntityMetadataRegistry.forEntity(entityClass).idAttribute().path();
+        String jpql = "SELECT e FROM " + entityName + " e WHERE e." + idPath + " > :last ORDER BY e." + idPath;
+        Long[] last = {Long.MIN_VALUE};
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<T> entities = entityManager.createQuery(jpql, entityClass)
+                        .setParameter("last", last[0])
+                        .setMaxResults(LOAD_BATCH)
+                        .getResultList();
+                table.upsertAll(entities);
+                if (!entities.isEmpty()) {
+                    Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entities.get(entities.size() - 1));
+                    last[0] = ((Number) id).longValue();
+                }
+                entityManager.clear();
+                return entities.size() == LOAD_BATCH;
+            }));
+            if (table.size() > maxRows) {
+                log.warn("Réplica colunar ignorada para {}: mais de {} linhas", entityName, maxRows);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double rowsOf(ColumnarTable<?> table) {
+        return table == null ? 0 : table.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ColumnarTable<Object> asObjectTable(ColumnarTable<?> table) {
+        return (ColumnarTable<Object>) table;
+    }
+}
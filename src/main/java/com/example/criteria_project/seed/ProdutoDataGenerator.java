@@ -0,0 +1,177 @@
+package com.example.criteria_project.seed;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.criteria_project.filter.search.SearchNormalizationListener;
+import com.example.criteria_project.filter.search.TrigramIndexMaintainer;
+import com.example.criteria_project.model.Produto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gera produtos sintéticos em massa para reproduzir volumes de produção localmente.
+ * <p>
+ * Desligado por padrão; {@code criteria.seed.rows=1000000} carrega um milhão de linhas na inicialização.
+ * A mesma semente gera sempre as mesmas linhas. As distribuições imitam um catálogo real: categorias
+ * desbalanceadas, nomes com acentos, preços log-normais, estoque concentrado em valores baixos e
+ * cadastros mais frequentes nos anos recentes.
+ * <p>
+ * As linhas entram por {@code batchUpdate} do JDBC, com as colunas sombra e promovidas do {@code dto} já
+ * preenchidas; o índice de trigramas é reconstruído ao final. O {@code dto} vem de um gerador à parte, então as
+ * demais colunas são as mesmas de antes de ele existir.
+ */
+@Slf4j
+@Component
+public class ProdutoDataGenerator implements ApplicationRunner {
+
+    private static final String INSERT_SQL = "INSERT INTO produto (nome, nome_busca, categoria, categoria_busca, preco, "
+            + "data_cadastro, estoque, dto, dto_fabricante, dto_garantia_meses) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ? FORMAT JSON, ?, ?)";
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    private static final int DATE_SPAN_DAYS = 6 * 365;
+
+    private static final List<Category> CATEGORIES = List.of(
+            new Category("Papelaria", 40, 3.0,
+                    List.of("Caderno", "Lápis", "Caneta", "Régua", "Estojo", "Borracha", "Marca-texto", "Agenda"),
+                    List.of("Azul", "Colorido", "Espiral", "Universitário", "Esferográfica", "Neon", "Pautado")),
+            new Category("Informática", 25, 5.5,
+                    List.of("Monitor", "Teclado", "Mouse", "Notebook", "Roteador", "Webcam", "Headset", "SSD"),
+                    List.of("Gamer", "Mecânico", "Sem Fio", "Ultrafino", "RGB", "Portátil", "Profissional")),
+            new Category("Móveis", 15, 6.0,
+                    List.of("Cadeira", "Mesa", "Estante", "Poltrona", "Armário", "Gaveteiro", "Banqueta"),
+                    List.of("de Escritório", "Ergonômica", "de Madeira", "Retrátil", "Estofada", "Giratória")),
+            new Category("Eletrônicos", 10, 6.5,
+                    List.of("Câmera", "Relógio", "Fone", "Caixa de Som", "Televisão", "Carregador", "Tablet"),
+                    List.of("Bluetooth", "4K", "Inteligente", "à Prova d'Água", "Compacto", "Turbo")),
+            new Category("Cozinha", 6, 4.0,
+                    List.of("Panela", "Cafeteira", "Liquidificador", "Garrafa", "Frigideira", "Açucareiro"),
+                    List.of("Inox", "Térmica", "Antiaderente", "Elétrica", "de Cerâmica", "Tripla")),
+            new Category("Esportes", 3, 4.5,
+                    List.of("Bola", "Tênis", "Bicicleta", "Halter", "Colchonete", "Raquete"),
+                    List.of("Oficial", "de Corrida", "Aro 29", "Emborrachado", "Dobrável", "Profissional")),
+            new Category("Brinquedos", 1, 3.5,
+                    List.of("Boneca", "Quebra-cabeça", "Carrinho", "Pião", "Dominó", "Peão"),
+                    List.of("Educativo", "de Pelúcia", "Musical", "Clássico", "Gigante", "Infantil")));
+
+    private static final List<String[]> MANUFACTURERS = List.of(
+            new String[]{"Tilibra", "Brasil"}, new String[]{"Faber-Castell", "Alemanha"},
+            new String[]{"Logitech", "Suíça"}, new String[]{"Samsung", "Coreia do Sul"},
+            new String[]{"Tramontina", "Brasil"}, new String[]{"Positivo", "Brasil"},
+            new String[]{"Estrela", "Brasil"}, new String[]{"Nike", "Estados Unidos"},
+            new String[]{"Xiaomi", "China"}, new String[]{"Flexform", "Brasil"});
+    private static final int[] WARRANTY_MONTHS = {0, 3, 6, 12, 12, 12, 24, 36};
+
+    private static final int TOTAL_WEIGHT = CATEGORIES.stream().mapToInt(Category::weight).sum();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TrigramIndexMaintainer trigramIndexMaintainer;
+    private final int rows;
+    private final long seed;
+    private final int batchSize;
+
+    public ProdutoDataGenerator(JdbcTemplate jdbcTemplate, TrigramIndexMaintainer trigramIndexMaintainer,
+                                @Value("${criteria.seed.rows:0}") int rows,
+                                @Value("${criteria.seed.random-seed:42}") long seed,
+                                @Value("${criteria.seed.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.trigramIndexMaintainer = trigramIndexMaintainer;
+        this.rows = rows;
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rows > 0) {
+            generate(rows);
+        }
+    }
+
+    /**
+     * Insere {@code count} produtos e reindexa os trigramas.
+     */
+    public void generate(int count) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        SplittableRandom attributes = new SplittableRandom(seed + 1);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+
+        for (int i = 1; i <= count; i++) {
+            batch.add(row(random, attributes, i));
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        log.info("{} produtos sintéticos inseridos em {} ms", count, (System.nanoTime() - start) / 1_000_000);
+
+        trigramIndexMaintainer.rebuild(Produto.class);
+        log.info("Índice de trigramas reconstruído em {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static Object[] row(SplittableRandom random, SplittableRandom attributes, int sequence) {
+        Category category = pickCategory(random);
+        String nome = category.nouns().get(random.nextInt(category.nouns().size())) + " "
+                + category.adjectives().get(random.nextInt(category.adjectives().size())) + " "
+                + (char) ('A' + random.nextInt(26)) + sequence % 1000;
+
+        // Log-normal em torno da mediana da categoria: muitos itens baratos, poucos muito caros
+        double price = Math.exp(category.logMedianPrice() + random.nextDouble(-1.0, 1.0) * 0.8
+                + random.nextDouble(-1.0, 1.0) * 0.4);
+        BigDecimal preco = BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP).max(BigDecimal.ONE);
+
+        // Raiz quadrada concentra os cadastros nos anos mais recentes
+        int day = (int) (Math.sqrt(random.nextDouble()) * DATE_SPAN_DAYS);
+        LocalDate dataCadastro = FIRST_DATE.plusDays(day);
+
+        // Geométrica: a maioria com estoque baixo, alguns zerados, cauda longa até alguns milhares
+        int estoque = (int) Math.min(5000, Math.floor(Math.log(1 - random.nextDouble()) / Math.log(0.97)));
+
+        // Um em cada dez produtos sem atributos livres
+        String dto = null;
+        String fabricante = null;
+        Integer garantiaMeses = null;
+        if (attributes.nextInt(10) > 0) {
+            String[] manufacturer = MANUFACTURERS.get(attributes.nextInt(MANUFACTURERS.size()));
+            fabricante = manufacturer[0];
+            garantiaMeses = WARRANTY_MONTHS[attributes.nextInt(WARRANTY_MONTHS.length)];
+            dto = "{\"fabricante\": {\"nome\": \"" + fabricante + "\", \"pais\": \"" + manufacturer[1]
+                    + "\"}, \"garantiaMeses\": " + garantiaMeses + "}";
+        }
+
+        return new Object[]{nome, SearchNormalizationListener.normalize(nome), category.name(),
+                SearchNormalizationListener.normalize(category.name()), preco, Date.valueOf(dataCadastro), estoque,
+                dto, SearchNormalizationListener.normalize(fabricante), garantiaMeses};
+    }
+
+    private static Category pickCategory(SplittableRandom random) {
+        int target = random.nextInt(TOTAL_WEIGHT);
+        for (Category category : CATEGORIES) {
+            target -= category.weight();
+            if (target < 0) {
+                return category;
+            }
+        }
+        return CATEGORIES.get(CATEGORIES.size() - 1);
+    }
+
+    private record Category(String name, int weight, double logMedianPrice, List<String> nouns,
+                            List<String> adjectives) {
+    }
+}
@@ -1,8 +1,13 @@
-INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque) VALUES ('Caderno 10 Matérias', 'Papelaria', 25.50, '2025-01-15', 150);
-INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque) VALUES ('Lápis de Cor 24 Cores', 'Papelaria', 35.75, '2025-02-20', 80);
-INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque) VALUES ('Caneta Esferográfica Azul', 'Papelaria', 2.50, '2025-03-10', 500);
-INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque) VALUES ('Monitor Gamer 27"', 'Informática', 1850.00, '2025-04-01', 30);
-INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque) VALUES ('Teclado Mecânico RGB', 'Informática', 350.00, '2025-05-12', 45);
-INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque) VALUES ('Mouse Sem Fio', 'Informática', 89.90, '2025-01-25', 120);
-INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque) VALUES ('Cadeira de Escritório', 'Móveis', 750.00, '2025-06-08', 25);
-INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque) VALUES ('Mesa de Computador', 'Móveis', 499.99, '2025-06-08', 15);
\ No newline at end of file
+INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque, dto) VALUES ('Caderno 10 Matérias', 'Papelaria', 25.50, '2025-01-15', 150, '{"fabricante": {"nome": "Tilibra", "pais": "Brasil"}, "garantiaMeses": 0}' FORMAT JSON);
+INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque, dto) VALUES ('Lápis de Cor 24 Cores', 'Papelaria', 35.75, '2025-02-20', 80, '{"fabricante": {"nome": "Faber-Castell", "pais": "Alemanha"}, "garantiaMeses": 0}' FORMAT JSON);
+INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque, dto) VALUES ('Caneta Esferográfica Azul', 'Papelaria', 2.50, '2025-03-10', 500, '{"fabricante": {"nome": "BIC", "pais": "França"}, "garantiaMeses": 0}' FORMAT JSON);
+INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque, dto) VALUES ('Monitor Gamer 27"', 'Informática', 1850.00, '2025-04-01', 30, '{"fabricante": {"nome": "Samsung", "pais": "Coreia do Sul"}, "garantiaMeses": 24, "lancamento": "2024-09-01"}' FORMAT JSON);
+INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque, dto) VALUES ('Teclado Mecânico RGB', 'Informática', 350.00, '2025-05-12', 45, '{"fabricante": {"nome": "Logitech", "pais": "Suíça"}, "garantiaMeses": 12, "lancamento": "2023-03-15"}' FORMAT JSON);
+INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque, dto) VALUES ('Mouse Sem Fio', 'Informática', 89.90, '2025-01-25', 120, '{"fabricante": {"nome": "Logitech", "pais": "Suíça"}, "garantiaMeses": 12}' FORMAT JSON);
+INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque, dto) VALUES ('Cadeira de Escritório', 'Móveis', 750.00, '2025-06-08', 25, '{"fabricante": {"nome": "Flexform", "pais": "Brasil"}, "garantiaMeses": 36}' FORMAT JSON);
+INSERT INTO PRODUTO (nome, categoria, preco, data_cadastro, estoque, dto) VALUES ('Mesa de Computador', 'Móveis', 499.99, '2025-06-08', 15, NULL);
+
+-- Inserts diretos não passam pelos listeners JPA, então as colunas sombra e promovidas são preenchidas aqui
+UPDATE PRODUTO SET nome_busca = UNACCENT(LOWER(nome)), categoria_busca = UNACCENT(LOWER(categoria));
+UPDATE PRODUTO SET dto_fabricante = UNACCENT(LOWER(JSONB_EXTRACT_PATH_TEXT(dto, 'fabricante', 'nome'))),
+    dto_garantia_meses = CAST(JSONB_EXTRACT_PATH_TEXT(dto, 'garantiaMeses') AS INTEGER);
@@ -1 +1,2 @@
-CREATE ALIAS IF NOT EXISTS UNACCENT FOR "com.example.criteria_project.filter.H2Functions.removeAccents";
\ No newline at end of file
+CREATE ALIAS IF NOT EXISTS UNACCENT DETERMINISTIC FOR "com.example.criteria_project.filter.H2Functions.removeAccents";
+CREATE ALIAS IF NOT EXISTS JSONB_EXTRACT_PATH_TEXT DETERMINISTIC FOR "com.example.criteria_project.filter.H2Functions.jsonbExtractPathText";
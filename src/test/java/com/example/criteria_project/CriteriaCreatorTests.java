@@ -0,0 +1,504 @@
+package com.example.criteria_project;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.example.criteria_project.execution.QueryTaskExecutor;
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.filter.memory.ColumnarTable;
+import com.example.criteria_project.filter.plan.EqualsNode;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.filter.plan.JsonContainsNode;
+import com.example.criteria_project.filter.plan.RangeNode;
+import com.example.criteria_project.filter.search.TextFolding;
+import com.example.criteria_project.model.Produto;
+import com.example.criteria_project.pagination.PagedQueryExecutor;
+import com.example.criteria_project.repository.ProdutoRepository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.Getter;
+import lombok.Setter;
+
+@SpringBootTest
+class CriteriaCreatorTests {
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private QueryTaskExecutor queryTaskExecutor;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private List<String> buscarNomes(String... keyValues) {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			params.add(keyValues[i], keyValues[i + 1]);
+		}
+		return produtoRepository.findAll(CriteriaCreator.byFilterMap(params, Produto.class, null, null))
+				.stream()
+				.map(Produto::getNome)
+				.sorted()
+				.toList();
+	}
+
+	private List<String> nomes(Specification<Produto> spec) {
+		return produtoRepository.findAll(spec).stream().map(Produto::getNome).sorted().toList();
+	}
+
+	@Test
+	void filtraTextoSemAcentos() {
+		assertThat(buscarNomes("categoria", "informatica"))
+				.containsExactly("Monitor Gamer 27\"", "Mouse Sem Fio", "Teclado Mecânico RGB");
+	}
+
+	@Test
+	void filtraIntervaloNumericoEDeData() {
+		assertThat(buscarNomes("estoque", "lte:30")).containsExactly("Cadeira de Escritório", "Mesa de Computador",
+				"Monitor Gamer 27\"");
+		assertThat(buscarNomes("dataCadastro", "gte:2025-06-01")).containsExactly("Cadeira de Escritório",
+				"Mesa de Computador");
+	}
+
+	@Test
+	void combinaCamposComOu() {
+		assertThat(buscarNomes("nome!categoria", "mesa")).containsExactly("Mesa de Computador");
+	}
+
+	@Test
+	void campoNormalizadoUsaPrefixoOuContemComAsterisco() {
+		assertThat(buscarNomes("nome", "fio")).isEmpty();
+		assertThat(buscarNomes("nome", "*fio")).containsExactly("Mouse Sem Fio");
+		assertThat(buscarNomes("nome", "LAPIS")).containsExactly("Lápis de Cor 24 Cores");
+	}
+
+	@Test
+	@Transactional
+	void colunaSombraEAtualizadaNaEscrita() {
+		Produto produto = new Produto();
+		produto.setNome("Régua Acrílica");
+		produto.setCategoria("Papelaria");
+		produtoRepository.saveAndFlush(produto);
+
+		assertThat(produto.getNomeBusca()).isEqualTo("regua acrilica");
+		assertThat(buscarNomes("nome", "regua")).containsExactly("Régua Acrílica");
+		assertThat(buscarNomes("nome", "*acril")).containsExactly("Régua Acrílica");
+	}
+
+	@Test
+	void filtraDecimalSemOperador() {
+		assertThat(buscarNomes("preco", "350.00")).containsExactly("Teclado Mecânico RGB");
+	}
+
+	@Test
+	void rejeitaCampoInexistente() {
+		assertThatThrownBy(() -> buscarNomes("fabricante", "x"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("fabricante");
+		assertThatThrownBy(() -> buscarNomes("nome!fabricante", "x"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void reutilizaPlanoParaConsultaEquivalente() {
+		MultiValueMap<String, String> primeira = new LinkedMultiValueMap<>();
+		primeira.add("categoria", "Papelaria");
+		primeira.add("estoque", "gte:100");
+		MultiValueMap<String, String> segunda = new LinkedMultiValueMap<>();
+		segunda.add("estoque", "gte:100");
+		segunda.add("categoria", "Papelaria");
+		segunda.add("page", "3");
+
+		assertThat(CriteriaCreator.compile(primeira, Produto.class))
+				.isSameAs(CriteriaCreator.compile(segunda, Produto.class));
+	}
+
+	@Test
+	void operadoresEstritosExcluemOLimite() {
+		assertThat(buscarNomes("estoque", "lt:30")).containsExactly("Cadeira de Escritório", "Mesa de Computador");
+		assertThat(buscarNomes("estoque", "gt:120")).containsExactly("Caderno 10 Matérias",
+				"Caneta Esferográfica Azul");
+	}
+
+	@Test
+	void simplificaIntervalosEDetectaContradicoes() {
+		MultiValueMap<String, String> contraditorio = new LinkedMultiValueMap<>();
+		contraditorio.add("estoque", "gt:100");
+		contraditorio.add("estoque", "lt:50");
+		assertThat(CriteriaCreator.compile(contraditorio, Produto.class).isAlwaysEmpty()).isTrue();
+		assertThat(buscarNomes("estoque", "gt:100", "estoque", "lt:50")).isEmpty();
+
+		MultiValueMap<String, String> pontual = new LinkedMultiValueMap<>();
+		pontual.add("estoque", "gte:30");
+		pontual.add("estoque", "lte:30");
+		assertThat(CriteriaCreator.compile(pontual, Produto.class).getRoot()).isInstanceOf(EqualsNode.class);
+		assertThat(buscarNomes("estoque", "gte:30", "estoque", "lte:30")).containsExactly("Monitor Gamer 27\"");
+
+		// BigDecimal com escalas diferentes: mesmo valor por compareTo, diferente por equals
+		MultiValueMap<String, String> escalas = new LinkedMultiValueMap<>();
+		escalas.add("preco", "eq:350");
+		escalas.add("preco", "eq:350.00");
+		assertThat(CriteriaCreator.compile(escalas, Produto.class).isAlwaysEmpty()).isFalse();
+		assertThat(buscarNomes("preco", "eq:350", "preco", "eq:350.00")).containsExactly("Teclado Mecânico RGB");
+		assertThat(buscarNomes("preco", "eq:350", "preco", "ne:350.00")).isEmpty();
+	}
+
+	@Test
+	void avaliacaoEmMemoriaIgualAoSql() {
+		List<Produto> todos = produtoRepository.findAll();
+		List<List<String>> consultas = List.of(
+				List.of("categoria", "informatica"),
+				List.of("nome", "*FIO"),
+				List.of("nome", "cad"),
+				List.of("nome", "Mesa de Computador!Mouse Sem Fio"),
+				List.of("estoque", "gt:30", "estoque", "ne:150"),
+				List.of("preco", "350.00"),
+				List.of("dataCadastro", "gte:2025-03-10", "dataCadastro", "lt:2025-06-08"),
+				List.of("dataCadastro", "eq:2025-06"),
+				List.of("nome!categoria", "mesa", "estoque", "lte:100"),
+				List.of("estoque", "gt:100", "estoque", "lt:50"),
+				List.of("dto.garantiaMeses", "gte:12", "dto.fabricante.nome", "*tech"),
+				List.of("dto.fabricante.pais", "suica"));
+
+		for (List<String> consulta : consultas) {
+			MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+			for (int i = 0; i < consulta.size(); i += 2) {
+				params.add(consulta.get(i), consulta.get(i + 1));
+			}
+			List<Long> sql = produtoRepository.findAll(CriteriaCreator.byFilterMap(params, Produto.class, null, null))
+					.stream().map(Produto::getId).sorted().toList();
+			List<Long> memoria = todos.stream().filter(CriteriaCreator.inMemory(params, Produto.class))
+					.map(Produto::getId).sorted().toList();
+			assertThat(memoria).as(consulta.toString()).isEqualTo(sql);
+		}
+	}
+
+	@Test
+	@Transactional
+	void caminhoJsonPromovidoUsaColunaTipada() {
+		Produto regua = new Produto();
+		regua.setNome("Régua Acrílica");
+		regua.setCategoria("Papelaria");
+		regua.setDto(Map.of("fabricante", Map.of("nome", "Acrílicos São Paulo", "pais", "Brasil"), "garantiaMeses", 6));
+		produtoRepository.saveAndFlush(regua);
+		assertThat(regua.getDtoFabricante()).isEqualTo("acrilicos sao paulo");
+		assertThat(regua.getDtoGarantiaMeses()).isEqualTo(6);
+
+		FilterPlan plan = CriteriaCreator.compile(params("dto.garantiaMeses", "lt:12"), Produto.class);
+		assertThat(plan.getRoot()).isInstanceOfSatisfying(RangeNode.class, range -> {
+			assertThat(range.path()).containsExactly("dtoGarantiaMeses");
+			assertThat(range.max()).isEqualTo(12);
+		});
+		assertThat(buscarNomes("dto.garantiaMeses", "lt:12"))
+				.containsExactly("Caderno 10 Matérias", "Caneta Esferográfica Azul", "Lápis de Cor 24 Cores",
+						"Régua Acrílica");
+		assertThat(buscarNomes("dto.fabricante.nome", "acrilicos")).containsExactly("Régua Acrílica");
+
+		// Caminho não promovido: jsonb_extract_path_text do H2
+		assertThat(CriteriaCreator.compile(params("dto.fabricante.pais", "brasil"), Produto.class).getRoot())
+				.isInstanceOf(JsonContainsNode.class);
+		assertThat(buscarNomes("dto.fabricante.pais", "brasil"))
+				.containsExactly("Cadeira de Escritório", "Caderno 10 Matérias", "Régua Acrílica");
+
+		Produto copia = new Produto();
+		copia.setDto(regua.getDto());
+		assertThat(CriteriaCreator.inMemory(params("dto.garantiaMeses", "6"), Produto.class).test(copia)).isTrue();
+	}
+
+	@Test
+	void caminhoJsonPromovidoMantemResultadoDoCaminhoNoJson() {
+		List<List<String>> casos = List.of(List.of("tech"), List.of("logi", "tech"), List.of("tili", "tech"),
+				List.of("LOGITECH"), List.of("a!b"));
+		for (List<String> valores : casos) {
+			MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+			params.put("dto.fabricante.nome", valores);
+			// Mesmo filtro pelo JSON, como antes da promoção
+			List<String> patterns = valores.stream().map(valor -> "%" + TextFolding.fold(valor) + "%").toList();
+			FilterPlan noJson = new FilterPlan(Produto.class, Map.of(),
+					new JsonContainsNode(List.of("fabricante", "nome"), patterns));
+
+			assertThat(CriteriaCreator.compile(params, Produto.class).getRoot()).isNotInstanceOf(JsonContainsNode.class);
+			assertThat(nomes(CriteriaCreator.byFilterMap(params, Produto.class, null, null)))
+					.as("dto.fabricante.nome=%s", valores)
+					.isEqualTo(nomes(CriteriaCreator.byPlan(noJson, null, null)));
+		}
+		assertThat(buscarNomes("dto.fabricante.nome", "tech")).containsExactly("Mouse Sem Fio", "Teclado Mecânico RGB");
+		assertThat(buscarNomes("dto.fabricante.nome", "tili", "dto.fabricante.nome", "tech")).isEmpty();
+
+		// Em grupo OU vale só o primeiro valor, como no caminho não promovido
+		MultiValueMap<String, String> ou = new LinkedMultiValueMap<>();
+		ou.put("dto.fabricante.nome!dto.fabricante.pais", List.of("tech", "tili"));
+		assertThat(nomes(CriteriaCreator.byFilterMap(ou, Produto.class, null, null)))
+				.containsExactly("Mouse Sem Fio", "Teclado Mecânico RGB");
+	}
+
+	@Test
+	void avaliacaoEmMemoriaDispensaColunaSombra() {
+		Produto regua = new Produto();
+		regua.setNome("Régua Acrílica");
+		regua.setCategoria("Papelaria");
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.add("nome", "REGUA");
+		params.add("categoria", "Moveis!Papelaria");
+
+		assertThat(CriteriaCreator.inMemory(params, Produto.class).test(regua)).isTrue();
+	}
+
+	@Test
+	void replicaColunarIgualAoSql() {
+		ColumnarTable<Produto> tabela = ColumnarTable.of(Produto.class);
+		tabela.upsertAll(produtoRepository.findAll());
+		tabela.compact();
+
+		List<List<String>> consultas = List.of(
+				List.of(),
+				List.of("categoria", "informatica"),
+				List.of("categoria", "Moveis!Papelaria"),
+				List.of("nome", "*FIO"),
+				List.of("estoque", "gt:30", "estoque", "ne:150"),
+				List.of("preco", "gt:89.895", "preco", "lte:750"),
+				List.of("dataCadastro", "gte:2025-03-10", "dataCadastro", "lt:2025-06-08"),
+				List.of("dataCadastro", "eq:2025-06"),
+				List.of("nome!categoria", "mesa", "estoque", "lte:100"),
+				List.of("estoque", "gt:100", "estoque", "lt:50"));
+		List<Pageable> paginas = List.of(
+				PageRequest.of(0, 3, Sort.by("id")),
+				PageRequest.of(1, 3, Sort.by(Sort.Order.desc("preco"), Sort.Order.asc("id"))),
+				PageRequest.of(0, 20, Sort.by("categoria", "nome")));
+
+		for (List<String> consulta : consultas) {
+			MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+			for (int i = 0; i < consulta.size(); i += 2) {
+				params.add(consulta.get(i), consulta.get(i + 1));
+			}
+			FilterPlan plan = CriteriaCreator.compile(params, Produto.class);
+			for (Pageable pagina : paginas) {
+				var sql = produtoRepository.findAll(CriteriaCreator.byPlan(plan, null, null), pagina);
+				ColumnarTable.Rows<Produto> replica = tabela.query(plan, pagina.getSort(), pagina.getOffset(),
+						pagina.getPageSize());
+				assertThat(replica.total()).as(consulta + " " + pagina).isEqualTo(sql.getTotalElements());
+				assertThat(replica.content()).as(consulta + " " + pagina).isEqualTo(sql.getContent());
+			}
+		}
+	}
+
+	@Test
+	void replicaColunarAtualizaIncrementalmente() {
+		ColumnarTable<Produto> tabela = ColumnarTable.of(Produto.class);
+		tabela.upsertAll(produtoRepository.findAll());
+		FilterPlan papelaria = CriteriaCreator.compile(new LinkedMultiValueMap<>(Map.of("categoria",
+				List.of("papelaria"))), Produto.class);
+
+		Produto regua = new Produto(100L, "Régua 30cm", "Papelaria", new BigDecimal("1.5"), LocalDate.of(2025, 7, 1),
+				10, null, "regua 30cm", "papelaria", null, null);
+		tabela.upsertAll(List.of(regua));
+		assertThat(tabela.query(papelaria, Sort.by("preco"), 0, 1).content())
+				.singleElement()
+				.satisfies(produto -> assertThat(produto.getPreco()).isEqualTo(new BigDecimal("1.50")));
+
+		regua.setCategoria("Escritório");
+		regua.setCategoriaBusca("escritorio");
+		tabela.upsertAll(List.of(regua));
+		assertThat(tabela.query(papelaria, Sort.unsorted(), 0, 10).total()).isEqualTo(3);
+
+		tabela.delete(100L);
+		assertThat(tabela.size()).isEqualTo(8);
+	}
+
+	@Test
+	void contagemParalelaIgualAoFindAll() {
+		PagedQueryExecutor paralelo = new PagedQueryExecutor(entityManager, queryTaskExecutor, transactionManager,
+				Duration.ofSeconds(60), 100, 10000, true);
+		FilterPlan plan = CriteriaCreator.compile(params("estoque", "gte:30"), Produto.class);
+		var spec = CriteriaCreator.<Produto>byPlan(plan, null, null);
+
+		for (Pageable pagina : List.of(PageRequest.of(0, 2, Sort.by("preco")), PageRequest.of(1, 3, Sort.by("id")),
+				PageRequest.of(5, 3, Sort.by("id")), PageRequest.of(0, 50, Sort.by("nome")))) {
+			Page<Produto> esperado = produtoRepository.findAll(spec, pagina);
+			Page<Produto> obtido = paralelo.findAll(produtoRepository, spec, pagina);
+			assertThat(obtido.getTotalElements()).as(pagina.toString()).isEqualTo(esperado.getTotalElements());
+			assertThat(obtido.getContent()).as(pagina.toString()).isEqualTo(esperado.getContent());
+		}
+	}
+
+	@Test
+	@Transactional
+	void associacoesReaproveitamJoinEColecoesViramExists() {
+		Cliente ana = new Cliente();
+		ana.setNome("Ana");
+		entityManager.persist(ana);
+		pedido("P1", ana, "A", "B");
+		pedido("P2", null, "A");
+		pedido("P3", ana);
+		entityManager.flush();
+		entityManager.clear();
+
+		// Dois itens do P1 atendem, mas o EXISTS mantém uma linha por pedido
+		assertThat(codigos(params("itens.sku", "a!b"))).extracting(Pedido::getCodigo).containsExactly("P1", "P2");
+		// LEFT JOIN: o P2, sem cliente, continua atendendo pelo outro ramo do OU
+		assertThat(codigos(params("cliente.nome!codigo", "p2"))).extracting(Pedido::getCodigo).containsExactly("P2");
+
+		List<Pedido> daAna = codigos(params("cliente.nome", "ana", "cliente.id", String.valueOf(ana.getId())));
+		assertThat(daAna).extracting(Pedido::getCodigo).containsExactly("P1", "P3");
+		// Cliente veio no mesmo SELECT (fetch join)
+		assertThat(daAna).allSatisfy(pedido -> assertThat(Hibernate.isInitialized(pedido.getCliente())).isTrue());
+
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> count = cb.createQuery(Long.class);
+		Root<Pedido> root = count.from(Pedido.class);
+		CriteriaCreator.byFilterMap(params("cliente.nome!codigo", "ana", "cliente.id", String.valueOf(ana.getId())),
+				Pedido.class, null, null).toPredicate(root, count, cb);
+		assertThat(root.getJoins()).hasSize(1);
+		assertThat(root.getFetches()).isEmpty();
+
+		assertThatThrownBy(() -> CriteriaCreator.byFilterMap(params("codigo", "p"), Pedido.class, "itens.sku", "asc")
+				.toPredicate(root, count, cb)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void dobraDeTextoIgualANormalizacaoNfd() {
+		// Todo caractere do BMP, sozinho e entre texto comum, nas duas variantes
+		StringBuilder texto = new StringBuilder();
+		for (char c = 0; c < Character.MIN_SURROGATE; c++) {
+			String s = String.valueOf(c);
+			assertThat(TextFolding.unaccent(s)).as("U+%04X", (int) c).isEqualTo(nfd(s));
+			assertThat(TextFolding.fold(s)).as("U+%04X", (int) c).isEqualTo(nfd(s.toLowerCase(Locale.ROOT)));
+			texto.append("Açaí ").append(c).append(' ');
+		}
+		assertThat(TextFolding.fold(texto.toString())).isEqualTo(nfd(texto.toString().toLowerCase(Locale.ROOT)));
+
+		// Pares da faixa tabelada: aplicar caractere a caractere equivale a aplicar na string inteira
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			char[] chars = new char[1 + random.nextInt(12)];
+			for (int j = 0; j < chars.length; j++) {
+				chars[j] = random.nextInt(4) == 0 ? (char) (0x2000 + random.nextInt(0x70)) : (char) random.nextInt(0x250);
+			}
+			String s = new String(chars);
+			assertThat(TextFolding.fold(s)).isEqualTo(nfd(s.toLowerCase(Locale.ROOT)));
+			assertThat(TextFolding.unaccent(s)).isEqualTo(nfd(s));
+		}
+
+		// Combinantes soltos e outros alfabetos caem na normalização completa
+		assertThat(TextFolding.fold("Cafe\u0301 ΣΟΦΟΣ")).isEqualTo("cafe σοφος");
+		String ascii = "caderno 10 materias";
+		assertThat(TextFolding.fold(ascii)).isSameAs(ascii);
+		assertThat(TextFolding.fold("Lápis – Edição")).isEqualTo("lapis – edicao");
+	}
+
+	/**
+	 * Implementação anterior de {@code removeAccents}.
+	 */
+	private static String nfd(String value) {
+		String normalizer = Normalizer.normalize(value, Normalizer.Form.NFD);
+		Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+		return pattern.matcher(normalizer).replaceAll("");
+	}
+
+	private void pedido(String codigo, Cliente cliente, String... skus) {
+		Pedido pedido = new Pedido();
+		pedido.setCodigo(codigo);
+		pedido.setCliente(cliente);
+		entityManager.persist(pedido);
+		for (String sku : skus) {
+			ItemPedido item = new ItemPedido();
+			item.setSku(sku);
+			item.setPedido(pedido);
+			entityManager.persist(item);
+		}
+	}
+
+	private List<Pedido> codigos(MultiValueMap<String, String> params) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Pedido> query = cb.createQuery(Pedido.class);
+		Root<Pedido> root = query.from(Pedido.class);
+		query.where(CriteriaCreator.byFilterMap(params, Pedido.class, "codigo", "asc").toPredicate(root, query, cb));
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	private static MultiValueMap<String, String> params(String... keyValues) {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			params.add(keyValues[i], keyValues[i + 1]);
+		}
+		return params;
+	}
+
+	@Entity(name = "Pedido")
+	@Table(name = "pedido_teste")
+	@Getter
+	@Setter
+	static class Pedido {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String codigo;
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Cliente cliente;
+		@OneToMany(mappedBy = "pedido")
+		private List<ItemPedido> itens = new ArrayList<>();
+	}
+
+	@Entity(name = "Cliente")
+	@Table(name = "cliente_teste")
+	@Getter
+	@Setter
+	static class Cliente {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String nome;
+	}
+
+	@Entity(name = "ItemPedido")
+	@Table(name = "item_pedido_teste")
+	@Getter
+	@Setter
+	static class ItemPedido {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String sku;
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Pedido pedido;
+	}
+}
@@ -0,0 +1,379 @@
+package com.example.criteria_project;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.criteria_project.advisor.IndexAdvice;
+import com.example.criteria_project.advisor.IndexAdvisor;
+import com.example.criteria_project.batch.BatchQuery;
+import com.example.criteria_project.cache.QueryResultCache;
+import com.example.criteria_project.filter.CriteriaCreator;
+import com.example.criteria_project.filter.plan.FilterPlan;
+import com.example.criteria_project.guard.QueryCostExceededException;
+import com.example.criteria_project.guard.QueryCostGuard;
+import com.example.criteria_project.guard.QueryCostModel;
+import com.example.criteria_project.metrics.QueryMetrics;
+import com.example.criteria_project.model.Produto;
+import com.example.criteria_project.pagination.CountMode;
+import com.example.criteria_project.repository.ProdutoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProdutoControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private QueryResultCache queryResultCache;
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	@Autowired
+	private IndexAdvisor indexAdvisor;
+
+	@Autowired
+	private QueryCostGuard queryCostGuard;
+
+	private JsonNode getJson(String url) throws Exception {
+		String body = mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private List<Long> ids(JsonNode content) {
+		List<Long> ids = new ArrayList<>();
+		content.forEach(produto -> ids.add(produto.get("id").asLong()));
+		return ids;
+	}
+
+	@Test
+	void paginaPorCursorNaMesmaOrdemDoOffset() throws Exception {
+		// Vários campos: categoria tem empates, resolvidos por preco e depois pelo id
+		for (String sort : List.of("estoque,desc", "categoria,asc;preco,desc", "categoria,desc;estoque")) {
+			List<Long> esperado = ids(getJson("/produtos?sort=" + sort + "&size=20").get("content"));
+
+			List<Long> obtido = new ArrayList<>();
+			JsonNode pagina = getJson("/produtos?cursor=&sort=" + sort + "&size=3");
+			obtido.addAll(ids(pagina.get("content")));
+			while (pagina.get("hasNext").asBoolean()) {
+				pagina = getJson("/produtos?size=3&cursor=" + pagina.get("nextCursor").asText());
+				obtido.addAll(ids(pagina.get("content")));
+			}
+
+			assertThat(obtido).as(sort).isEqualTo(esperado);
+		}
+	}
+
+	@Test
+	void ordenaPorVariosCamposComDesempatePeloId() throws Exception {
+		JsonNode pagina = getJson("/produtos?sort=categoria,asc;preco,desc&size=20");
+		List<String> nomes = new ArrayList<>();
+		pagina.get("content").forEach(produto -> nomes.add(produto.get("nome").asText()));
+		assertThat(nomes).containsExactly("Monitor Gamer 27\"", "Teclado Mecânico RGB", "Mouse Sem Fio",
+				"Cadeira de Escritório", "Mesa de Computador", "Lápis de Cor 24 Cores", "Caderno 10 Matérias",
+				"Caneta Esferográfica Azul");
+
+		// Mesma ordem com parâmetros separados, no formato do Spring
+		assertThat(getJson("/produtos?sort=categoria&sort=preco,desc&size=20").get("content")).isEqualTo(pagina.get("content"));
+		// Empates seguem o id, na direção do último campo
+		List<Long> papelaria = ids(getJson("/produtos?sort=categoria,desc&size=3").get("content"));
+		assertThat(papelaria).isSortedAccordingTo(Comparator.reverseOrder());
+
+		mockMvc.perform(get("/produtos?sort=fabricante,asc")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void modosDeContagemInformamHasNextETotal() throws Exception {
+		JsonNode semContagem = getJson("/produtos?count=none&size=3");
+		assertThat(semContagem.get("hasNext").asBoolean()).isTrue();
+		assertThat(semContagem.get("totalElements").isNull()).isTrue();
+
+		JsonNode estimado = getJson("/produtos?count=estimated&categoria=papelaria&size=2");
+		assertThat(estimado.get("totalElements").asLong()).isEqualTo(3);
+		assertThat(estimado.get("totalAccuracy").asText()).isEqualTo("ESTIMATED");
+
+		JsonNode limitado = getJson("/produtos?count=capped&size=2");
+		assertThat(limitado.get("totalElements").asLong()).isEqualTo(8);
+		assertThat(limitado.get("content").size()).isEqualTo(2);
+	}
+
+	@Test
+	void projetaSoOsCamposPedidos() throws Exception {
+		JsonNode pagina = getJson("/produtos?fields=id,nome,preco&categoria=papelaria&sort=preco&size=2");
+		assertThat(pagina.get("totalElements").asLong()).isEqualTo(3);
+		JsonNode primeiro = pagina.get("content").get(0);
+		assertThat(primeiro.size()).isEqualTo(3);
+		assertThat(primeiro.has("id")).isTrue();
+		assertThat(primeiro.get("nome").asText()).isEqualTo("Caneta Esferográfica Azul");
+		assertThat(primeiro.has("categoria")).isFalse();
+
+		JsonNode semContagem = getJson("/produtos?fields=nome&count=none&size=3");
+		assertThat(semContagem.get("hasNext").asBoolean()).isTrue();
+		assertThat(semContagem.get("content").get(0).size()).isEqualTo(1);
+
+		mockMvc.perform(get("/produtos?fields=nome,fabricante")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void exportaCsvComTodosOsFiltrados() throws Exception {
+		MvcResult inicio = mockMvc.perform(get("/produtos/export?format=csv&categoria=moveis")).andReturn();
+		String csv = mockMvc.perform(asyncDispatch(inicio))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		String[] linhas = csv.split("\n");
+		assertThat(linhas).hasSize(3);
+		List<String> cabecalho = List.of(linhas[0].split(","));
+		assertThat(cabecalho).startsWith("id").contains("nome", "dto");
+		String cadeira = linhas[1].contains("Cadeira") ? linhas[1] : linhas[2];
+		assertThat(csv).contains("Mesa de Computador");
+
+		// O dto sai em JSON entre aspas (CSV), não no toString() do Map
+		int inicioDto = cadeira.indexOf(",\"{") + 2;
+		String dto = cadeira.substring(inicioDto, cadeira.lastIndexOf("}\"") + 1).replace("\"\"", "\"");
+		JsonNode json = objectMapper.readTree(dto);
+		assertThat(json.at("/fabricante/nome").asText()).isEqualTo("Flexform");
+		assertThat(json.get("garantiaMeses").asInt()).isEqualTo(36);
+	}
+
+	@Test
+	void rejeitaCampoInexistenteComBadRequest() throws Exception {
+		mockMvc.perform(get("/produtos?fabricante=x")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void registraEtapasPorFormaDaConsulta() throws Exception {
+		// size=1 para que o Spring Data também execute a contagem
+		getJson("/produtos?estoque=gte:10&estoque=lte:200&categoria=papelaria&size=1");
+
+		String shape = "categoria=eq&estoque=gte,lte";
+		for (String stage : List.of("parse", "predicate", "sql", "count", "serialization")) {
+			assertThat(meterRegistry.find(QueryMetrics.STAGE_TIMER).tag("stage", stage).tag("shape", shape).timer())
+					.as(stage)
+					.isNotNull()
+					.satisfies(timer -> assertThat(timer.count()).isPositive());
+		}
+	}
+
+	@Test
+	void cacheDeResultadosInvalidaSoFiltrosAfetados() throws Exception {
+		String papelaria = "/produtos?categoria=papelaria&sort=nome";
+		String moveis = "/produtos?categoria=moveis&sort=nome";
+		getJson(papelaria);
+		getJson(moveis);
+		long hits = queryResultCache.stats().hitCount();
+
+		Produto regua = new Produto();
+		regua.setNome("Régua 30cm");
+		regua.setCategoria("Papelaria");
+		produtoRepository.save(regua);
+		try {
+			// Móveis não pode conter a régua: continua em cache
+			assertThat(getJson(moveis).get("totalElements").asInt()).isEqualTo(2);
+			assertThat(queryResultCache.stats().hitCount()).isEqualTo(hits + 1);
+
+			// Papelaria foi invalidada e já enxerga o novo produto
+			assertThat(getJson(papelaria).get("totalElements").asInt()).isEqualTo(4);
+			assertThat(queryResultCache.stats().hitCount()).isEqualTo(hits + 1);
+		} finally {
+			produtoRepository.delete(regua);
+		}
+		assertThat(getJson(papelaria).get("totalElements").asInt()).isEqualTo(3);
+	}
+
+	@Test
+	void escritaEmOutraEntidadeNaoAfetaOCacheDeResultados() {
+		FilterPlan plan = CriteriaCreator.compile(new BatchQuery("cache", "categoria=escritorio&estoque=77").params(),
+				Produto.class);
+		Pageable pageable = PageRequest.of(0, 5);
+		long hits = queryResultCache.stats().hitCount();
+
+		// Escrita em outra entidade durante a carga: a página de Produto ainda é guardada
+		queryResultCache.get(plan, pageable, "teste", () -> {
+			queryResultCache.invalidate(String.class, Collections.singletonList(null));
+			return "carregado";
+		});
+		queryResultCache.invalidate(String.class, Collections.singletonList(null));
+		assertThat(queryResultCache.<String>get(plan, pageable, "teste", () -> "recarregado")).isEqualTo("carregado");
+		assertThat(queryResultCache.stats().hitCount()).isEqualTo(hits + 1);
+
+		// Estado desconhecido de Produto invalida todas as páginas da entidade
+		queryResultCache.invalidate(Produto.class, Collections.singletonList(null));
+		assertThat(queryResultCache.<String>get(plan, pageable, "teste", () -> "recarregado")).isEqualTo("recarregado");
+	}
+
+	@Test
+	void loteExecutaConsultasRepetidasUmaVez() throws Exception {
+		String shape = "dataCadastro=lte&estoque=gte";
+		double antes = requests(shape);
+
+		String lote = """
+				[
+				  {"id": "baratos", "query": "dataCadastro=lte:2025-03-31&estoque=gte:100&sort=preco"},
+				  {"id": "repetida", "query": "estoque=gte:100&sort=preco&dataCadastro=lte:2025-03-31"},
+				  {"id": "moveis", "query": "categoria=moveis&count=none&fields=nome"},
+				  {"id": "invalida", "query": "fabricante=x"}
+				]""";
+		String body = mockMvc.perform(post("/produtos/batch").contentType(MediaType.APPLICATION_JSON).content(lote))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+		JsonNode resultados = objectMapper.readTree(body);
+
+		assertThat(resultados.get("baratos").get("status").asInt()).isEqualTo(200);
+		assertThat(resultados.get("baratos").get("body").get("totalElements").asInt()).isEqualTo(3);
+		assertThat(resultados.get("repetida").get("body")).isEqualTo(resultados.get("baratos").get("body"));
+		assertThat(requests(shape) - antes).isEqualTo(1);
+
+		assertThat(resultados.get("moveis").get("body").get("content")).hasSize(2);
+		assertThat(resultados.get("invalida").get("status").asInt()).isEqualTo(400);
+
+		mockMvc.perform(post("/produtos/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"id\": \"a\", \"query\": \"\"}, {\"id\": \"a\", \"query\": \"\"}]"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void facetasIgnoramOFiltroDoProprioCampo() throws Exception {
+		JsonNode resposta = getJson("/produtos/facets?categoria=papelaria&facets=categoria,preco,estoque:100,dataCadastro");
+		assertThat(resposta.get("total").asLong()).isEqualTo(3);
+		JsonNode facetas = resposta.get("facets");
+
+		// Sem o próprio filtro, categoria mostra todas as opções
+		JsonNode categorias = facetas.get("categoria").get("buckets");
+		assertThat(categorias).hasSize(3);
+		assertThat(categorias.get(0).get("value").asText()).isEqualTo("Informática");
+		assertThat(categorias.get(0).get("count").asLong()).isEqualTo(3);
+		assertThat(categorias.get(2).get("value").asText()).isEqualTo("Móveis");
+
+		JsonNode preco = facetas.get("preco");
+		assertThat(preco.get("count").asLong()).isEqualTo(3);
+		assertThat(preco.get("min").decimalValue()).isEqualByComparingTo("2.50");
+		assertThat(preco.get("max").decimalValue()).isEqualByComparingTo("35.75");
+		assertThat(preco.get("avg").asDouble()).isEqualTo(21.25);
+
+		JsonNode estoque = facetas.get("estoque:100");
+		assertThat(estoque.get("interval").asText()).isEqualTo("100");
+		assertThat(estoque.get("buckets").findValuesAsText("value")).containsExactly("0", "100", "500");
+
+		JsonNode meses = facetas.get("dataCadastro").get("buckets");
+		assertThat(meses.findValuesAsText("value")).containsExactly("2025-01", "2025-02", "2025-03");
+
+		mockMvc.perform(get("/produtos/facets?facets=nome:month")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void consultasCarasSaoReduzidasOuRecusadas() throws Exception {
+		// Termos curtos não usam o índice de trigramas: cada "contém" é uma varredura com LIKE
+		String contem = "nome=*ab&nome=*cd&nome=*ef";
+		MvcResult barata = mockMvc.perform(get("/produtos?categoria=papelaria")).andExpect(status().isOk()).andReturn();
+		assertThat(barata.getResponse().getHeader("X-Query-Downgraded")).isNull();
+
+		MvcResult semContagem = mockMvc.perform(get("/produtos?size=2000&" + contem))
+				.andExpect(status().isOk())
+				.andReturn();
+		assertThat(semContagem.getResponse().getHeader("X-Query-Downgraded")).isEqualTo("count=estimated");
+		JsonNode estimada = objectMapper.readTree(semContagem.getResponse().getContentAsString());
+		assertThat(estimada.get("size").asInt()).isEqualTo(2000);
+
+		MvcResult menor = mockMvc.perform(get("/produtos?size=2000&" + contem + "&nome=*gh&nome=*ij&nome=*kl&nome=*mn"))
+				.andExpect(status().isOk())
+				.andReturn();
+		assertThat(menor.getResponse().getHeader("X-Query-Downgraded")).isEqualTo("count=estimated,size=800");
+
+		// Página seguinte reduzida: começa na linha 2000 pedida, não no múltiplo de 800 abaixo dela
+		QueryCostGuard.Admission segunda = queryCostGuard.admit(
+				CriteriaCreator.compile(new BatchQuery("segunda", contem + "&nome=*gh&nome=*ij&nome=*kl&nome=*mn").params(),
+						Produto.class),
+				PageRequest.of(1, 2000), CountMode.EXACT);
+		assertThat(segunda.downgrade()).isEqualTo("count=estimated,size=800");
+		assertThat(segunda.pageable().getOffset()).isEqualTo(2000);
+		assertThat(segunda.pageable().getPageSize()).isEqualTo(800);
+
+		mockMvc.perform(get("/produtos?" + contem + "&nome=*gh&nome=*ij&nome=*kl&nome=*mn&nome=*op&nome=*qr&nome=*st"))
+				.andExpect(status().isBadRequest());
+
+		// A recusa informa o custo já reduzido (contagem estimada, página mínima), não o pedido
+		FilterPlan cara = CriteriaCreator.compile(new BatchQuery("cara",
+				contem + "&nome=*gh&nome=*ij&nome=*kl&nome=*mn&nome=*op&nome=*qr&nome=*st").params(), Produto.class);
+		int reduzido = QueryCostModel.filterCost(cara) + QueryCostModel.pageCost(PageRequest.of(0, 10), Produto.class);
+		assertThatThrownBy(() -> queryCostGuard.admit(cara, PageRequest.of(0, 20), CountMode.EXACT))
+				.isInstanceOf(QueryCostExceededException.class)
+				.hasMessageContaining("custo estimado " + reduzido + ",");
+	}
+
+	@Test
+	void consultorDeIndicesRecomendaIndiceComposto() throws Exception {
+		// Valores distintos para não acertar o cache: só execuções no banco contam
+		for (int estoque = 1; estoque <= 5; estoque++) {
+			getJson("/produtos?estoque=" + estoque + "&sort=preco,desc");
+		}
+
+		IndexAdvice advice = indexAdvisor.report().stream()
+				.filter(entry -> entry.shape().equals("estoque=eq sort=preco,desc"))
+				.findFirst()
+				.orElseThrow();
+		assertThat(advice.count()).isGreaterThanOrEqualTo(5);
+		assertThat(advice.columns()).containsExactly("estoque", "preco");
+		assertThat(advice.ddl()).isEqualTo(
+				"CREATE INDEX IF NOT EXISTS idx_advice_produto_estoque_preco ON produto (estoque, preco DESC)");
+		assertThat(advice.indexBefore()).isEqualTo("tablescan");
+		assertThat(advice.estimatedAfter()).isZero();
+	}
+
+	@Test
+	void listasDeTamanhosProximosReaproveitamAInstrucaoPreparada() throws Exception {
+		// 3 e 4 valores viram o mesmo IN de 4 parâmetros; valores distintos para não acertar o cache de páginas
+		getJson("/produtos?estoque=31&estoque=32&estoque=33");
+		double recent = recentPrepares();
+		getJson("/produtos?estoque=41&estoque=42&estoque=43&estoque=44");
+		assertThat(recentPrepares()).isGreaterThan(recent);
+	}
+
+	private double requests(String shape) {
+		var counter = meterRegistry.find("criteria.query.requests").tag("shape", shape).counter();
+		return counter == null ? 0 : counter.count();
+	}
+
+	private double recentPrepares() {
+		var counter = meterRegistry.find(QueryMetrics.PREPARE_COUNTER).tag("recent", "true").counter();
+		return counter == null ? 0 : counter.count();
+	}
+}